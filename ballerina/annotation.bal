@@ -26,15 +26,126 @@
 #   in the `websocket:Listener`, which is applicable only for the initial HTTP upgrade request
 # + maxFrameSize - The maximum payload size of a WebSocket frame in bytes.
 #   If this is not set or is negative or zero, the default frame size, which is 65536 will be used
+# + maxMessageSize - The maximum size of a text or binary message in bytes. The connection is closed with the status
+#   code 1009 once the frames of a message received exceed it. If the value <= 0, the size is not limited
 # + auth - Listener authentication configurations
 # + validation - Enable/disable constraint validation
+# + resumption - Session resumption configurations. If this is set, the sessions of the connections lost without a
+#   close frame can be resumed by the clients
+# + rateLimit - Inbound rate limit configurations, which are applied to each connection of the service
+# + maxConnections - The maximum number of connections of the service. The handshakes exceeding the limit are rejected
+#   with a `503 Service Unavailable` response. If the value <= 0, the number of connections is not limited
+# + authCache - Configurations of the cache of the successful authentications of the handshakes. If this is set, the
+#   credentials of a handshake, which are authenticated already, are not verified again until the cached
+#   authentication expires
+# + dispatchWindow - The maximum number of messages of a connection, which are dispatched concurrently to the
+#   `isolated` remote functions of the service. The values returned by the remote functions are written in the order
+#   in which the messages arrived. If the value <= 1, the messages are dispatched one at a time
+# + dispatchMode - The way the remote functions of the connections are run
+# + batch - Configurations of the batches of messages dispatched to the `onTextMessages` and `onBinaryMessages`
+#   remote functions
+# + spillThreshold - The size in bytes beyond which the rest of a binary message, which is being received, is
+#   aggregated in a temporary file instead of the memory. The message is read back from the file once it is received
+#   fully. A `stream<byte[], error?>` parameter reads the message from the file in chunks. If the value <= 0, the
+#   messages are aggregated in the memory
 public type WSServiceConfig record {|
     string[] subProtocols = [];
     decimal idleTimeout = 0;
     int maxFrameSize = 65536;
+    int maxMessageSize = 0;
     ListenerAuthConfig[] auth?;
     boolean validation = true;
+    ResumptionConfig? resumption = ();
+    RateLimitConfig? rateLimit = ();
+    int maxConnections = 0;
+    AuthCacheConfig? authCache = ();
+    int dispatchWindow = 1;
+    DispatchMode dispatchMode = SERIAL;
+    BatchConfig batch = {};
+    int spillThreshold = 0;
 |};
 
+# Configurations of the batches of messages dispatched to the `onTextMessages` and `onBinaryMessages` remote
+# functions. A batch is dispatched once any of the limits is reached.
+#
+# + maxMessages - The maximum number of messages in a batch
+# + maxBytes - The maximum size of the messages in a batch in bytes. The size of a text message is its number of
+#   bytes in UTF-8
+# + linger - The time in seconds a batch waits for more messages after its first message. If the value is zero, a
+#   message is dispatched as soon as it is received unless a batch is being processed, in which case the messages
+#   received meanwhile are dispatched together
+public type BatchConfig record {|
+    int maxMessages = 64;
+    int maxBytes = 1048576;
+    decimal linger = 0;
+|};
+
+# Configurations of the session resumption of a WebSocket service. A resume token is issued in the
+# `x-websocket-resume-token` header of the handshake response. A client, which carries the token in the same header
+# of a new handshake within the grace period, resumes the session with the same `websocket:Caller` and its
+# attributes. The `onOpen` remote function is not called for a resumed session and the messages written to the
+# caller while the session was detached are written to the new connection. If the grace period expires, the
+# `onClose` remote function is called with the status code 1006.
+#
+# + gracePeriod - The time (in seconds) a session is kept after its connection is lost
+# + maxMessages - The maximum number of missed messages buffered. If the value <= 0, the number of messages is not
+#   limited
+# + maxBytes - The maximum size of the missed messages buffered. The size of a text message is its number of
+#   characters. If the value <= 0, the size is not limited
+public type ResumptionConfig record {|
+    decimal gracePeriod = 30;
+    int maxMessages = 64;
+    int maxBytes = 1048576;
+|};
+
+# Configurations of the cache of the successful authentications of the handshakes of a WebSocket service. The
+# authentications are keyed by a hash of the `Authorization` header and expire after the time to live or once the
+# credentials, such as a JWT, expire, whichever is earlier. Note that a revoked credential is accepted until its cached
+# authentication expires.
+#
+# + timeToLive - The time (in seconds) an authentication is cached
+# + maxEntries - The maximum number of authentications cached
+public type AuthCacheConfig record {|
+    decimal timeToLive = 60;
+    int maxEntries = 10000;
+|};
+
+# Configurations of the inbound rate limit of the connections of a WebSocket service. The messages received on a
+# connection are limited before they are dispatched, by token buckets, which are refilled at the given rates and hold
+# up to a second's worth of tokens. Ping and pong messages are not limited.
+#
+# + messagesPerSecond - The maximum number of messages received per second. If the value <= 0, the number of messages
+#   is not limited
+# + bytesPerSecond - The maximum size of the messages received per second. The size of a text message is its number of
+#   bytes in UTF-8. If the value <= 0, the size is not limited
+# + action - The action taken on a message, which exceeds the limits
+public type RateLimitConfig record {|
+    int messagesPerSecond = 0;
+    int bytesPerSecond = 0;
+    RateLimitAction action = DELAY;
+|};
+
+# The actions taken on a message, which exceeds the inbound rate limit.
+# DELAY - The message is dispatched once the limits allow it. The connection is not read until then
+# DROP - The message is discarded
+# CLOSE - The connection is closed with the status code 1008
+public enum RateLimitAction {
+    DELAY,
+    DROP,
+    CLOSE
+}
+
+# The ways of running the remote functions of the connections of a service.
+# SERIAL - The remote functions, which are not `isolated`, run one at a time across all the connections, while the
+# `isolated` remote functions run as they are dispatched
+# PER_CONNECTION_SERIAL - The remote functions of a connection, including those which are not `isolated`, run one at a
+# time in the order they are dispatched, while the remote functions of different connections run in parallel. The
+# upgrade resource must return a new service object for each connection and the remote functions must not access
+# mutable module-level state
+public enum DispatchMode {
+    SERIAL,
+    PER_CONNECTION_SERIAL
+}
+
 # The annotation which is used to configure a WebSocket service.
 public annotation WSServiceConfig ServiceConfig on service;
@@ -38,8 +38,14 @@ public isolated function authenticateResource(Service serviceRef) {
     }
     string|http:HeaderNotFoundError authHeader = getAuthorizationHeader();
     if authHeader is string {
-        http:Unauthorized|http:Forbidden? result = tryAuthenticate(<ListenerAuthConfig[]>authConfig, authHeader);
-        if result is http:Unauthorized || result is http:Forbidden {
+        if isAuthenticated(serviceRef, authHeader) {
+            return;
+        }
+        ListenerAuthHandler[] handlers = getAuthHandlers(serviceRef) ?: resolveAuthHandlers(serviceRef, authConfig);
+        Authenticated|http:Unauthorized|http:Forbidden result = tryAuthenticate(authConfig, handlers, authHeader);
+        if result is Authenticated {
+            cacheAuthentication(serviceRef, authHeader, result.exp);
+        } else {
             sendError(result);
         }
     } else {
@@ -47,104 +53,106 @@ public isolated function authenticateResource(Service serviceRef) {
     }
 }
 
-isolated map<ListenerAuthHandler> authHandlers = {};
+// A successful authentication, which expires at `exp` (in seconds since the epoch) if the credentials expire
+type Authenticated record {|
+    int? exp = ();
+|};
 
-isolated function tryAuthenticate(ListenerAuthConfig[] authConfig, string header) returns http:Unauthorized|http:Forbidden? {
-    string scheme = extractScheme(header);
-    http:Unauthorized|http:Forbidden? authResult = <http:Unauthorized>{};
+// Creates the auth handlers of a service once, so that the handshakes do not look them up under a lock. The handlers
+// are kept in the service in the order of the auth configurations.
+isolated function resolveAuthHandlers(UpgradeService|Service serviceRef, ListenerAuthConfig[] authConfig)
+                                      returns ListenerAuthHandler[] {
+    ListenerAuthHandler[] handlers = [];
     foreach ListenerAuthConfig config in authConfig {
+        if config is FileUserStoreConfigWithScopes {
+            handlers.push(new http:ListenerFileUserStoreBasicAuthHandler(config.fileUserStoreConfig.cloneReadOnly()));
+        } else if config is LdapUserStoreConfigWithScopes {
+            handlers.push(new http:ListenerLdapUserStoreBasicAuthHandler(config.ldapUserStoreConfig.cloneReadOnly()));
+        } else if config is JwtValidatorConfigWithScopes {
+            handlers.push(new http:ListenerJwtAuthHandler(config.jwtValidatorConfig.cloneReadOnly()));
+        } else {
+            handlers.push(new http:ListenerOAuth2Handler(config.oauth2IntrospectionConfig.cloneReadOnly()));
+        }
+    }
+    setAuthHandlers(serviceRef, handlers);
+    return handlers;
+}
+
+isolated function tryAuthenticate(ListenerAuthConfig[] authConfig, ListenerAuthHandler[] handlers, string header)
+                                  returns Authenticated|http:Unauthorized|http:Forbidden {
+    string scheme = extractScheme(header);
+    Authenticated|http:Unauthorized|http:Forbidden authResult = <http:Unauthorized>{};
+    foreach int i in 0 ..< authConfig.length() {
+        ListenerAuthConfig config = authConfig[i];
+        ListenerAuthHandler handler = handlers[i];
         if scheme is AUTH_SCHEME_BASIC {
             if config is FileUserStoreConfigWithScopes {
-                authResult = authenticateWithFileUserStore(config, header);
+                authResult = authenticateWithFileUserStore(config,
+                    <http:ListenerFileUserStoreBasicAuthHandler>handler, header);
             } else if config is LdapUserStoreConfigWithScopes {
-                authResult = authenticateWithLdapUserStoreConfig(config, header);
+                authResult = authenticateWithLdapUserStoreConfig(config,
+                    <http:ListenerLdapUserStoreBasicAuthHandler>handler, header);
             } else {
                 log:printDebug("Invalid configurations for 'Basic' scheme.");
             }
         } else if scheme is AUTH_SCHEME_BEARER {
             if config is JwtValidatorConfigWithScopes {
-                authResult = authenticateWithJwtValidatorConfig(config, header);
+                authResult = authenticateWithJwtValidatorConfig(config, <http:ListenerJwtAuthHandler>handler, header);
             } else if config is OAuth2IntrospectionConfigWithScopes {
-                authResult = authenticateWithOAuth2IntrospectionConfig(config, header);
+                authResult = authenticateWithOAuth2IntrospectionConfig(config, <http:ListenerOAuth2Handler>handler,
+                    header);
             } else {
                 log:printDebug("Invalid configurations for 'Bearer' scheme.");
             }
         }
-        if authResult is () || authResult is http:Forbidden {
+        if authResult is Authenticated || authResult is http:Forbidden {
             return authResult;
         }
     }
     return authResult;
 }
 
-isolated function authenticateWithFileUserStore(FileUserStoreConfigWithScopes config, string header)
-                                                returns http:Unauthorized|http:Forbidden? {
-    http:ListenerFileUserStoreBasicAuthHandler handler;
-    lock {
-        string key = config.fileUserStoreConfig.toString();
-        if authHandlers.hasKey(key) {
-            handler = <http:ListenerFileUserStoreBasicAuthHandler> authHandlers.get(key);
-        } else {
-            handler = new(config.fileUserStoreConfig.cloneReadOnly());
-            authHandlers[key] = handler;
-        }
-    }
+isolated function authenticateWithFileUserStore(FileUserStoreConfigWithScopes config,
+                                                http:ListenerFileUserStoreBasicAuthHandler handler, string header)
+                                                returns Authenticated|http:Unauthorized|http:Forbidden {
     auth:UserDetails|http:Unauthorized authn = handler.authenticate(header);
     string|string[]? scopes = config?.scopes;
     if authn is auth:UserDetails {
         if scopes is string|string[] {
             http:Forbidden? authz = handler.authorize(authn, scopes);
-            return authz;
+            return authz ?: <Authenticated>{};
         }
-        return;
+        return <Authenticated>{};
     }
     return authn;
 }
 
-isolated function authenticateWithLdapUserStoreConfig(LdapUserStoreConfigWithScopes config, string header)
-                                                      returns http:Unauthorized|http:Forbidden? {
-    http:ListenerLdapUserStoreBasicAuthHandler handler;
-    lock {
-        string key = config.ldapUserStoreConfig.toString();
-        if authHandlers.hasKey(key) {
-            handler = <http:ListenerLdapUserStoreBasicAuthHandler> authHandlers.get(key);
-        } else {
-            handler = new(config.ldapUserStoreConfig.cloneReadOnly());
-            authHandlers[key] = handler;
-        }
-    }
+isolated function authenticateWithLdapUserStoreConfig(LdapUserStoreConfigWithScopes config,
+                                                      http:ListenerLdapUserStoreBasicAuthHandler handler, string header)
+                                                      returns Authenticated|http:Unauthorized|http:Forbidden {
     auth:UserDetails|http:Unauthorized authn = handler->authenticate(header);
     string|string[]? scopes = config?.scopes;
     if authn is auth:UserDetails {
         if scopes is string|string[] {
             http:Forbidden? authz = handler->authorize(authn, scopes);
-            return authz;
+            return authz ?: <Authenticated>{};
         }
-        return;
+        return <Authenticated>{};
     }
     return authn;
 }
 
-isolated function authenticateWithJwtValidatorConfig(JwtValidatorConfigWithScopes config, string header)
-                                                     returns http:Unauthorized|http:Forbidden? {
-    http:ListenerJwtAuthHandler handler;
-    lock {
-        string key = config.jwtValidatorConfig.toString();
-        if authHandlers.hasKey(key) {
-            handler = <http:ListenerJwtAuthHandler> authHandlers.get(key);
-        } else {
-            handler = new(config.jwtValidatorConfig.cloneReadOnly());
-            authHandlers[key] = handler;
-        }
-    }
+isolated function authenticateWithJwtValidatorConfig(JwtValidatorConfigWithScopes config,
+                                                     http:ListenerJwtAuthHandler handler, string header)
+                                                     returns Authenticated|http:Unauthorized|http:Forbidden {
     jwt:Payload|http:Unauthorized authn = handler.authenticate(header);
     string|string[]? scopes = config?.scopes;
     if authn is jwt:Payload {
         if scopes is string|string[] {
             http:Forbidden? authz = handler.authorize(authn, scopes);
-            return authz;
+            return authz ?: <Authenticated>{exp: authn?.exp};
         }
-        return;
+        return <Authenticated>{exp: authn?.exp};
     } else if authn is http:Unauthorized {
         return authn;
     } else {
@@ -152,21 +160,12 @@ isolated function authenticateWithJwtValidatorConfig(JwtValidatorConfigWithScope
   }
 }
 
-isolated function authenticateWithOAuth2IntrospectionConfig(OAuth2IntrospectionConfigWithScopes config, string header)
-                                                            returns http:Unauthorized|http:Forbidden? {
-    http:ListenerOAuth2Handler handler;
-    lock {
-        string key = config.oauth2IntrospectionConfig.toString();
-        if authHandlers.hasKey(key) {
-            handler = <http:ListenerOAuth2Handler> authHandlers.get(key);
-        } else {
-            handler = new(config.oauth2IntrospectionConfig.cloneReadOnly());
-            authHandlers[key] = handler;
-        }
-    }
+isolated function authenticateWithOAuth2IntrospectionConfig(OAuth2IntrospectionConfigWithScopes config,
+                                                            http:ListenerOAuth2Handler handler, string header)
+                                                            returns Authenticated|http:Unauthorized|http:Forbidden {
     oauth2:IntrospectionResponse|http:Unauthorized|http:Forbidden auth = handler->authorize(header, config?.scopes);
     if auth is oauth2:IntrospectionResponse {
-        return;
+        return <Authenticated>{exp: auth?.exp};
     } else if auth is http:Unauthorized || auth is http:Forbidden {
         return auth;
     } else {
@@ -174,7 +173,7 @@ isolated function authenticateWithOAuth2IntrospectionConfig(OAuth2IntrospectionC
     }
 }
 
-isolated function getServiceAuthConfig(Service serviceRef) returns ListenerAuthConfig[]? {
+isolated function getServiceAuthConfig(UpgradeService|Service serviceRef) returns ListenerAuthConfig[]? {
     typedesc<any> serviceTypeDesc = typeof serviceRef;
     var serviceAnnotation = serviceTypeDesc.@ServiceConfig;
     if serviceAnnotation is () {
@@ -197,3 +196,19 @@ isolated function sendError(http:Unauthorized|http:Forbidden|http:HeaderNotFound
 isolated function getAuthorizationHeader() returns string|http:HeaderNotFoundError = @java:Method {
     'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
 } external;
+
+isolated function getAuthHandlers(UpgradeService|Service serviceRef) returns ListenerAuthHandler[]? = @java:Method {
+    'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+} external;
+
+isolated function setAuthHandlers(UpgradeService|Service serviceRef, ListenerAuthHandler[] handlers) = @java:Method {
+    'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+} external;
+
+isolated function isAuthenticated(Service serviceRef, string authHeader) returns boolean = @java:Method {
+    'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+} external;
+
+isolated function cacheAuthentication(Service serviceRef, string authHeader, int? exp) = @java:Method {
+    'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+} external;
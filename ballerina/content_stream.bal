@@ -0,0 +1,51 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Iterates the frames of a binary message as they arrive. A frame is read from the connection only once the stream
+# asks for it, hence the message is not held in memory as a whole.
+isolated class BinaryContentIterator {
+    isolated function next() returns record {| byte[] value; |}|Error? {
+        byte[]|Error? content = externNextBinaryContent(self);
+        if content is byte[] {
+            return {value: content};
+        }
+        return content;
+    }
+}
+
+# Iterates the frames of a text message as they arrive. A frame is read from the connection only once the stream
+# asks for it, hence the message is not held in memory as a whole.
+isolated class TextContentIterator {
+    isolated function next() returns record {| string value; |}|Error? {
+        string|Error? content = externNextTextContent(self);
+        if content is string {
+            return {value: content};
+        }
+        return content;
+    }
+}
+
+isolated function externNextBinaryContent(BinaryContentIterator iterator) returns byte[]|Error? = @java:Method {
+    name: "next",
+    'class: "io.ballerina.stdlib.websocket.ContentStream"
+} external;
+
+isolated function externNextTextContent(TextContentIterator iterator) returns string|Error? = @java:Method {
+    name: "next",
+    'class: "io.ballerina.stdlib.websocket.ContentStream"
+} external;
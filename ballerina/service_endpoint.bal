@@ -55,7 +55,15 @@ public class Listener {
     # + websocketService - The service that needs to be attached
     # + name - Name of the service
     # + return - An `error` if an error occurred during the service attachment process or else `()`
-    public isolated function attach(UpgradeService websocketService, string[]|string? name = ()) returns error? = @java:Method {
+    public isolated function attach(UpgradeService websocketService, string[]|string? name = ()) returns error? {
+        ListenerAuthConfig[]? authConfig = getServiceAuthConfig(websocketService);
+        if authConfig is ListenerAuthConfig[] {
+            _ = resolveAuthHandlers(websocketService, authConfig);
+        }
+        return self.externAttach(websocketService, name);
+    }
+
+    isolated function externAttach(UpgradeService websocketService, string[]|string? name) returns error? = @java:Method {
         'class: "io.ballerina.stdlib.websocket.serviceendpoint.Register",
         name: "register"
     } external;
@@ -103,6 +111,13 @@ public class Listener {
 # + server - The server name which should appear as a response header
 # + webSocketCompressionEnabled - Enable support for compression in WebSocket
 # + requestLimits - Configurations associated with inbound request size limits
+# + connectionLimits - Limits of the connections of the listener. The handshakes exceeding the limits are rejected
+# with a `503 Service Unavailable` response
+# + heartbeat - Configurations for pinging the connections of the listener and closing the connections of which the
+# peers have stopped responding
+# + aggregationBudget - The maximum size in bytes of the partial messages held in the memory by all the connections of
+# the listener. Once it is exceeded, the connections receiving the frames of partial messages are not read until the
+# memory is freed. If the value <= 0, the size is not limited
 public type ListenerConfiguration record {|
     string host = "0.0.0.0";
     ListenerHttp1Settings http1Settings = {};
@@ -111,6 +126,33 @@ public type ListenerConfiguration record {|
     string? server = ();
     boolean webSocketCompressionEnabled = true;
     RequestLimitConfigs requestLimits = {};
+    ConnectionLimitConfig connectionLimits = {};
+    HeartbeatConfig? heartbeat = ();
+    int aggregationBudget = 0;
+|};
+
+# Provides limits of the connections of a listener. A handshake reserves its connection once it is admitted, hence the
+# handshakes in progress at the same time are counted against the limits, and a handshake exceeding a limit is rejected
+# with a `503 Service Unavailable` response. The reservation is released if the handshake is cancelled or fails, and
+# otherwise once the connection is closed.
+#
+# + maxConnections - The maximum number of connections of the listener. If the value <= 0, the number of connections
+# is not limited
+# + maxConnectionsPerAddress - The maximum number of connections from a single remote IP address. If the value <= 0,
+# the number of connections is not limited
+public type ConnectionLimitConfig record {|
+    int maxConnections = 0;
+    int maxConnectionsPerAddress = 0;
+|};
+
+# Provides configurations for the heartbeat of the connections of a listener.
+#
+# + interval - Interval in seconds between two pings sent to a connection
+# + maxMissedPongs - Number of consecutive pings, which can go without a pong before the connection is closed with
+# the status code 1001
+public type HeartbeatConfig record {|
+    decimal interval = 30;
+    int maxMissedPongs = 2;
 |};
 
 # Provides settings related to HTTP/1.x protocol.
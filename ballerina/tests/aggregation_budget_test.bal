@@ -0,0 +1,48 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l114 = new(22121, {aggregationBudget: 2048});
+
+service /aggregationBudget on l114 {
+   resource function get .() returns Service {
+       return new AggregationBudgetService();
+   }
+}
+
+service class AggregationBudgetService {
+   *Service;
+   remote function onBinaryMessage(byte[] data) returns string {
+       return data.length().toString();
+   }
+}
+
+// Tests that the messages received in fragments by several connections, which exceed the aggregation budget of the
+// listener together, are completed
+@test:Config {}
+public function testAggregationBudget() returns error? {
+   Client wsClient1 = check new("ws://localhost:22121/aggregationBudget", {maxFrameSize: 512});
+   Client wsClient2 = check new("ws://localhost:22121/aggregationBudget", {maxFrameSize: 512});
+   byte[] data = [];
+   data.setLength(5000);
+   check wsClient1->writeBinaryMessage(data);
+   check wsClient2->writeBinaryMessage(data);
+   test:assertEquals(check wsClient1->readTextMessage(), "5000");
+   test:assertEquals(check wsClient2->readTextMessage(), "5000");
+   check wsClient1->close();
+   check wsClient2->close();
+}
@@ -0,0 +1,124 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+isolated string asyncClientTextOutput = "";
+isolated byte[] asyncClientBinaryOutput = [];
+isolated int asyncClientCloseCode = 0;
+
+listener Listener l95 = new(22100);
+
+service /asyncClient on l95 {
+   resource function get .() returns Service|UpgradeError {
+       return new AsyncEchoService();
+   }
+}
+
+service class AsyncEchoService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns string|Error? {
+      if data == "close" {
+          check caller->close(1001, "Going away", timeout = 0);
+          return;
+      }
+      return data;
+  }
+
+  remote isolated function onBinaryMessage(Caller caller, byte[] data) returns byte[] {
+      return data;
+  }
+}
+
+service class AsyncClientCallbackService {
+  *Service;
+  remote function onTextMessage(Caller caller, string data) {
+      lock {
+         asyncClientTextOutput = asyncClientTextOutput + data;
+      }
+  }
+
+  remote function onBinaryMessage(Caller caller, byte[] data) {
+      lock {
+         asyncClientBinaryOutput.push(...data.clone());
+      }
+  }
+
+  remote function onClose(Caller caller, int statusCode, string reason) {
+      lock {
+         asyncClientCloseCode = statusCode;
+      }
+  }
+}
+
+// Tests that the frames are pushed to the callback service of the asynchronous client
+@test:Config {}
+public function testAsyncClientTextAndBinary() returns Error? {
+   AsyncClient wsClient = check new("ws://localhost:22100/asyncClient", new AsyncClientCallbackService());
+   check wsClient->writeTextMessage("Hi world1");
+   check wsClient->writeTextMessage("Hi world2");
+   check wsClient->writeTextMessage("Hi world3");
+   check wsClient->writeBinaryMessage([1, 2, 3]);
+   check wsClient->writeBinaryMessage([4, 5]);
+   awaitCondition(function() returns boolean {
+      lock {
+         return asyncClientTextOutput.length() == 27;
+      }
+   });
+   awaitCondition(function() returns boolean {
+      lock {
+         return asyncClientBinaryOutput.length() == 5;
+      }
+   });
+   lock {
+      test:assertEquals(asyncClientTextOutput, "Hi world1Hi world2Hi world3");
+   }
+   byte[] binaryOutput;
+   lock {
+      binaryOutput = asyncClientBinaryOutput.clone();
+   }
+   test:assertEquals(binaryOutput, <byte[]>[1, 2, 3, 4, 5]);
+   test:assertTrue(wsClient.isOpen());
+   error? result = wsClient->close(statusCode = 1000, reason = "Close the connection", timeout = 0);
+}
+
+// Tests the dispatching of the onClose remote function of the asynchronous client's callback service
+@test:Config {}
+public function testAsyncClientOnClose() returns Error? {
+   AsyncClient wsClient = check new("ws://localhost:22100/asyncClient", new AsyncClientCallbackService());
+   check wsClient->writeTextMessage("close");
+   awaitCondition(function() returns boolean {
+      lock {
+         return asyncClientCloseCode != 0;
+      }
+   });
+   lock {
+      test:assertEquals(asyncClientCloseCode, 1001);
+   }
+   // The client is closed once the connection is closed by the server
+   awaitCondition(() => !wsClient.isOpen());
+   test:assertFalse(wsClient.isOpen());
+}
+
+// Waits until a condition holds or for up to five seconds
+function awaitCondition(function () returns boolean condition) {
+   int attempts = 0;
+   while !condition() && attempts < 50 {
+      runtime:sleep(0.1);
+      attempts += 1;
+   }
+}
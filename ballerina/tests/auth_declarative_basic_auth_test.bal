@@ -82,3 +82,44 @@ public function testBasicAuthServiceAuthnFailure() {
         test:assertEquals(wsClient.message(), "InvalidHandshakeError: Invalid handshake response getStatus: 401 Unauthorized");
     }
 }
+
+@ServiceConfig {
+    auth: [
+        {
+            fileUserStoreConfig: {},
+            scopes: ["write", "update"]
+        }
+    ],
+    authCache: {timeToLive: 60}
+}
+service /basicAuthCached on l49 {
+    resource function get .() returns Service {
+        return new WsService49();
+    }
+}
+
+@test:Config {}
+public function testBasicAuthCachedAuthentication() returns Error? {
+    foreach int i in 1 ... 2 {
+        Client wsClient = check new("ws://localhost:21318/basicAuthCached/", {
+            auth: {
+                username: "alice",
+                password: "xxx"
+            }
+        });
+        check wsClient->close(timeout = 0);
+    }
+    // Failed authentications are not cached
+    foreach int i in 1 ... 2 {
+        Client|Error wsClient = new("ws://localhost:21318/basicAuthCached/", {
+            auth: {
+                username: "bob",
+                password: "yyy"
+            }
+        });
+        test:assertTrue(wsClient is Error);
+        if wsClient is Error {
+            test:assertEquals(wsClient.message(), "InvalidHandshakeError: Invalid handshake response getStatus: 403 Forbidden");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l108 = new(22115);
+
+@ServiceConfig {
+    batch: {maxMessages: 3, linger: 1}
+}
+service /batched on l108 {
+   resource function get .() returns Service {
+       return new BatchedService();
+   }
+}
+
+service class BatchedService {
+   *Service;
+   remote function onTextMessages(Caller caller, string[] messages) returns Error? {
+       check caller->writeTextMessage(string:'join(",", ...messages));
+   }
+
+   remote function onBinaryMessages(Caller caller, byte[][] messages) returns Error? {
+       check caller->writeTextMessage(messages.length().toString());
+   }
+}
+
+// Tests that the text messages are dispatched in batches once a batch is full or has lingered
+@test:Config {}
+public function testTextMessageBatches() returns error? {
+   Client wsClient = check new("ws://localhost:22115/batched");
+   check wsClient->writeTextMessage("a");
+   check wsClient->writeTextMessage("b");
+   check wsClient->writeTextMessage("c");
+   check wsClient->writeTextMessage("d");
+   test:assertEquals(check wsClient->readTextMessage(), "a,b,c");
+   test:assertEquals(check wsClient->readTextMessage(), "d");
+   check wsClient->close();
+}
+
+// Tests that a batch is dispatched before a message of the other type
+@test:Config {}
+public function testMixedMessageBatches() returns error? {
+   Client wsClient = check new("ws://localhost:22115/batched");
+   check wsClient->writeBinaryMessage([1, 2]);
+   check wsClient->writeBinaryMessage([3]);
+   check wsClient->writeTextMessage("e");
+   test:assertEquals(check wsClient->readTextMessage(), "2");
+   test:assertEquals(check wsClient->readTextMessage(), "e");
+   check wsClient->close();
+}
@@ -0,0 +1,84 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/test;
+
+listener Listener l96 = new(22101);
+
+service /connectorGroup on l96 {
+   resource function get .() returns Service|UpgradeError {
+       return new ConnectorGroupEchoService();
+   }
+}
+
+service class ConnectorGroupEchoService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns string {
+      return data;
+  }
+}
+
+// Tests that the clients of the same connector group work independently over the shared I/O threads
+@test:Config {}
+public function testClientsSharingConnectorGroup() returns Error? {
+   ConnectorGroupConfig groupConfig = {name: "sharedGroupTest", ioThreads: 1};
+   Client wsClient1 = check new("ws://localhost:22101/connectorGroup", connectorGroup = groupConfig);
+   Client wsClient2 = check new("ws://localhost:22101/connectorGroup", connectorGroup = groupConfig);
+   check wsClient1->writeTextMessage("Hello from client1");
+   check wsClient2->writeTextMessage("Hello from client2");
+   string resp2 = check wsClient2->readTextMessage();
+   string resp1 = check wsClient1->readTextMessage();
+   test:assertEquals(resp1, "Hello from client1");
+   test:assertEquals(resp2, "Hello from client2");
+   test:assertNotEquals(wsClient1.getConnectionId(), wsClient2.getConnectionId());
+   test:assertTrue(shareEventLoopGroup(wsClient1, wsClient2));
+   error? result1 = wsClient1->close(timeout = 0);
+   error? result2 = wsClient2->close(timeout = 0);
+}
+
+// Tests that the clients, which are not configured with a connector group, use dedicated connector factories
+@test:Config {}
+public function testClientWithoutConnectorGroup() returns Error? {
+   Client wsClient = check new("ws://localhost:22101/connectorGroup");
+   Client otherClient = check new("ws://localhost:22101/connectorGroup");
+   check wsClient->writeTextMessage("Hello");
+   string resp = check wsClient->readTextMessage();
+   test:assertEquals(resp, "Hello");
+   test:assertFalse(shareEventLoopGroup(wsClient, otherClient));
+   error? result = wsClient->close(timeout = 0);
+   error? otherResult = otherClient->close(timeout = 0);
+}
+
+// Tests that a client configured with a different number of I/O threads than the existing group fails
+@test:Config {}
+public function testConnectorGroupWithDifferentIoThreads() returns Error? {
+   Client wsClient = check new("ws://localhost:22101/connectorGroup",
+      connectorGroup = {name: "fixedThreadsGroupTest", ioThreads: 1});
+   Client|Error otherClient = new("ws://localhost:22101/connectorGroup",
+      connectorGroup = {name: "fixedThreadsGroupTest", ioThreads: 2});
+   if otherClient is Error {
+      test:assertEquals(otherClient.message(),
+         "Connector group 'fixedThreadsGroupTest' already exists with 1 I/O threads, hence it cannot use 2 I/O threads");
+   } else {
+      test:assertFail("Expected the client to fail to initialize");
+   }
+   error? result = wsClient->close(timeout = 0);
+}
+
+function shareEventLoopGroup(Client wsClient1, Client wsClient2) returns boolean = @java:Method {
+    'class: "io.ballerina.stdlib.websocket.testutils.WebSocketConnectionUtils"
+} external;
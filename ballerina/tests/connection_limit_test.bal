@@ -0,0 +1,109 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l105 = new(22112, {connectionLimits: {maxConnectionsPerAddress: 2}});
+listener Listener l115 = new(22122, {connectionLimits: {maxConnections: 3}});
+
+@ServiceConfig {
+    maxConnections: 1
+}
+service /limited on l105 {
+   resource function get .() returns Service {
+       return new ConnectionLimitService();
+   }
+}
+
+service /unlimited on l105 {
+   resource function get .() returns Service {
+       return new ConnectionLimitService();
+   }
+}
+
+service /slowUpgrade on l115 {
+   resource function get .() returns Service {
+       // Keeps the handshakes in progress at the same time
+       runtime:sleep(0.5);
+       return new ConnectionLimitService();
+   }
+}
+
+service class ConnectionLimitService {
+   *Service;
+   remote function onTextMessage(string text) returns string {
+       return text;
+   }
+}
+
+// Tests that the handshakes exceeding the connection limits of the service and of the remote address are rejected
+@test:Config {}
+public function testConnectionLimits() returns error? {
+   Client wsClient = check new("ws://localhost:22112/limited");
+   Client|Error overServiceLimit = new("ws://localhost:22112/limited");
+   if overServiceLimit is Error {
+      test:assertEquals(overServiceLimit.message(),
+         "InvalidHandshakeError: Invalid handshake response getStatus: 503 Service Unavailable");
+   } else {
+      test:assertFail("Expected the handshake to be rejected");
+   }
+   Client otherClient = check new("ws://localhost:22112/unlimited");
+   Client|Error overAddressLimit = new("ws://localhost:22112/unlimited");
+   if overAddressLimit is Error {
+      test:assertEquals(overAddressLimit.message(),
+         "InvalidHandshakeError: Invalid handshake response getStatus: 503 Service Unavailable");
+   } else {
+      test:assertFail("Expected the handshake to be rejected");
+   }
+   check wsClient->close();
+   runtime:sleep(0.5);
+   Client newClient = check new("ws://localhost:22112/limited");
+   check newClient->writeTextMessage("admitted");
+   test:assertEquals(check newClient->readTextMessage(), "admitted");
+   check newClient->close();
+   check otherClient->close();
+}
+
+// Tests that the handshakes in progress at the same time are counted against the connection limits
+@test:Config {}
+public function testConcurrentHandshakesOverConnectionLimit() returns error? {
+   future<Client|Error>[] handshakes = [];
+   foreach int i in 0 ..< 5 {
+      handshakes.push(start connectToSlowUpgrade());
+   }
+   Client[] admitted = [];
+   int rejected = 0;
+   foreach future<Client|Error> handshake in handshakes {
+      Client|Error result = wait handshake;
+      if result is Client {
+         admitted.push(result);
+      } else {
+         test:assertEquals(result.message(),
+            "InvalidHandshakeError: Invalid handshake response getStatus: 503 Service Unavailable");
+         rejected += 1;
+      }
+   }
+   test:assertEquals(admitted.length(), 3);
+   test:assertEquals(rejected, 2);
+   foreach Client wsClient in admitted {
+      check wsClient->close();
+   }
+}
+
+function connectToSlowUpgrade() returns Client|Error {
+   return new("ws://localhost:22122/slowUpgrade");
+}
@@ -0,0 +1,82 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l106 = new(22113);
+isolated int dispatchesInFlight = 0;
+isolated int maxDispatchesInFlight = 0;
+
+@ServiceConfig {
+    dispatchWindow: 4
+}
+service /pipelined on l106 {
+   resource function get .() returns Service {
+       return new PipelinedService();
+   }
+}
+
+isolated service class PipelinedService {
+   *Service;
+   remote isolated function onTextMessage(string text) returns string|error {
+       lock {
+          dispatchesInFlight += 1;
+          if dispatchesInFlight > maxDispatchesInFlight {
+             maxDispatchesInFlight = dispatchesInFlight;
+          }
+       }
+       // Earlier messages take longer so that they complete after the later ones
+       runtime:sleep(<decimal>(4 - check int:fromString(text)) * 0.2);
+       lock {
+          dispatchesInFlight -= 1;
+       }
+       return text;
+   }
+
+   remote function onBinaryMessage(byte[] data) returns string {
+       return "binary";
+   }
+}
+
+// Tests that the messages of a connection are dispatched concurrently and replied to in the order they arrived
+@test:Config {}
+public function testDispatchWindowOrdersReplies() returns error? {
+   Client wsClient = check new("ws://localhost:22113/pipelined");
+   foreach int i in 0 ..< 4 {
+      check wsClient->writeTextMessage(i.toString());
+   }
+   foreach int i in 0 ..< 4 {
+      test:assertEquals(check wsClient->readTextMessage(), i.toString());
+   }
+   lock {
+      test:assertTrue(maxDispatchesInFlight > 1);
+   }
+   check wsClient->close();
+}
+
+// Tests that the reply of a message, which is not pipelined, is written after the replies of the pipelined messages
+@test:Config {}
+public function testUnpipelinedReplyAfterWindow() returns error? {
+   Client wsClient = check new("ws://localhost:22113/pipelined");
+   check wsClient->writeTextMessage("0");
+   check wsClient->writeTextMessage("1");
+   check wsClient->writeBinaryMessage("2".toBytes());
+   test:assertEquals(check wsClient->readTextMessage(), "0");
+   test:assertEquals(check wsClient->readTextMessage(), "1");
+   test:assertEquals(check wsClient->readTextMessage(), "binary");
+   check wsClient->close();
+}
@@ -0,0 +1,72 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+import ballerina/time;
+
+// Nothing listens on this port
+const string UNAVAILABLE_TARGET = "ws://localhost:22107/failover";
+const string AVAILABLE_TARGET = "ws://localhost:22106/failover";
+
+listener Listener l101 = new(22106);
+
+service /failover on l101 {
+   resource function get .() returns Service|UpgradeError {
+       return new FailoverService();
+   }
+}
+
+service class FailoverService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns Error? {
+      check caller->writeTextMessage(data);
+  }
+}
+
+// Tests that the client fails over to the next target without waiting when a target is unavailable
+@test:Config {}
+public function testFailoverToAvailableTarget() returns error? {
+   time:Utc startTime = time:utcNow();
+   FailoverClient wsClient = check new([UNAVAILABLE_TARGET, AVAILABLE_TARGET],
+       retryConfig = {interval: 5, maxCount: 3});
+   test:assertTrue(time:utcDiffSeconds(time:utcNow(), startTime) < 5d, "Failover waited for the retry interval");
+   test:assertEquals(wsClient.getCurrentTarget(), AVAILABLE_TARGET);
+   check wsClient->writeTextMessage("Hello");
+   string message = check wsClient->readTextMessage();
+   test:assertEquals(message, "Hello");
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the client connects to the first target when all the targets are healthy
+@test:Config {}
+public function testPreferredTarget() returns error? {
+   FailoverClient wsClient = check new([AVAILABLE_TARGET, UNAVAILABLE_TARGET]);
+   test:assertEquals(wsClient.getCurrentTarget(), AVAILABLE_TARGET);
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the initialization fails when none of the targets are available
+@test:Config {}
+public function testAllTargetsUnavailable() returns error? {
+   FailoverClient|Error wsClient = new([UNAVAILABLE_TARGET, "ws://localhost:22108/failover"]);
+   test:assertTrue(wsClient is Error, "Expected a connection error");
+   wsClient = new([]);
+   if wsClient is Error {
+       test:assertEquals(wsClient.message(), "Error: No target URLs configured for the failover client");
+   } else {
+       test:assertFail("Expected an error");
+   }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l103 = new(22110, {heartbeat: {interval: 0.5, maxMissedPongs: 1}});
+
+service /heartbeat on l103 {
+   resource function get .() returns Service {
+       return new HeartbeatService();
+   }
+}
+
+service class HeartbeatService {
+   *Service;
+   remote function onTextMessage(Caller caller, string text) returns string {
+       if text == "rtt" {
+           return (caller.getRoundTripTime() is RoundTripTime).toString();
+       }
+       return text;
+   }
+}
+
+service isolated class SilentPingPongService {
+   *PingPongService;
+   remote isolated function onPing(Caller caller, byte[] localData) {
+   }
+}
+
+// Tests that a connection, of which the peer answers the heartbeat pings, is kept open
+@test:Config {}
+public function testHeartbeatAnswered() returns error? {
+   Client wsClient = check new("ws://localhost:22110/heartbeat");
+   runtime:sleep(2);
+   check wsClient->writeTextMessage("alive");
+   string resp = check wsClient->readTextMessage();
+   test:assertEquals(resp, "alive");
+   check wsClient->close();
+}
+
+// Tests that a connection, of which the peer does not answer the heartbeat pings, is closed with 1001
+@test:Config {}
+public function testHeartbeatMissed() returns error? {
+   Client wsClient = check new("ws://localhost:22110/heartbeat",
+      {pingPongHandler: new SilentPingPongService(), readTimeout: 5});
+   string|Error resp = wsClient->readTextMessage();
+   if resp is Error {
+      test:assertEquals(resp.message(), "Heartbeat timed out: Status code: 1001");
+   } else {
+      test:assertFail("Expected a connection closure error");
+   }
+}
+
+// Tests that the round trip time is sampled from the pongs on both ends of a connection
+@test:Config {}
+public function testRoundTripTime() returns error? {
+   Client wsClient = check new("ws://localhost:22110/heartbeat");
+   test:assertEquals(wsClient.getRoundTripTime(), ());
+   check wsClient->ping([1, 2, 3]);
+   runtime:sleep(1);
+   RoundTripTime? roundTripTime = wsClient.getRoundTripTime();
+   if roundTripTime is RoundTripTime {
+      test:assertTrue(roundTripTime.smoothed > 0d);
+   } else {
+      test:assertFail("Round trip time is not sampled");
+   }
+   check wsClient->writeTextMessage("rtt");
+   string resp = check wsClient->readTextMessage();
+   test:assertEquals(resp, "true");
+   check wsClient->close();
+}
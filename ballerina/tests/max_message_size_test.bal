@@ -0,0 +1,68 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l113 = new(22120);
+
+@ServiceConfig {
+    maxMessageSize: 1000
+}
+service /maxMessageSize on l113 {
+   resource function get .() returns Service {
+       return new MaxMessageSizeService();
+   }
+}
+
+service class MaxMessageSizeService {
+   *Service;
+   remote function onBinaryMessage(byte[] data) returns string {
+       return data.length().toString();
+   }
+
+   remote function onTextMessage(string text) returns byte[] {
+       byte[] data = [];
+       data.setLength(500);
+       return data;
+   }
+}
+
+// Tests that a connection is closed once a message received by the service exceeds the maximum message size
+@test:Config {}
+public function testServiceMaxMessageSize() returns error? {
+   Client wsClient = check new("ws://localhost:22120/maxMessageSize", {maxFrameSize: 256});
+   byte[] data = [];
+   data.setLength(1000);
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "1000");
+   data.setLength(2000);
+   check wsClient->writeBinaryMessage(data);
+   string|Error result = wsClient->readTextMessage();
+   test:assertTrue(result is Error);
+}
+
+// Tests that a message received by a client, which exceeds the maximum message size, fails the read
+@test:Config {}
+public function testClientMaxMessageSize() returns error? {
+   Client wsClient = check new("ws://localhost:22120/maxMessageSize", {maxMessageSize: 100});
+   check wsClient->writeTextMessage("send");
+   byte[]|Error result = wsClient->readBinaryMessage();
+   if result is PayloadTooLargeError {
+      test:assertEquals(result.message(), "Message size exceeds the limit of 100 bytes");
+   } else {
+      test:assertFail("Expected a PayloadTooLargeError");
+   }
+}
@@ -0,0 +1,124 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l104 = new(22111);
+
+@ServiceConfig {
+    rateLimit: {messagesPerSecond: 1, action: DROP}
+}
+service /dropping on l104 {
+   resource function get .() returns Service {
+       return new RateLimitedService();
+   }
+}
+
+@ServiceConfig {
+    rateLimit: {messagesPerSecond: 1, action: CLOSE}
+}
+service /closing on l104 {
+   resource function get .() returns Service {
+       return new RateLimitedService();
+   }
+}
+
+@ServiceConfig {
+    rateLimit: {messagesPerSecond: 2}
+}
+service /delaying on l104 {
+   resource function get .() returns Service {
+       return new RateLimitedService();
+   }
+}
+
+@ServiceConfig {
+    rateLimit: {bytesPerSecond: 1000, action: DROP}
+}
+service /droppingBytes on l104 {
+   resource function get .() returns Service {
+       return new RateLimitedService();
+   }
+}
+
+service class RateLimitedService {
+   *Service;
+   remote function onTextMessage(string text) returns string {
+       return text;
+   }
+
+   remote function onBinaryMessage(byte[] data) returns string {
+       return data.length().toString();
+   }
+}
+
+// Tests that the messages exceeding the rate limit are dropped
+@test:Config {}
+public function testRateLimitDrop() returns error? {
+   Client wsClient = check new("ws://localhost:22111/dropping");
+   check wsClient->writeTextMessage("1");
+   check wsClient->writeTextMessage("2");
+   check wsClient->writeTextMessage("3");
+   runtime:sleep(1.5);
+   check wsClient->writeTextMessage("4");
+   test:assertEquals(check wsClient->readTextMessage(), "1");
+   test:assertEquals(check wsClient->readTextMessage(), "4");
+   check wsClient->close();
+}
+
+// Tests that a fragmented message, of which the first fragment is within the rate limit, is not dropped partially
+@test:Config {}
+public function testRateLimitDropFragmentedMessage() returns error? {
+   Client wsClient = check new("ws://localhost:22111/droppingBytes", {maxFrameSize: 512});
+   byte[] data = [];
+   data.setLength(1500);
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "1500");
+   runtime:sleep(1.5);
+   data.setLength(100);
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "100");
+   check wsClient->close();
+}
+
+// Tests that the connection is closed with 1008 once a message exceeds the rate limit
+@test:Config {}
+public function testRateLimitClose() returns error? {
+   Client wsClient = check new("ws://localhost:22111/closing");
+   check wsClient->writeTextMessage("1");
+   check wsClient->writeTextMessage("2");
+   test:assertEquals(check wsClient->readTextMessage(), "1");
+   string|Error resp = wsClient->readTextMessage();
+   if resp is Error {
+      test:assertEquals(resp.message(), "Rate limit exceeded: Status code: 1008");
+   } else {
+      test:assertFail("Expected a connection closure error");
+   }
+}
+
+// Tests that the messages exceeding the rate limit are delayed, not dropped
+@test:Config {}
+public function testRateLimitDelay() returns error? {
+   Client wsClient = check new("ws://localhost:22111/delaying");
+   foreach int i in 1 ... 4 {
+      check wsClient->writeTextMessage(i.toString());
+   }
+   foreach int i in 1 ... 4 {
+      test:assertEquals(check wsClient->readTextMessage(), i.toString());
+   }
+   check wsClient->close();
+}
@@ -0,0 +1,61 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+import ballerina/io;
+
+string[] replayedMessages = [];
+
+// Tests that the messages written before the connection is lost are written again once the client reconnects
+@test:Config {dependsOn: [testWriteRetryWithFragmentsForBinaryMessages]}
+public function testReplayAfterReconnect() returns error? {
+    io:println("Executing testReplayAfterReconnect...");
+    @strand {
+        thread:"any"
+    }
+    worker w1 returns error? {
+        startRemoteServer();
+        Client wsClient = check new("ws://localhost:21078/websocket", {retryConfig: {maxCount: 10},
+            replay: {maxMessages: 2}});
+        string connected = check wsClient->readTextMessage();
+        io:println("Received first connected response from server " + connected);
+        foreach string message in ["first", "second", "third"] {
+            check wsClient->writeTextMessage(message);
+            string echo = check wsClient->readTextMessage();
+            test:assertEquals(echo, message);
+        }
+        runtime:sleep(2);
+        // The server is restarted meanwhile, hence the read reconnects and the retained messages are replayed
+        foreach int i in 0 ..< 3 {
+            string message = check wsClient->readTextMessage();
+            replayedMessages.push(message);
+        }
+        stopRemoteServer();
+    }
+    @strand {
+        thread:"any"
+    }
+    worker w2 returns error? {
+        runtime:sleep(1);
+        stopRemoteServer();
+        runtime:sleep(6);
+        startRemoteServer();
+    }
+    var waitResp = wait {w1, w2};
+    // Only the last two messages are retained as the buffer is bounded
+    test:assertEquals(replayedMessages, ["Connected", "second", "third"]);
+}
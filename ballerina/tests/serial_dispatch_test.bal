@@ -0,0 +1,124 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l107 = new(22114);
+// The number of the messages being handled and the maximum of it
+isolated int[] serialDispatchesInFlight = [0, 0];
+isolated int[] legacyDispatchesInFlight = [0, 0];
+
+@ServiceConfig {
+    dispatchMode: PER_CONNECTION_SERIAL
+}
+service /perConnection on l107 {
+   resource function get .() returns Service {
+       return new PerConnectionService();
+   }
+}
+
+@ServiceConfig {
+    dispatchMode: PER_CONNECTION_SERIAL
+}
+service /legacy on l107 {
+   resource function get .() returns Service {
+       return new LegacyService();
+   }
+}
+
+isolated service class PerConnectionService {
+   *Service;
+   private int received = 0;
+
+   isolated remote function onTextMessage(string text) returns string {
+       lock {
+          serialDispatchesInFlight[0] += 1;
+          if serialDispatchesInFlight[0] > serialDispatchesInFlight[1] {
+             serialDispatchesInFlight[1] = serialDispatchesInFlight[0];
+          }
+       }
+       int received;
+       lock {
+          self.received += 1;
+          received = self.received;
+       }
+       runtime:sleep(0.5);
+       lock {
+          serialDispatchesInFlight[0] -= 1;
+       }
+       return text + ":" + received.toString();
+   }
+}
+
+service class LegacyService {
+   *Service;
+   int received = 0;
+
+   remote function onTextMessage(string text) returns string {
+       lock {
+          legacyDispatchesInFlight[0] += 1;
+          if legacyDispatchesInFlight[0] > legacyDispatchesInFlight[1] {
+             legacyDispatchesInFlight[1] = legacyDispatchesInFlight[0];
+          }
+       }
+       self.received += 1;
+       int received = self.received;
+       runtime:sleep(0.5);
+       lock {
+          legacyDispatchesInFlight[0] -= 1;
+       }
+       return text + ":" + received.toString();
+   }
+}
+
+// Tests that the messages of different connections of an isolated service are processed in parallel, while the
+// messages of a connection are processed in order
+@test:Config {}
+public function testPerConnectionSerialDispatch() returns error? {
+   Client client1 = check new("ws://localhost:22114/perConnection");
+   Client client2 = check new("ws://localhost:22114/perConnection");
+   check client1->writeTextMessage("a");
+   check client2->writeTextMessage("b");
+   check client1->writeTextMessage("c");
+   test:assertEquals(check client1->readTextMessage(), "a:1");
+   test:assertEquals(check client2->readTextMessage(), "b:1");
+   test:assertEquals(check client1->readTextMessage(), "c:2");
+   lock {
+      test:assertEquals(serialDispatchesInFlight[1], 2);
+   }
+   check client1->close();
+   check client2->close();
+}
+
+// Tests that the messages of different connections of a non-isolated service are processed in parallel, while the
+// messages of a connection are processed in order
+@test:Config {}
+public function testPerConnectionSerialDispatchNotIsolated() returns error? {
+   Client client1 = check new("ws://localhost:22114/legacy");
+   Client client2 = check new("ws://localhost:22114/legacy");
+   check client1->writeTextMessage("a");
+   check client2->writeTextMessage("b");
+   check client1->writeTextMessage("c");
+   test:assertEquals(check client1->readTextMessage(), "a:1");
+   test:assertEquals(check client2->readTextMessage(), "b:1");
+   test:assertEquals(check client1->readTextMessage(), "c:2");
+   lock {
+      test:assertEquals(legacyDispatchesInFlight[1], 2);
+   }
+   check client1->close();
+   check client2->close();
+}
@@ -0,0 +1,168 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l102 = new(22109);
+int resumableOpenCount = 0;
+Caller? resumableCaller = ();
+
+@ServiceConfig {
+    resumption: {gracePeriod: 10}
+}
+service /resume on l102 {
+   resource function get .() returns Service {
+       return new ResumableService();
+   }
+}
+
+service class ResumableService {
+   *Service;
+   remote function onOpen(Caller caller) {
+       resumableOpenCount += 1;
+       caller.setAttribute("user", "alice");
+       resumableCaller = caller;
+   }
+
+   remote function onTextMessage(Caller caller, string text) returns string {
+       return caller.getAttribute("user").toString();
+   }
+}
+
+// Tests that a session, of which the connection is lost, is resumed with its attributes and missed messages
+@test:Config {}
+public function testSessionResumption() returns error? {
+   Client wsClient = check new("ws://localhost:22109/resume");
+   string token = check getResumeToken(wsClient);
+   abortConnection(wsClient);
+   runtime:sleep(1);
+   Caller? caller = resumableCaller;
+   if caller is Caller {
+      check caller->writeTextMessage("missed");
+   } else {
+      test:assertFail("Caller is not opened");
+   }
+   Client resumedClient = check new("ws://localhost:22109/resume",
+      {customHeaders: {"x-websocket-resume-token": token}});
+   test:assertEquals(check getResumeToken(resumedClient), token);
+   string missed = check resumedClient->readTextMessage();
+   test:assertEquals(missed, "missed");
+   check resumedClient->writeTextMessage("whoami");
+   string user = check resumedClient->readTextMessage();
+   test:assertEquals(user, "alice");
+   test:assertEquals(resumableOpenCount, 1);
+   check resumedClient->close();
+}
+
+// Tests that a session closed with a close frame is not resumed
+@test:Config {dependsOn: [testSessionResumption]}
+public function testClosedSessionNotResumed() returns error? {
+   Client wsClient = check new("ws://localhost:22109/resume");
+   string token = check getResumeToken(wsClient);
+   check wsClient->close();
+   Client newClient = check new("ws://localhost:22109/resume", {customHeaders: {"x-websocket-resume-token": token}});
+   test:assertNotEquals(check getResumeToken(newClient), token);
+   runtime:sleep(0.5);
+   test:assertEquals(resumableOpenCount, 3);
+   check newClient->close();
+}
+
+listener Listener l116 = new(22123);
+isolated int expiredSessionCloseCode = 0;
+
+@ServiceConfig {
+    resumption: {gracePeriod: 1}
+}
+service /expiringSession on l116 {
+   resource function get .() returns Service {
+       return new ExpiringSessionService();
+   }
+}
+
+isolated service class ExpiringSessionService {
+   *Service;
+   remote isolated function onClose(Caller caller, int statusCode) {
+       lock {
+           expiredSessionCloseCode = statusCode;
+       }
+   }
+}
+
+// Tests that `onClose` is called once the grace period of a detached session expires
+@test:Config {}
+public function testExpiredSessionClosed() returns error? {
+   Client wsClient = check new("ws://localhost:22123/expiringSession");
+   abortConnection(wsClient);
+   runtime:sleep(0.5);
+   test:assertEquals(getExpiredSessionCloseCode(), 0, "onClose is called while the session is detached");
+   runtime:sleep(1.5);
+   test:assertEquals(getExpiredSessionCloseCode(), 1006);
+}
+
+isolated function getExpiredSessionCloseCode() returns int {
+   lock {
+      return expiredSessionCloseCode;
+   }
+}
+
+listener Listener l117 = new(22124);
+
+@ServiceConfig {
+    resumption: {gracePeriod: 10},
+    maxMessageSize: 4
+}
+service /terminatedSession on l117 {
+   resource function get .() returns Service {
+       return new TerminatedSessionService();
+   }
+}
+
+isolated service class TerminatedSessionService {
+   *Service;
+   remote isolated function onTextMessage(string text) returns string {
+       return text;
+   }
+}
+
+// Tests that a session terminated by the service, here for exceeding the maximum message size, is not resumed
+@test:Config {}
+public function testTerminatedSessionNotResumed() returns error? {
+   Client wsClient = check new("ws://localhost:22124/terminatedSession");
+   string token = check getResumeToken(wsClient);
+   check wsClient->writeTextMessage("too large");
+   string|Error result = wsClient->readTextMessage();
+   test:assertTrue(result is Error);
+   Client newClient = check new("ws://localhost:22124/terminatedSession",
+      {customHeaders: {"x-websocket-resume-token": token}});
+   test:assertNotEquals(check getResumeToken(newClient), token);
+   check newClient->close();
+}
+
+function getResumeToken(Client wsClient) returns string|error {
+   http:Response? resp = wsClient.getHttpResponse();
+   if resp is http:Response {
+      return resp.getHeader("x-websocket-resume-token");
+   }
+   return error("Handshake response is not available");
+}
+
+function abortConnection(Client wsClient) = @java:Method {
+    name: "abort",
+    'class: "io.ballerina.stdlib.websocket.testutils.WebSocketConnectionUtils"
+} external;
@@ -0,0 +1,57 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l112 = new(22119);
+
+@ServiceConfig {
+    spillThreshold: 1024
+}
+service /spill on l112 {
+   resource function get .() returns Service {
+       return new SpillService();
+   }
+}
+
+service class SpillService {
+   *Service;
+   remote function onBinaryMessage(byte[] data) returns string {
+       int sum = 0;
+       foreach byte b in data {
+           sum += b;
+       }
+       return string `${data.length()}:${sum}`;
+   }
+}
+
+// Tests that a binary message larger than the spill threshold is received fully
+@test:Config {}
+public function testSpilledBinaryMessage() returns error? {
+   Client wsClient = check new("ws://localhost:22119/spill", {maxFrameSize: 512});
+   byte[] data = [];
+   data.setLength(10000);
+   foreach int i in 0 ..< data.length() {
+      data[i] = 2;
+   }
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "10000:20000");
+   check wsClient->writeBinaryMessage([1, 2, 3]);
+   test:assertEquals(check wsClient->readTextMessage(), "3:6");
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "10000:20000");
+   check wsClient->close();
+}
@@ -0,0 +1,65 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l109 = new(22116);
+
+service /streamed on l109 {
+   resource function get .() returns Service {
+       return new StreamedService();
+   }
+}
+
+service class StreamedService {
+   *Service;
+   remote function onBinaryMessage(Caller caller, stream<byte[], error?> content) returns error? {
+       int frames = 0;
+       int size = 0;
+       check from byte[] frame in content do {
+           frames += 1;
+           size += frame.length();
+       };
+       check caller->writeTextMessage(string `${frames}:${size}`);
+   }
+
+   remote function onTextMessage(stream<string, error?> content) returns string|error {
+       string[] frames = check from string frame in content select frame;
+       return string:'join("", ...frames);
+   }
+}
+
+// Tests that the frames of a binary message are handed to the remote function as a stream
+@test:Config {}
+public function testStreamedBinaryMessage() returns error? {
+   Client wsClient = check new("ws://localhost:22116/streamed", {maxFrameSize: 1024});
+   byte[] data = [];
+   data.setLength(10000);
+   check wsClient->writeBinaryMessage(data);
+   test:assertEquals(check wsClient->readTextMessage(), "10:10000");
+   check wsClient->writeBinaryMessage([1, 2, 3]);
+   test:assertEquals(check wsClient->readTextMessage(), "1:3");
+   check wsClient->close();
+}
+
+// Tests that the frames of a text message are handed to the remote function as a stream
+@test:Config {}
+public function testStreamedTextMessage() returns error? {
+   Client wsClient = check new("ws://localhost:22116/streamed", {maxFrameSize: 4});
+   check wsClient->writeTextMessage("streamed message");
+   test:assertEquals(check wsClient->readTextMessage(), "streamed message");
+   check wsClient->close();
+}
@@ -0,0 +1,78 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+const int CONCURRENT_READERS = 100;
+
+listener Listener l99 = new(22104);
+
+service /concurrentRead on l99 {
+   resource function get .() returns Service|UpgradeError {
+       return new ConcurrentReadService();
+   }
+}
+
+service class ConcurrentReadService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns Error? {
+      int count = check int:fromString(data);
+      foreach int i in 0 ..< count {
+          check caller->writeTextMessage(i.toString());
+      }
+  }
+}
+
+// Tests that every message is delivered to exactly one of the strands reading the client concurrently
+@test:Config {}
+public function testConcurrentReaders() returns error? {
+   Client wsClient = check new("ws://localhost:22104/concurrentRead");
+   future<string|Error>[] readers = [];
+   foreach int i in 0 ..< CONCURRENT_READERS {
+       readers.push(start wsClient->readTextMessage());
+   }
+   check wsClient->writeTextMessage(CONCURRENT_READERS.toString());
+   boolean[] received = [];
+   foreach int i in 0 ..< CONCURRENT_READERS {
+       received.push(false);
+   }
+   foreach future<string|Error> reader in readers {
+       string message = check wait reader;
+       int index = check int:fromString(message);
+       test:assertFalse(received[index], "Message delivered more than once: " + message);
+       received[index] = true;
+   }
+   test:assertEquals(received.indexOf(false), ());
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that concurrent readers are served while the messages are read ahead
+@test:Config {}
+public function testConcurrentReadersWithPrefetch() returns error? {
+   Client wsClient = check new("ws://localhost:22104/concurrentRead", prefetch = {maxMessages: 8});
+   check wsClient->writeTextMessage(CONCURRENT_READERS.toString());
+   future<string|Error>[] readers = [];
+   foreach int i in 0 ..< CONCURRENT_READERS {
+       readers.push(start wsClient->readTextMessage());
+   }
+   int total = 0;
+   foreach future<string|Error> reader in readers {
+       string message = check wait reader;
+       total += check int:fromString(message);
+   }
+   test:assertEquals(total, CONCURRENT_READERS * (CONCURRENT_READERS - 1) / 2);
+   check wsClient->close(timeout = 0);
+}
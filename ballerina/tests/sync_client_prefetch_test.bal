@@ -0,0 +1,78 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l97 = new(22102);
+
+service /prefetch on l97 {
+   resource function get .() returns Service|UpgradeError {
+       return new PrefetchService();
+   }
+}
+
+service class PrefetchService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns Error? {
+      if data == "burst" {
+          foreach int i in 1 ... 5 {
+              check caller->writeTextMessage("message" + i.toString());
+          }
+          check caller->writeBinaryMessage([1, 2, 3]);
+          check caller->close(1001, "Going away", timeout = 0);
+          return;
+      }
+      check caller->writeMessage({id: 1, name: data});
+  }
+}
+
+type PrefetchedRecord record {|
+    int id;
+    string name;
+|};
+
+// Tests that the messages read ahead are returned in order and the closure is reported once they are read
+@test:Config {}
+public function testPrefetchedMessagesInOrder() returns error? {
+   Client wsClient = check new("ws://localhost:22102/prefetch", prefetch = {maxMessages: 2});
+   check wsClient->writeTextMessage("burst");
+   // The server closes the connection while the client is not reading
+   runtime:sleep(2);
+   foreach int i in 1 ... 5 {
+       string message = check wsClient->readTextMessage();
+       test:assertEquals(message, "message" + i.toString());
+   }
+   byte[] binaryMessage = check wsClient->readBinaryMessage();
+   test:assertEquals(binaryMessage, <byte[]>[1, 2, 3]);
+   string|Error result = wsClient->readTextMessage();
+   if result is Error {
+       test:assertEquals(result.message(), "Going away: Status code: 1001");
+   } else {
+       test:assertFail("Expected a connection closure error");
+   }
+}
+
+// Tests that the buffered messages are bound to the type given at the read
+@test:Config {}
+public function testPrefetchedMessageDataBinding() returns error? {
+   Client wsClient = check new("ws://localhost:22102/prefetch", prefetch = {maxMessages: 4, maxBytes: 0});
+   check wsClient->writeTextMessage("Ballerina");
+   runtime:sleep(1);
+   PrefetchedRecord message = check wsClient->readMessage();
+   test:assertEquals(message, {id: 1, name: "Ballerina"});
+   check wsClient->close(timeout = 0);
+}
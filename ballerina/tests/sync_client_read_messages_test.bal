@@ -0,0 +1,76 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+listener Listener l98 = new(22103);
+
+service /readMessages on l98 {
+   resource function get .() returns Service|UpgradeError {
+       return new BatchService();
+   }
+}
+
+service class BatchService {
+  *Service;
+  remote isolated function onTextMessage(Caller caller, string data) returns Error? {
+      int count = check int:fromString(data);
+      foreach int i in 1 ... count {
+          check caller->writeMessage({id: i});
+      }
+  }
+}
+
+type BatchEvent record {|
+    int id;
+|};
+
+// Tests that a batch is completed once the maximum number of messages are received
+@test:Config {}
+public function testReadMessagesUpToMax() returns error? {
+   Client wsClient = check new("ws://localhost:22103/readMessages");
+   check wsClient->writeTextMessage("5");
+   BatchEvent[] firstBatch = check wsClient->readMessages(3, 5);
+   test:assertEquals(firstBatch, [{id: 1}, {id: 2}, {id: 3}]);
+   BatchEvent[] secondBatch = check wsClient->readMessages(3, 1);
+   test:assertEquals(secondBatch, [{id: 4}, {id: 5}]);
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the messages read ahead are returned without waiting for the timeout
+@test:Config {}
+public function testReadMessagesFromPrefetchBuffer() returns error? {
+   Client wsClient = check new("ws://localhost:22103/readMessages", prefetch = {maxMessages: 10});
+   check wsClient->writeTextMessage("4");
+   BatchEvent first = check wsClient->readMessage();
+   test:assertEquals(first, {id: 1});
+   runtime:sleep(1);
+   BatchEvent[] batch = check wsClient->readMessages(10, 0);
+   test:assertEquals(batch, [{id: 2}, {id: 3}, {id: 4}]);
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that an empty batch is returned when no message arrives within the timeout
+@test:Config {}
+public function testReadMessagesTimeout() returns error? {
+   Client wsClient = check new("ws://localhost:22103/readMessages");
+   BatchEvent[] batch = check wsClient->readMessages(2, 1);
+   test:assertEquals(batch.length(), 0);
+   int[]|Error result = wsClient->readMessages(0, 1);
+   test:assertTrue(result is Error);
+   check wsClient->close(timeout = 0);
+}
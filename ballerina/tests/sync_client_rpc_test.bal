@@ -0,0 +1,139 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/lang.runtime as runtime;
+import ballerina/test;
+
+const int CONCURRENT_REQUESTS = 50;
+
+listener Listener l100 = new(22105);
+
+service /rpc on l100 {
+   resource function get .() returns Service|UpgradeError {
+       return new RpcService();
+   }
+}
+
+type RpcRequest record {|
+    string id;
+    int value;
+|};
+
+type RpcResponse record {|
+    string id;
+    int result;
+|};
+
+service class RpcService {
+  *Service;
+  remote isolated function onMessage(Caller caller, RpcRequest request) returns Error? {
+      if request.value < 0 {
+          // Requests with negative values are never answered
+          return;
+      }
+      if request.value == 0 {
+          check caller->writeMessage({event: "notification"});
+      }
+      // Responses are delayed in the reverse order of the values so that they are sent out of order
+      runtime:sleep(<decimal>(CONCURRENT_REQUESTS - request.value) / 1000);
+      check caller->writeMessage({id: request.id, result: request.value * 2});
+  }
+}
+
+isolated class PrefixedIdExtractor {
+    *CorrelationIdExtractor;
+
+    public isolated function extract(string|byte[] message) returns string? {
+        if message is string {
+            RpcRequest|RpcResponse|error payload = message.fromJsonStringWithType();
+            if payload is error {
+                return;
+            }
+            return "rpc-" + payload.id;
+        }
+        return;
+    }
+}
+
+// Tests that the responses arriving out of order are correlated to the concurrent requests
+@test:Config {}
+public function testConcurrentRequests() returns error? {
+   Client wsClient = check new("ws://localhost:22105/rpc", rpc = {});
+   future<RpcResponse|Error>[] requests = [];
+   foreach int i in 1 ... CONCURRENT_REQUESTS {
+       requests.push(start wsClient->sendRequest({id: i.toString(), value: i}));
+   }
+   foreach int i in 1 ... CONCURRENT_REQUESTS {
+       RpcResponse response = check wait requests[i - 1];
+       test:assertEquals(response, {id: i.toString(), result: i * 2});
+   }
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the messages, which do not correlate to a request, are returned by the read functions
+@test:Config {}
+public function testUncorrelatedMessage() returns error? {
+   Client wsClient = check new("ws://localhost:22105/rpc", rpc = {});
+   RpcResponse response = check wsClient->sendRequest({id: "zero", value: 0});
+   test:assertEquals(response, {id: "zero", result: 0});
+   json notification = check wsClient->readMessage();
+   test:assertEquals(notification, {event: "notification"});
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that a request is completed with an error if the response is not received within the timeout
+@test:Config {}
+public function testRequestTimeout() returns error? {
+   Client wsClient = check new("ws://localhost:22105/rpc", rpc = {timeout: 1});
+   RpcResponse|Error response = wsClient->sendRequest({id: "1", value: -1});
+   if response is ReadTimedOutError {
+       test:assertEquals(response.message(), "Response not received within the timeout for the request: 1");
+   } else {
+       test:assertFail("Expected a read timed out error");
+   }
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the correlation ids are taken from the extractor of the client
+@test:Config {}
+public function testCorrelationIdExtractor() returns error? {
+   Client wsClient = check new("ws://localhost:22105/rpc", rpc = {correlationIdField: "ref"},
+       correlationIdExtractor = new PrefixedIdExtractor());
+   RpcResponse response = check wsClient->sendRequest({id: "42", value: 21});
+   test:assertEquals(response, {id: "42", result: 42});
+   check wsClient->close(timeout = 0);
+}
+
+// Tests that the requests fail when the client is not in the RPC mode or a request does not carry an id
+@test:Config {}
+public function testInvalidRequests() returns error? {
+   Client wsClient = check new("ws://localhost:22105/rpc");
+   json|Error response = wsClient->sendRequest({id: "1", value: 1});
+   if response is Error {
+       test:assertEquals(response.message(), "RPC mode is not enabled in the client");
+   } else {
+       test:assertFail("Expected an error");
+   }
+   check wsClient->close(timeout = 0);
+   Client rpcClient = check new("ws://localhost:22105/rpc", rpc = {});
+   response = rpcClient->sendRequest("no id");
+   if response is Error {
+       test:assertEquals(response.message(), "Correlation id not found in the request");
+   } else {
+       test:assertFail("Expected an error");
+   }
+   check rpcClient->close(timeout = 0);
+}
@@ -23,6 +23,8 @@ string attr1 = "";
 string removedAttr = "";
 boolean isSecure = true;
 string serviceSubProtocol = "";
+boolean mutableAttrCloned = false;
+boolean readonlyAttrShared = false;
 
 listener Listener l62 = new(21009);
 
@@ -50,6 +52,14 @@ service class WsService62 {
       if attr is string {
           attr1 = attr;
       }
+      map<string> mutableAttr = {"name": "first"};
+      caller.setAttribute("mutable", mutableAttr);
+      mutableAttr["name"] = "second";
+      value:Cloneable storedAttr = caller.getAttribute("mutable");
+      mutableAttrCloned = storedAttr is map<string> && storedAttr["name"] == "first";
+      map<string> & readonly readonlyAttr = {"name": "first"};
+      caller.setAttribute("readonly", readonlyAttr);
+      readonlyAttrShared = caller.getAttribute("readonly") === readonlyAttr;
       string? protocol = caller.getNegotiatedSubProtocol();
       if protocol is string {
          serviceSubProtocol = protocol;
@@ -73,5 +83,7 @@ public function testAttributes() returns Error? {
    test:assertEquals(removedAttr, "removedAttr");
    test:assertEquals(isSecure, false);
    test:assertEquals(serviceSubProtocol, "xml");
+   test:assertTrue(mutableAttrCloned);
+   test:assertTrue(readonlyAttrShared);
    error? result = wsClient->close(statusCode = 1000, reason = "Close the connection", timeout = 0);
 }
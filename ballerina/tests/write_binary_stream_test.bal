@@ -0,0 +1,97 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+listener Listener l110 = new(22117);
+
+service /binaryStream on l110 {
+   resource function get .() returns Service {
+       return new BinaryStreamService();
+   }
+}
+
+service class BinaryStreamService {
+   *Service;
+   remote function onBinaryMessage(byte[] data) returns string {
+       int sum = 0;
+       foreach byte b in data {
+           sum += b;
+       }
+       return string `${data.length()}:${sum}`;
+   }
+
+   remote function onTextMessage(Caller caller, string text) returns error? {
+       check caller->writeBinaryStream(createChunks(3, 2000));
+   }
+}
+
+// Tests that the chunks of a stream are written as a single binary message
+@test:Config {}
+public function testWriteBinaryStream() returns error? {
+   Client wsClient = check new("ws://localhost:22117/binaryStream", {maxFrameSize: 1024});
+   check wsClient->writeBinaryStream(createChunks(5, 3000));
+   test:assertEquals(check wsClient->readTextMessage(), "15000:15000");
+   byte[][] empty = [];
+   check wsClient->writeBinaryStream(empty.toStream());
+   test:assertEquals(check wsClient->readTextMessage(), "0:0");
+   check wsClient->close();
+}
+
+// Tests that a caller writes the chunks of a stream as a single binary message
+@test:Config {}
+public function testCallerWriteBinaryStream() returns error? {
+   Client wsClient = check new("ws://localhost:22117/binaryStream");
+   check wsClient->writeTextMessage("send");
+   byte[] data = check wsClient->readBinaryMessage();
+   test:assertEquals(data.length(), 6000);
+   check wsClient->close();
+}
+
+// Tests that the error of a stream, which fails before any content is sent, is returned
+@test:Config {}
+public function testWriteFailingBinaryStream() returns error? {
+   Client wsClient = check new("ws://localhost:22117/binaryStream");
+   stream<byte[], error?> content = new (new FailingChunkIterator());
+   Error? err = wsClient->writeBinaryStream(content);
+   if err is Error {
+      test:assertEquals(err.message(), "Failed to read the content stream");
+   } else {
+      test:assertFail("Expected an error");
+   }
+   check wsClient->writeBinaryMessage([1, 2]);
+   test:assertEquals(check wsClient->readTextMessage(), "2:3");
+   check wsClient->close();
+}
+
+function createChunks(int count, int size) returns stream<byte[], error?> {
+   byte[][] chunks = [];
+   foreach int i in 0 ..< count {
+      byte[] chunk = [];
+      chunk.setLength(size);
+      foreach int j in 0 ..< size {
+         chunk[j] = 1;
+      }
+      chunks.push(chunk);
+   }
+   return chunks.toStream();
+}
+
+class FailingChunkIterator {
+   public isolated function next() returns record {| byte[] value; |}|error? {
+      return error("Content is not available");
+   }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/test;
+
+const string MAPPED_FILE_PATH = "tests/certsAndKeys/public.crt";
+
+listener Listener l111 = new(22118);
+
+service /file on l111 {
+   resource function get .() returns Service {
+       return new FileService();
+   }
+}
+
+service class FileService {
+   *Service;
+   remote function onBinaryMessage(byte[] data) returns string|error {
+       return string:fromBytes(data);
+   }
+
+   remote function onTextMessage(Caller caller, string text) returns error? {
+       check caller->writeFile(MAPPED_FILE_PATH, 5, 22);
+   }
+}
+
+// Tests that a file and a part of it are written as binary messages
+@test:Config {}
+public function testWriteFile() returns error? {
+   Client wsClient = check new("ws://localhost:22118/file", {maxFrameSize: 256});
+   check wsClient->writeFile(MAPPED_FILE_PATH, 0, 27);
+   test:assertEquals(check wsClient->readTextMessage(), "-----BEGIN CERTIFICATE-----");
+   check wsClient->writeFile(MAPPED_FILE_PATH);
+   string content = check wsClient->readTextMessage();
+   test:assertEquals(content.length(), 1342);
+   test:assertTrue(content.startsWith("-----BEGIN CERTIFICATE-----"));
+   check wsClient->close();
+}
+
+// Tests that a caller writes a part of a file as a binary message
+@test:Config {}
+public function testCallerWriteFile() returns error? {
+   Client wsClient = check new("ws://localhost:22118/file");
+   check wsClient->writeTextMessage("send");
+   byte[] data = check wsClient->readBinaryMessage();
+   test:assertEquals(check string:fromBytes(data), "BEGIN CERTIFICATE-----");
+   check wsClient->close();
+}
+
+// Tests that writing a missing file or an invalid range of a file returns an error
+@test:Config {}
+public function testWriteInvalidFile() returns error? {
+   Client wsClient = check new("ws://localhost:22118/file");
+   Error? err = wsClient->writeFile("tests/certsAndKeys/missing.crt");
+   test:assertTrue(err is Error);
+   err = wsClient->writeFile(MAPPED_FILE_PATH, 1000, 1000);
+   if err is Error {
+      test:assertEquals(err.message(), "Invalid range 1000..2000 of a file of 1342 bytes");
+   } else {
+      test:assertFail("Expected an error");
+   }
+   check wsClient->close();
+}
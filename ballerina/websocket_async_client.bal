@@ -0,0 +1,217 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/http;
+
+# Represents a WebSocket asynchronous client endpoint. The connection is read continuously and the
+# received frames are dispatched to the `websocket:Service` attached to the client. The remote functions of the
+# service receive a `websocket:Caller` bound to the client connection.
+public isolated client class AsyncClient {
+
+    private boolean open = false;
+
+    private string url = "";
+    private ClientConfiguration & readonly config;
+
+    # Initializes the asynchronous client when called.
+    #
+    # + url - URL of the target service
+    # + callbackService - The service to which the frames received from the server are dispatched
+    # + config - The configurations to be used when initializing the client. The `retryConfig`, the `prefetch`, the
+    # RPC configurations, the `replay` configurations, and the `pingPongHandler` are not applicable to the
+    # asynchronous client. Ping/pong frames are dispatched to the `callbackService`
+    public isolated function init(string url, Service callbackService, *ClientConfiguration config) returns Error? {
+        self.url = url;
+        addCookies(config);
+        check initClientAuth(config);
+        ClientInferredConfig inferredConfig = {
+            subProtocols: config.subProtocols,
+            customHeaders: config.customHeaders,
+            readTimeout: config.readTimeout,
+            writeTimeout: config.writeTimeout,
+            secureSocket: config.secureSocket,
+            maxFrameSize: config.maxFrameSize,
+            maxMessageSize: config.maxMessageSize,
+            webSocketCompressionEnabled: config.webSocketCompressionEnabled,
+            handShakeTimeout: config.handShakeTimeout,
+            retryConfig: (),
+            validation: config.validation,
+            connectorGroup: config.connectorGroup,
+            prefetch: (),
+            rpc: (),
+            replay: ()
+        };
+        self.config = inferredConfig.cloneReadOnly();
+        return self.externAsyncInitEndpoint(callbackService);
+    }
+
+    # Writes text messages to the connection. If an error occurs while sending the text message to the connection, that message
+    # will be lost.
+    #
+    # + data - Data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeTextMessage(string data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes binary data to the connection. If an error occurs while sending the binary message to the connection,
+    # that message will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeBinaryMessage(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a binary message, of which the content is pulled from a stream chunk by chunk. The next chunk is pulled
+    # only once the previous chunk is written to the connection, hence the whole content is never held in memory.
+    # A `stream` of a file can be created with `io:ReadableByteChannel.blockStream`. If an error occurs while reading
+    # the content after a part of it has been sent, the connection is closed as the message cannot be completed.
+    #
+    # + content - The content to be sent as a single message
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the content
+    remote isolated function writeBinaryStream(stream<byte[], error?> content) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a file or a part of it as a binary message. The file is memory mapped once and the mapping is shared by
+    # all the connections to which the file is written, hence the file is not copied to memory for each write.
+    #
+    # + path - The path of the file
+    # + offset - The offset in bytes of the part of the file to be sent
+    # + length - The length in bytes of the part of the file to be sent. A negative value sends the file up to its end
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the file
+    remote isolated function writeFile(string path, int offset = 0, int length = -1) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes messages to the connection. If an error occurs while sending the message to the connection, that message
+    # will be lost.
+    #
+    # + data - Data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeMessage(anydata data) returns Error? {
+        string|byte[] serializedData = getSerializedData(data);
+        if serializedData is string {
+            return self.externWriteTextMessage(serializedData);
+        } else {
+            return self.externWriteBinaryMessage(serializedData);
+        }
+    }
+
+    # Pings the connection. If an error occurs while sending the ping frame to the server, that frame will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function ping(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Sends a pong message to the connection. If an error occurs while sending the pong frame to the connection, that
+    # the frame will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function pong(byte[] data) returns Error? = @java:Method {
+         'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Closes the connection.
+    #
+    # + statusCode - Status code for closing the connection
+    # + reason - Reason for closing the connection
+    # + timeout - Time to wait (in seconds) for the close frame to be received from the remote endpoint before closing the
+    # connection. If the timeout exceeds, then the connection is terminated even though a close frame
+    # is not received from the remote endpoint. If the value is < 0 (e.g., -1), then the connection
+    # waits until a close frame is received. If the WebSocket frame is received from the remote
+    # endpoint within the waiting period, the connection is terminated immediately
+    # + return - A `websocket:Error` if an error occurs while closing the WebSocket connection
+    remote isolated function close(int? statusCode = 1000, string? reason = (), decimal timeout = 60) returns Error? {
+        int code = 1000;
+        if statusCode is int {
+            if statusCode <= 999 || statusCode >= 1004 && statusCode <= 1006 || statusCode >= 1012 &&
+                statusCode <= 2999 || statusCode > 4999 {
+                string errorMessage = "Failed to execute close. Invalid status code: " + statusCode.toString();
+                return error ConnectionClosureError(errorMessage);
+            }
+            code = statusCode;
+        }
+        return self.externClose(code, reason is () ? "" : reason, timeout);
+    }
+
+    # Gives the connection id associated with this connection.
+    #
+    # + return - The unique ID associated with the connection
+    public isolated function getConnectionId() returns string = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
+    # Gives the subprotocol if any that is negotiated with the server.
+    #
+    # + return - The subprotocol if any negotiated with the server or `nil`
+    public isolated function getNegotiatedSubProtocol() returns string? {
+        return self.externGetNegotiatedSubProtocol();
+    }
+
+    # Gives the secured status of the connection.
+    #
+    # + return - `true` if the connection is secure
+    public isolated function isSecure() returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
+    # Gives the open or closed status of the connection.
+    #
+    # + return - `true` if the connection is open
+    public isolated function isOpen() returns boolean {
+        lock {
+            return self.open;
+        }
+    }
+
+    # Gives the HTTP response if any received for the client handshake request.
+    #
+    # + return - The HTTP response received from the client handshake request
+    public isolated function getHttpResponse() returns http:Response? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.client.SyncInitEndpoint"
+    } external;
+
+    isolated function externAsyncInitEndpoint(Service callbackService) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.client.AsyncInitEndpoint",
+        name: "initEndpoint"
+    } external;
+
+    isolated function externClose(int statusCode, string reason, decimal timeoutInSecs)
+                         returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.Close"
+    } external;
+
+    isolated function externGetNegotiatedSubProtocol() returns string? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil",
+        name: "getNegotiatedSubProtocol"
+    } external;
+
+    isolated function externWriteTextMessage(string data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector",
+        name: "writeTextMessage"
+    } external;
+
+    isolated function externWriteBinaryMessage(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector",
+        name: "writeBinaryMessage"
+    } external;
+}
@@ -21,7 +21,6 @@ import ballerina/lang.value;
 public isolated client class Caller {
 
     private boolean open = false;
-    private map<value:Cloneable> attributes = {};
     private boolean initializedByService = false;
 
     isolated function init() {
@@ -46,6 +45,28 @@ public isolated client class Caller {
         'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
     } external;
 
+    # Writes a binary message, of which the content is pulled from a stream chunk by chunk. The next chunk is pulled
+    # only once the previous chunk is written to the connection, hence the whole content is never held in memory.
+    # A `stream` of a file can be created with `io:ReadableByteChannel.blockStream`. If an error occurs while reading
+    # the content after a part of it has been sent, the connection is closed as the message cannot be completed.
+    #
+    # + content - The content to be sent as a single message
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the content
+    remote isolated function writeBinaryStream(stream<byte[], error?> content) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a file or a part of it as a binary message. The file is memory mapped once and the mapping is shared by
+    # all the connections to which the file is written, hence the file is not copied to memory for each write.
+    #
+    # + path - The path of the file
+    # + offset - The offset in bytes of the part of the file to be sent
+    # + length - The length in bytes of the part of the file to be sent. A negative value sends the file up to its end
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the file
+    remote isolated function writeFile(string path, int offset = 0, int length = -1) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
     # Writes messages to the connection. If an error occurs while sending the message to the connection, that message
     # will be lost.
     #
@@ -115,35 +136,32 @@ public isolated client class Caller {
         name: "writeBinaryMessage"
     } external;
 
-    # Sets a connection related attribute.
+    # Sets a connection related attribute. A `readonly` value is stored as it is and other values are cloned.
     #
     # + key - The key, which identifies the attribute
     # + value - The value of the attribute
-    public isolated function setAttribute(string key, value:Cloneable value) {
-        lock {
-            self.attributes[key] = value.clone();
-        }
-    }
+    public isolated function setAttribute(string key, value:Cloneable value) = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil",
+        name: "setCallerAttribute"
+    } external;
 
-    # Gets connection related attribute if any.
+    # Gets connection related attribute if any. A `readonly` value is returned as it is and other values are cloned.
     #
     # + key - The key to identify the attribute
     # + return - The attribute related to the given key or `nil`
-    public isolated function getAttribute(string key) returns value:Cloneable? {
-        lock {
-            return self.attributes[key].clone();
-        }
-    }
+    public isolated function getAttribute(string key) returns value:Cloneable? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil",
+        name: "getCallerAttribute"
+    } external;
 
     # Removes connection related attribute if any.
     #
     # + key - The key to identify the attribute
     # + return - The attribute related to the given key or `nil`
-    public isolated function removeAttribute(string key) returns value:Cloneable? {
-        lock {
-            return self.attributes.remove(key).clone();
-        }
-    }
+    public isolated function removeAttribute(string key) returns value:Cloneable? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil",
+        name: "removeCallerAttribute"
+    } external;
 
     # Gives the connection id associated with this connection.
     #
@@ -167,6 +185,13 @@ public isolated client class Caller {
         'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
     } external;
 
+    # Gives the round trip time of the pings sent to the client, which is smoothed over the pongs received.
+    #
+    # + return - The round trip time or `nil` if no pong is received yet
+    public isolated function getRoundTripTime() returns RoundTripTime? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
     # Gives the open or closed status of the connection.
     #
     # + return - `true` if the connection is open
@@ -0,0 +1,297 @@
+// Copyright (c) 2022 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+import ballerina/http;
+
+# Represents a WebSocket synchronous client endpoint, which fails over among a set of target services. The client
+# connects to the healthiest target and moves on to the next one as soon as a connection attempt fails. The targets
+# are ranked by their consecutive failures and their handshake latency.
+public isolated client class FailoverClient {
+
+    private boolean open = false;
+    private final map<string|int> attributes = {};
+
+    private string url = "";
+    private final string[] & readonly targetUrls;
+    private ClientConfiguration & readonly config;
+    private final PingPongService? pingPongService;
+    private final CorrelationIdExtractor? correlationIdExtractor;
+    private final ReplayAcknowledger? replayAcknowledger;
+
+    # Initializes the failover client when called.
+    #
+    # + targetUrls - URLs of the target services in the order of preference
+    # + config - The configurations to be used when initializing the client. The `retryConfig` applies once all the
+    # targets have failed. If it is not set, the client does not reconnect once the connection is lost
+    public isolated function init(string[] targetUrls, *ClientConfiguration config) returns Error? {
+        self.targetUrls = targetUrls.cloneReadOnly();
+        addCookies(config);
+        check initClientAuth(config);
+        self.config = getInferredConfig(config);
+        self.pingPongService = getPingPongService(config);
+        self.correlationIdExtractor = config?.correlationIdExtractor;
+        self.replayAcknowledger = config?.replayAcknowledger;
+        return self.initEndpoint();
+    }
+
+    isolated function initEndpoint() returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.client.SyncInitEndpoint",
+        name: "initFailoverEndpoint"
+    } external;
+
+    # Gives the URL of the target to which the client is connected or last attempted to connect.
+    #
+    # + return - The URL of the current target
+    public isolated function getCurrentTarget() returns string {
+        lock {
+            return self.url;
+        }
+    }
+
+    # Writes text messages to the connection. If an error occurs while sending the text message to the connection, that message
+    # will be lost.
+    #
+    # + data - Data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeTextMessage(string data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes binary data to the connection. If an error occurs while sending the binary message to the connection,
+    # that message will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeBinaryMessage(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a binary message, of which the content is pulled from a stream chunk by chunk. The next chunk is pulled
+    # only once the previous chunk is written to the connection, hence the whole content is never held in memory.
+    # A `stream` of a file can be created with `io:ReadableByteChannel.blockStream`. If an error occurs while reading
+    # the content after a part of it has been sent, the connection is closed as the message cannot be completed.
+    #
+    # + content - The content to be sent as a single message
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the content
+    remote isolated function writeBinaryStream(stream<byte[], error?> content) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a file or a part of it as a binary message. The file is memory mapped once and the mapping is shared by
+    # all the connections to which the file is written, hence the file is not copied to memory for each write.
+    #
+    # + path - The path of the file
+    # + offset - The offset in bytes of the part of the file to be sent
+    # + length - The length in bytes of the part of the file to be sent. A negative value sends the file up to its end
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the file
+    remote isolated function writeFile(string path, int offset = 0, int length = -1) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Pings the connection. If an error occurs while sending the ping frame to the server, that frame will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function ping(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Sends a pong message to the connection. If an error occurs while sending the pong frame to the connection, that
+    # the frame will be lost.
+    #
+    # + data - Binary data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function pong(byte[] data) returns Error? = @java:Method {
+         'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Closes the connection.
+    #
+    # + statusCode - Status code for closing the connection
+    # + reason - Reason for closing the connection
+    # + timeout - Time to wait (in seconds) for the close frame to be received from the remote endpoint before closing the
+    # connection. If the timeout exceeds, then the connection is terminated even though a close frame
+    # is not received from the remote endpoint. If the value is < 0 (e.g., -1), then the connection
+    # waits until a close frame is received. If the WebSocket frame is received from the remote
+    # endpoint within the waiting period, the connection is terminated immediately
+    # + return - A `websocket:Error` if an error occurs while closing the WebSocket connection
+    remote isolated function close(int? statusCode = 1000, string? reason = (), decimal timeout = 60) returns Error? {
+        int code = check validateCloseStatusCode(statusCode);
+        return self.externClose(code, reason is () ? "" : reason, timeout);
+    }
+
+    # Sets a connection-related attribute.
+    #
+    # + key - The key, which identifies the attribute
+    # + value - The value of the attribute
+    public isolated function setAttribute(string key, string|int value) {
+        lock {
+            self.attributes[key] = value;
+        }
+    }
+
+    # Gets connection-related attributes if any.
+    #
+    # + key - The key to identify the attribute
+    # + return - The attribute related to the given key or `nil`
+    public isolated function getAttribute(string key) returns string|int? {
+        lock {
+            return self.attributes[key];
+        }
+    }
+
+    # Removes connection related attribute if any.
+    #
+    # + key - The key to identify the attribute
+    # + return - The attribute related to the given key or `nil`
+    public isolated function removeAttribute(string key) returns string|int? {
+        lock {
+            return self.attributes.remove(key);
+        }
+    }
+
+    # Gives the connection id associated with this connection.
+    #
+    # + return - The unique ID associated with the connection
+    public isolated function getConnectionId() returns string = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
+    # Gives the subprotocol if any that is negotiated with the client.
+    #
+    # + return - The subprotocol if any negotiated with the client or `nil`
+    public isolated function getNegotiatedSubProtocol() returns string? {
+        return self.externGetNegotiatedSubProtocol();
+    }
+
+    # Gives the secured status of the connection.
+    #
+    # + return - `true` if the connection is secure
+    public isolated function isSecure() returns boolean = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
+    # Gives the round trip time of the pings sent to the current target, which is smoothed over the pongs received.
+    # The round trip time starts over once the client fails over to another target.
+    #
+    # + return - The round trip time or `nil` if no pong is received yet
+    public isolated function getRoundTripTime() returns RoundTripTime? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
+
+    # Gives the open or closed status of the connection.
+    #
+    # + return - `true` if the connection is open
+    public isolated function isOpen() returns boolean {
+        lock {
+            return self.open;
+        }
+    }
+
+    # Gives the HTTP response if any received for the client handshake request.
+    #
+    # + return - The HTTP response received from the client handshake request
+    public isolated function getHttpResponse() returns http:Response? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.client.SyncInitEndpoint"
+    } external;
+
+    # Reads text messages in a synchronous manner.
+    #
+    # + return  - The text data sent by the server or a `websocket:Error` if an error occurs when receiving
+    remote isolated function readTextMessage() returns string|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
+    } external;
+
+    # Reads binary data in a synchronous manner.
+    #
+    # + return  - The binary data sent by the server or an `websocket:Error` if an error occurs when receiving
+    remote isolated function readBinaryMessage() returns byte[]|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
+    } external;
+
+    # Reads data from the WebSocket connection.
+    #
+    # + targetType - The payload type (sybtype of `anydata`), which is expected to be returned after data binding
+    # + return - The data sent by the server or a `websocket:Error` if an error occurs when receiving
+    remote isolated function readMessage(typedesc<anydata> targetType = <>) returns targetType|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
+    } external;
+
+    # Reads a batch of messages from the WebSocket connection. The messages already read ahead are returned first and
+    # the remaining messages are awaited until `maxMessages` messages are received or the timeout elapses. If the
+    # connection is closed after some of the messages are received, those messages are returned and the closure is
+    # reported by the next read.
+    #
+    # + maxMessages - The maximum number of messages to be returned
+    # + timeout - Time (in seconds) to wait for the messages. If the value <= 0, only the messages already read
+    # ahead are returned
+    # + targetType - The payload type (subtype of `anydata`) to which each message is bound
+    # + return - The messages received within the timeout, which may be empty, or a `websocket:Error` if an error
+    # occurs when receiving or if a message cannot be bound to the `targetType`
+    remote isolated function readMessages(int maxMessages, decimal timeout, typedesc<anydata> targetType = <>)
+            returns targetType[]|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
+    } external;
+
+    # Sends a request and waits for its response in the RPC mode of the client. The response is the message
+    # carrying the same correlation id as the request. Many requests can wait for their responses concurrently over
+    # the connection. Messages, which do not correlate to a waiting request, are returned by the read functions.
+    #
+    # + message - The request to be sent. It is serialized the same way as in `writeMessage`
+    # + targetType - The payload type (subtype of `anydata`), which is expected to be returned after data binding
+    # + return - The response or a `websocket:Error` if the client is not configured with the `rpc` configurations,
+    # if the request does not carry a correlation id, or if the response is not received within the timeout
+    remote isolated function sendRequest(anydata message, typedesc<anydata> targetType = <>)
+            returns targetType|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketRpcConnector"
+    } external;
+
+    # Writes messages to the connection. If an error occurs while sending the message to the connection, that message
+    # will be lost.
+    #
+    # + data - Data to be sent
+    # + return  - A `websocket:Error` if an error occurs when sending
+    remote isolated function writeMessage(anydata data) returns Error? {
+        string|byte[] serializedData = getSerializedData(data);
+        if serializedData is string {
+            return self.externWriteTextMessage(serializedData);
+        } else {
+            return self.externWriteBinaryMessage(serializedData);
+        }
+    }
+
+    isolated function externClose(int statusCode, string reason, decimal timeoutInSecs)
+                         returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.Close"
+    } external;
+
+    isolated function externGetNegotiatedSubProtocol() returns string? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil",
+        name: "getNegotiatedSubProtocol"
+    } external;
+
+    isolated function externWriteTextMessage(string data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector",
+        name: "writeTextMessage"
+    } external;
+
+    isolated function externWriteBinaryMessage(byte[] data) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector",
+        name: "writeBinaryMessage"
+    } external;
+}
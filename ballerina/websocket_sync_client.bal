@@ -28,6 +28,8 @@ public isolated client class Client {
     private string url = "";
     private ClientConfiguration & readonly config;
     private final PingPongService? pingPongService;
+    private final CorrelationIdExtractor? correlationIdExtractor;
+    private final ReplayAcknowledger? replayAcknowledger;
 
     # Initializes the synchronous client when called.
     #
@@ -37,25 +39,10 @@ public isolated client class Client {
         self.url = url;
         addCookies(config);
         check initClientAuth(config);
-        ClientInferredConfig inferredConfig = {
-            subProtocols: config.subProtocols,
-            customHeaders: config.customHeaders,
-            readTimeout: config.readTimeout,
-            writeTimeout: config.writeTimeout,
-            secureSocket: config.secureSocket,
-            maxFrameSize: config.maxFrameSize,
-            webSocketCompressionEnabled: config.webSocketCompressionEnabled,
-            handShakeTimeout: config.handShakeTimeout,
-            retryConfig: config.retryConfig,
-            validation: config.validation
-        };
-        self.config = inferredConfig.cloneReadOnly();
-        var pingPongHandler = config["pingPongHandler"];
-        if pingPongHandler is PingPongService {
-            self.pingPongService = pingPongHandler;
-        } else {
-            self.pingPongService = ();
-        }
+        self.config = getInferredConfig(config);
+        self.pingPongService = getPingPongService(config);
+        self.correlationIdExtractor = config?.correlationIdExtractor;
+        self.replayAcknowledger = config?.replayAcknowledger;
         return self.initEndpoint();
     }
 
@@ -82,6 +69,28 @@ public isolated client class Client {
         'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
     } external;
 
+    # Writes a binary message, of which the content is pulled from a stream chunk by chunk. The next chunk is pulled
+    # only once the previous chunk is written to the connection, hence the whole content is never held in memory.
+    # A `stream` of a file can be created with `io:ReadableByteChannel.blockStream`. If an error occurs while reading
+    # the content after a part of it has been sent, the connection is closed as the message cannot be completed.
+    #
+    # + content - The content to be sent as a single message
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the content
+    remote isolated function writeBinaryStream(stream<byte[], error?> content) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
+    # Writes a file or a part of it as a binary message. The file is memory mapped once and the mapping is shared by
+    # all the connections to which the file is written, hence the file is not copied to memory for each write.
+    #
+    # + path - The path of the file
+    # + offset - The offset in bytes of the part of the file to be sent
+    # + length - The length in bytes of the part of the file to be sent. A negative value sends the file up to its end
+    # + return  - A `websocket:Error` if an error occurs when reading or sending the file
+    remote isolated function writeFile(string path, int offset = 0, int length = -1) returns Error? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector"
+    } external;
+
     # Pings the connection. If an error occurs while sending the ping frame to the server, that frame will be lost.
     #
     # + data - Binary data to be sent
@@ -110,15 +119,7 @@ public isolated client class Client {
     # endpoint within the waiting period, the connection is terminated immediately
     # + return - A `websocket:Error` if an error occurs while closing the WebSocket connection
     remote isolated function close(int? statusCode = 1000, string? reason = (), decimal timeout = 60) returns Error? {
-        int code = 1000;
-        if statusCode is int {
-            if statusCode <= 999 || statusCode >= 1004 && statusCode <= 1006 || statusCode >= 1012 &&
-                statusCode <= 2999 || statusCode > 4999 {
-                string errorMessage = "Failed to execute close. Invalid status code: " + statusCode.toString();
-                return error ConnectionClosureError(errorMessage);
-            }
-            code = statusCode;
-        }
+        int code = check validateCloseStatusCode(statusCode);
         return self.externClose(code, reason is () ? "" : reason, timeout);
     }
 
@@ -173,6 +174,13 @@ public isolated client class Client {
         'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
     } external;
 
+    # Gives the round trip time of the pings sent to the server, which is smoothed over the pongs received.
+    #
+    # + return - The round trip time or `nil` if no pong is received yet
+    public isolated function getRoundTripTime() returns RoundTripTime? = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.WebSocketUtil"
+    } external;
+
 
     # Gives the open or closed status of the connection.
     #
@@ -212,6 +220,35 @@ public isolated client class Client {
         'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
     } external;
 
+    # Reads a batch of messages from the WebSocket connection. The messages already read ahead are returned first and
+    # the remaining messages are awaited until `maxMessages` messages are received or the timeout elapses. If the
+    # connection is closed after some of the messages are received, those messages are returned and the closure is
+    # reported by the next read.
+    #
+    # + maxMessages - The maximum number of messages to be returned
+    # + timeout - Time (in seconds) to wait for the messages. If the value <= 0, only the messages already read
+    # ahead are returned
+    # + targetType - The payload type (subtype of `anydata`) to which each message is bound
+    # + return - The messages received within the timeout, which may be empty, or a `websocket:Error` if an error
+    # occurs when receiving or if a message cannot be bound to the `targetType`
+    remote isolated function readMessages(int maxMessages, decimal timeout, typedesc<anydata> targetType = <>)
+            returns targetType[]|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketSyncConnector"
+    } external;
+
+    # Sends a request and waits for its response in the RPC mode of the client. The response is the message
+    # carrying the same correlation id as the request. Many requests can wait for their responses concurrently over
+    # the connection. Messages, which do not correlate to a waiting request, are returned by the read functions.
+    #
+    # + message - The request to be sent. It is serialized the same way as in `writeMessage`
+    # + targetType - The payload type (subtype of `anydata`), which is expected to be returned after data binding
+    # + return - The response or a `websocket:Error` if the client is not configured with the `rpc` configurations,
+    # if the request does not carry a correlation id, or if the response is not received within the timeout
+    remote isolated function sendRequest(anydata message, typedesc<anydata> targetType = <>)
+            returns targetType|Error = @java:Method {
+        'class: "io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketRpcConnector"
+    } external;
+
     # Writes messages to the connection. If an error occurs while sending the message to the connection, that message
     # will be lost.
     #
@@ -267,6 +304,8 @@ public type ClientConfiguration record {|
 # + secureSocket - SSL/TLS-related options
 # + maxFrameSize - The maximum payload size of a WebSocket frame in bytes.
 # If this is not set, is negative, or is zero, the default frame size of 65536 will be used
+# + maxMessageSize - The maximum size of a text or binary message in bytes. The connection is closed with the status
+# code 1009 once the frames of a message received exceed it. If the value <= 0, the size is not limited
 # + webSocketCompressionEnabled - Enable support for compression in the WebSocket
 # + handShakeTimeout - Time (in seconds) that a connection waits to get the response of
 # the WebSocket handshake. If the timeout exceeds, then the connection is terminated with
@@ -277,6 +316,20 @@ public type ClientConfiguration record {|
 # Resources in this service gets called on the receipt of ping/pong frames from the server
 # + retryConfig - Retry-related configurations
 # + validation - Enable/disable constraint validation
+# + connectorGroup - The connector group shared by the client. Clients of the same group share the connector
+# factory and the I/O threads. If this is not set, a dedicated connector factory is created for the client
+# + prefetch - The read-ahead window of the client. The messages received within the window are buffered and the
+# read functions return them without waiting for the network. If this is set to `()`, a frame is read from the
+# connection only when a read function is called
+# + rpc - Enables the RPC mode of the client, in which the responses are correlated to the requests sent with
+# `sendRequest`. If this is set to `()`, `sendRequest` returns an error
+# + correlationIdExtractor - Extracts the correlation ids of the messages in the RPC mode instead of the
+# `correlationIdField` of the `rpc` configurations
+# + replay - Retains the messages written by the client until they are acknowledged, and writes them again once the
+# client reconnects. This applies only when the client reconnects with the `retryConfig` or as a failover client
+# + replayAcknowledger - Acknowledges the retained messages based on the messages received by the client. If it is
+# not set, the retained messages are written again only once, after the next reconnect, and they are dropped once
+# they are written to the new connection
 public type CommonClientConfiguration record {|
     string[] subProtocols = [];
     map<string> customHeaders = {};
@@ -284,6 +337,7 @@ public type CommonClientConfiguration record {|
     decimal writeTimeout = -1;
     ClientSecureSocket? secureSocket = ();
     int maxFrameSize = 65536;
+    int maxMessageSize = 0;
     boolean webSocketCompressionEnabled = true;
     decimal handShakeTimeout = 300;
     http:Cookie[] cookies?;
@@ -291,8 +345,78 @@ public type CommonClientConfiguration record {|
     PingPongService pingPongHandler?;
     WebSocketRetryConfig? retryConfig = ();
     boolean validation = true;
+    ConnectorGroupConfig? connectorGroup = ();
+    PrefetchConfig? prefetch = ();
+    RpcConfig? rpc = ();
+    CorrelationIdExtractor correlationIdExtractor?;
+    ReplayConfig? replay = ();
+    ReplayAcknowledger replayAcknowledger?;
+|};
+
+# Configurations of a connector group shared among WebSocket clients.
+#
+# + name - The name of the connector group. Clients configured with the same name share the group
+# + ioThreads - The maximum number of I/O threads used by all the clients of the group. If the value <= 0, the
+# number of threads defaults to twice the number of available processors. A client configured with a different
+# number of threads than the existing group of the same name fails to initialize
+public type ConnectorGroupConfig record {|
+    string name = "default";
+    int ioThreads = 0;
 |};
 
+# Configurations of the read-ahead window of a WebSocket client. The client stops reading from the connection once
+# either of the limits is reached and resumes when the buffered messages are read.
+#
+# + maxMessages - The maximum number of messages buffered by the client. If the value <= 0, the number of messages
+# is not limited
+# + maxBytes - The maximum size (in bytes) of the messages buffered by the client. If the value <= 0, the size is
+# not limited. Read-ahead is disabled if neither of the limits is positive
+public type PrefetchConfig record {|
+    int maxMessages = 16;
+    int maxBytes = 1048576;
+|};
+
+# Configurations of the RPC mode of a WebSocket client.
+#
+# + correlationIdField - The JSON field, which carries the correlation id of the requests and the responses
+# + timeout - Time (in seconds) to wait for the response of a request
+public type RpcConfig record {|
+    string correlationIdField = "id";
+    decimal timeout = 30;
+|};
+
+# Extracts the correlation ids of the requests and the responses in the RPC mode of a WebSocket client.
+public type CorrelationIdExtractor isolated object {
+
+    # Extracts the correlation id of a message.
+    #
+    # + message - The message as sent or received. Text messages are given as `string` values and binary messages
+    # as `byte[]` values
+    # + return - The correlation id or `()` if the message does not carry one
+    public isolated function extract(string|byte[] message) returns string?;
+};
+
+# Configurations of the replay buffer of a WebSocket client. The oldest messages are dropped when the buffer is full.
+#
+# + maxMessages - The maximum number of messages retained. If the value <= 0, the number of messages is not limited
+# + maxBytes - The maximum size of the messages retained. The size of a text message is its number of characters.
+# If the value <= 0, the size is not limited
+public type ReplayConfig record {|
+    int maxMessages = 64;
+    int maxBytes = 1048576;
+|};
+
+# Acknowledges the messages retained in the replay buffer of a WebSocket client.
+public type ReplayAcknowledger isolated object {
+
+    # Acknowledges the retained messages based on a message received by the client.
+    #
+    # + message - The message received by the client. Text messages are given as `string` values and binary messages
+    # as `byte[]` values
+    # + return - The number of the oldest retained messages acknowledged by the message
+    public isolated function acknowledge(string|byte[] message) returns int;
+};
+
 # Configures the SSL/TLS options to be used for WebSocket client.
 public type ClientSecureSocket record {|
     *http:ClientSecureSocket;
@@ -319,12 +443,58 @@ type ClientInferredConfig record {|
     decimal writeTimeout;
     ClientSecureSocket? secureSocket;
     int maxFrameSize;
+    int maxMessageSize;
     boolean webSocketCompressionEnabled;
     decimal handShakeTimeout;
     WebSocketRetryConfig? retryConfig;
     boolean validation;
+    ConnectorGroupConfig? connectorGroup;
+    PrefetchConfig? prefetch;
+    RpcConfig? rpc;
+    ReplayConfig? replay;
 |};
 
+isolated function getInferredConfig(ClientConfiguration config) returns ClientInferredConfig & readonly {
+    ClientInferredConfig inferredConfig = {
+        subProtocols: config.subProtocols,
+        customHeaders: config.customHeaders,
+        readTimeout: config.readTimeout,
+        writeTimeout: config.writeTimeout,
+        secureSocket: config.secureSocket,
+        maxFrameSize: config.maxFrameSize,
+        maxMessageSize: config.maxMessageSize,
+        webSocketCompressionEnabled: config.webSocketCompressionEnabled,
+        handShakeTimeout: config.handShakeTimeout,
+        retryConfig: config.retryConfig,
+        validation: config.validation,
+        connectorGroup: config.connectorGroup,
+        prefetch: config.prefetch,
+        rpc: config.rpc,
+        replay: config.replay
+    };
+    return inferredConfig.cloneReadOnly();
+}
+
+isolated function getPingPongService(ClientConfiguration config) returns PingPongService? {
+    var pingPongHandler = config["pingPongHandler"];
+    if pingPongHandler is PingPongService {
+        return pingPongHandler;
+    }
+    return ();
+}
+
+isolated function validateCloseStatusCode(int? statusCode) returns int|Error {
+    if statusCode is () {
+        return 1000;
+    }
+    if statusCode <= 999 || statusCode >= 1004 && statusCode <= 1006 || statusCode >= 1012 &&
+        statusCode <= 2999 || statusCode > 4999 {
+        string errorMessage = "Failed to execute close. Invalid status code: " + statusCode.toString();
+        return error ConnectionClosureError(errorMessage);
+    }
+    return statusCode;
+}
+
 # Adds cookies to the custom header.
 #
 # + config - Represents the cookies to be added
@@ -25,3 +25,12 @@ public type UpgradeService distinct service object {
 # The WebSocket service type to handle ping/pong frames.
 public type PingPongService distinct isolated service object {
 };
+
+# The round trip time of the pings of a connection, which is smoothed over the pongs received.
+#
+# + smoothed - The smoothed round trip time in seconds
+# + variation - The variation of the round trip time in seconds
+public type RoundTripTime record {|
+    decimal smoothed;
+    decimal variation;
+|};
@@ -32,6 +32,8 @@ import org.testng.annotations.Test;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * This is the compiler plugin for Ballerina WebSocket package.
@@ -517,6 +519,40 @@ public class WebSocketServiceValidationTest {
         Assert.assertEquals(diagnosticResult.errorCount(), 0);
     }
 
+    @Test
+    public void testBatchedRemoteFunctions() {
+        Package currentPackage = loadPackage("sample_package_57");
+        PackageCompilation compilation = currentPackage.getCompilation();
+        DiagnosticResult diagnosticResult = compilation.diagnosticResult();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+    }
+
+    @Test
+    public void testInvalidBatchedRemoteFunctions() {
+        Package currentPackage = loadPackage("sample_package_58");
+        PackageCompilation compilation = currentPackage.getCompilation();
+        DiagnosticResult diagnosticResult = compilation.diagnosticResult();
+        Assert.assertEquals(diagnosticResult.errorCount(), 4);
+        List<String> errorCodes = diagnosticResult.errors().stream()
+                .map(diagnostic -> diagnostic.diagnosticInfo().code()).collect(Collectors.toList());
+        Assert.assertTrue(errorCodes.contains(
+                PluginConstants.CompilationErrors.INVALID_INPUT_FOR_BATCH.getErrorCode()));
+        Assert.assertTrue(errorCodes.contains(
+                PluginConstants.CompilationErrors.MISSING_INPUT_FOR_BATCH.getErrorCode()));
+        Assert.assertTrue(errorCodes.contains(
+                PluginConstants.CompilationErrors.INVALID_RETURN_TYPES.getErrorCode()));
+        Assert.assertTrue(errorCodes.contains(
+                PluginConstants.CompilationErrors.INVALID_BATCH_REMOTE_FUNCTIONS.getErrorCode()));
+    }
+
+    @Test
+    public void testStreamedMessages() {
+        Package currentPackage = loadPackage("sample_package_59");
+        PackageCompilation compilation = currentPackage.getCompilation();
+        DiagnosticResult diagnosticResult = compilation.diagnosticResult();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+    }
+
     private void assertDiagnostic(Diagnostic diagnostic, PluginConstants.CompilationErrors error) {
         Assert.assertEquals(diagnostic.diagnosticInfo().code(), error.getErrorCode());
         Assert.assertEquals(diagnostic.diagnosticInfo().messageFormat(),
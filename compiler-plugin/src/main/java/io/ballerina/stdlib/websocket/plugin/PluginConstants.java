@@ -35,6 +35,8 @@ public class PluginConstants {
     static final String ON_TEXT_MESSAGE = "onTextMessage";
     static final String ON_BINARY_MESSAGE = "onBinaryMessage";
     static final String ON_MESSAGE = "onMessage";
+    static final String ON_TEXT_MESSAGES = "onTextMessages";
+    static final String ON_BINARY_MESSAGES = "onBinaryMessages";
     static final String ON_PING_MESSAGE = "onPing";
     static final String ON_PONG_MESSAGE = "onPong";
     static final String REMOTE_KEY_WORD = "remote";
@@ -76,6 +78,9 @@ public class PluginConstants {
                 "WEBSOCKET_215"),
         INVALID_REMOTE_FUNCTIONS("Cannot have `{0}` with `onMessage` remote function",
                 "WEBSOCKET_216"),
+        INVALID_INPUT_FOR_BATCH("Invalid parameters `{0}` provided for `{1}` remote function", "WEBSOCKET_217"),
+        MISSING_INPUT_FOR_BATCH("`{0}` is the mandatory parameter for `{1}` remote function", "WEBSOCKET_218"),
+        INVALID_BATCH_REMOTE_FUNCTIONS("Cannot have `{0}` with `{1}` remote function", "WEBSOCKET_219"),
         INVALID_RESOURCE_ERROR("There should be only one `get` resource for the service",
                 "WEBSOCKET_101"),
         MORE_THAN_ONE_RESOURCE_PARAM_ERROR("There should be only http:Request as a parameter",
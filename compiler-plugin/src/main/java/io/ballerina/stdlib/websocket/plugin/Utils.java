@@ -65,6 +65,8 @@ public class Utils {
     public static final String CALLER = "Caller";
     public static final String CLIENT = "Client";
     public static final String BYTE_ARRAY = "byte[]";
+    public static final String STRING_ARRAY = "string[]";
+    public static final String BYTE_ARRAY_ARRAY = "byte[][]";
     public static final String STRING = "string";
     public static final String INT = "int";
     public static final String ERROR = "Error";
@@ -104,8 +106,22 @@ public class Utils {
 
     public static void validateOnBinaryMessageFunction(FunctionTypeSymbol functionTypeSymbol,
             SyntaxNodeAnalysisContext ctx, FunctionDefinitionNode resourceNode) {
+        validateOnBinaryMessageFunction(functionTypeSymbol, ctx, resourceNode, false);
+    }
+
+    /**
+     * Validates a remote function, which receives binary data.
+     *
+     * @param functionTypeSymbol - the type of the remote function
+     * @param ctx                - the analysis context
+     * @param resourceNode       - the remote function
+     * @param streamAllowed      - whether the data can be received as a `stream<byte[], error?>`
+     */
+    public static void validateOnBinaryMessageFunction(FunctionTypeSymbol functionTypeSymbol,
+            SyntaxNodeAnalysisContext ctx, FunctionDefinitionNode resourceNode, boolean streamAllowed) {
         List<ParameterSymbol> inputParams = functionTypeSymbol.params().get();
-        if (inputParams.size() == 1 && !inputParams.get(0).typeDescriptor().signature().equals(BYTE_ARRAY)) {
+        if (inputParams.size() == 1 && !inputParams.get(0).typeDescriptor().signature().equals(BYTE_ARRAY) &&
+                !(streamAllowed && isContentStream(inputParams.get(0), BYTE_ARRAY))) {
             reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_INPUT_FOR_ON_BINARY_WITH_ONE_PARAMS,
                     resourceNode.location(), resourceNode.location(), inputParams.get(0).typeDescriptor().signature());
         } else {
@@ -114,7 +130,8 @@ public class Utils {
                 String paramSignature = inputParam.typeDescriptor().signature();
                 if (!(paramSignature.equals(BYTE_ARRAY) || paramSignature.equals(moduleId + COLON + CALLER) ||
                         (inputParam.typeDescriptor().typeKind() == TypeDescKind.INTERSECTION &&
-                                paramSignature.contains(BYTE_ARRAY)))) {
+                                paramSignature.contains(BYTE_ARRAY)) ||
+                        (streamAllowed && isContentStream(inputParam, BYTE_ARRAY)))) {
                     reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_INPUT_FOR_ON_BINARY,
                             resourceNode.location(), resourceNode.location(), paramSignature);
                 }
@@ -127,14 +144,16 @@ public class Utils {
     static void validateOnTextMessageFunction(FunctionTypeSymbol functionTypeSymbol, SyntaxNodeAnalysisContext ctx,
                                               FunctionDefinitionNode resourceNode) {
         List<ParameterSymbol> inputParams = functionTypeSymbol.params().get();
-        if (inputParams.size() == 1 && !inputParams.get(0).typeDescriptor().signature().equals(STRING)) {
+        if (inputParams.size() == 1 && !inputParams.get(0).typeDescriptor().signature().equals(STRING) &&
+                !isContentStream(inputParams.get(0), STRING)) {
             reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_INPUT_FOR_ON_TEXT_WITH_ONE_PARAMS,
                     resourceNode.location(), inputParams.get(0).typeDescriptor().signature());
         } else {
             for (ParameterSymbol inputParam : inputParams) {
                 String moduleId = getModuleId(inputParam);
                 String paramSignature = inputParam.typeDescriptor().signature();
-                if (!paramSignature.equals(STRING) && !paramSignature.equals(moduleId + COLON + CALLER)) {
+                if (!paramSignature.equals(STRING) && !paramSignature.equals(moduleId + COLON + CALLER) &&
+                        !isContentStream(inputParam, STRING)) {
                     reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_INPUT_FOR_ON_TEXT,
                             resourceNode.location(), paramSignature);
                 }
@@ -144,6 +163,33 @@ public class Utils {
         validateOnDataReturnTypes(returnStatement, PluginConstants.ON_TEXT_MESSAGE, resourceNode, ctx);
     }
 
+    static void validateOnBatchFunction(FunctionTypeSymbol functionTypeSymbol, SyntaxNodeAnalysisContext ctx,
+                                        FunctionDefinitionNode resourceNode, String functionName, String batchType) {
+        List<ParameterSymbol> inputParams = functionTypeSymbol.params().get();
+        boolean hasBatch = false;
+        for (ParameterSymbol inputParam : inputParams) {
+            String moduleId = getModuleId(inputParam);
+            String paramSignature = inputParam.typeDescriptor().signature();
+            if (paramSignature.equals(batchType) && !hasBatch) {
+                hasBatch = true;
+            } else if (!paramSignature.equals(moduleId + COLON + CALLER)) {
+                reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_INPUT_FOR_BATCH,
+                        resourceNode.location(), paramSignature, functionName);
+            }
+        }
+        if (!hasBatch) {
+            reportDiagnostics(ctx, PluginConstants.CompilationErrors.MISSING_INPUT_FOR_BATCH,
+                    resourceNode.location(), batchType, functionName);
+        }
+        validateErrorReturnTypes(functionTypeSymbol.returnTypeDescriptor().get(), functionName, resourceNode, ctx);
+    }
+
+    // A message can be received as a stream of its frames, which completes with either nil or an error
+    private static boolean isContentStream(ParameterSymbol inputParam, String frameType) {
+        return inputParam.typeDescriptor().typeKind() == TypeDescKind.STREAM &&
+                inputParam.typeDescriptor().signature().replace(" ", "").startsWith("stream<" + frameType + ",");
+    }
+
     public static void validateOnDataReturnTypes(TypeSymbol returnTypeSymbol, String functionName,
             FunctionDefinitionNode resourceNode, SyntaxNodeAnalysisContext ctx) {
         if (returnTypeSymbol.typeKind() == TypeDescKind.UNION) {
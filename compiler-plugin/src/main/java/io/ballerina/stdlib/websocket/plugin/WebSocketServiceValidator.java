@@ -74,12 +74,18 @@ public class WebSocketServiceValidator {
             Utils.reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_REMOTE_FUNCTIONS,
                     classDefNode.location(), PluginConstants.ON_BINARY_MESSAGE);
         }
+        validateBatchFunction(classDefNode, functionSet, PluginConstants.ON_TEXT_MESSAGES,
+                PluginConstants.ON_TEXT_MESSAGE);
+        validateBatchFunction(classDefNode, functionSet, PluginConstants.ON_BINARY_MESSAGES,
+                PluginConstants.ON_BINARY_MESSAGE);
         if (!functionSet.containsKey(PluginConstants.ON_TEXT_MESSAGE) &&
-                !functionSet.containsKey(PluginConstants.ON_MESSAGE)) {
+                !functionSet.containsKey(PluginConstants.ON_MESSAGE) &&
+                !functionSet.containsKey(PluginConstants.ON_TEXT_MESSAGES)) {
             reportDiagnostic(classDefNode, PluginConstants.CompilationErrors.ON_TEXT_GENERATION_HINT);
         }
         if (!functionSet.containsKey(PluginConstants.ON_BINARY_MESSAGE) &&
-                !functionSet.containsKey(PluginConstants.ON_MESSAGE)) {
+                !functionSet.containsKey(PluginConstants.ON_MESSAGE) &&
+                !functionSet.containsKey(PluginConstants.ON_BINARY_MESSAGES)) {
             reportDiagnostic(classDefNode, PluginConstants.CompilationErrors.ON_BINARY_GENERATION_HINT);
         }
         if (!functionSet.containsKey(PluginConstants.ON_CLOSE)) {
@@ -102,11 +108,28 @@ public class WebSocketServiceValidator {
         }
         if (!functionSet.containsKey(PluginConstants.ON_MESSAGE) &&
                 !functionSet.containsKey(PluginConstants.ON_TEXT_MESSAGE) &&
-                !functionSet.containsKey(PluginConstants.ON_BINARY_MESSAGE)) {
+                !functionSet.containsKey(PluginConstants.ON_BINARY_MESSAGE) &&
+                !functionSet.containsKey(PluginConstants.ON_TEXT_MESSAGES) &&
+                !functionSet.containsKey(PluginConstants.ON_BINARY_MESSAGES)) {
             reportDiagnostic(classDefNode, PluginConstants.CompilationErrors.ON_MESSAGE_GENERATION_HINT);
         }
     }
 
+    // A batched remote function receives the messages, which would otherwise be dispatched one by one to either of
+    // the other remote functions
+    private void validateBatchFunction(ClassDefinitionNode classDefNode, Map<String, Boolean> functionSet,
+                                       String batchFunction, String messageFunction) {
+        if (!functionSet.containsKey(batchFunction)) {
+            return;
+        }
+        for (String function : new String[]{messageFunction, PluginConstants.ON_MESSAGE}) {
+            if (functionSet.containsKey(function)) {
+                Utils.reportDiagnostics(ctx, PluginConstants.CompilationErrors.INVALID_BATCH_REMOTE_FUNCTIONS,
+                        classDefNode.location(), batchFunction, function);
+            }
+        }
+    }
+
     private void filterRemoteFunctions(FunctionDefinitionNode functionDefinitionNode) {
         FunctionTypeSymbol functionTypeSymbol = ((MethodSymbol) ctx.semanticModel().symbol(functionDefinitionNode)
                 .get()).typeDescriptor();
@@ -129,9 +152,19 @@ public class WebSocketServiceValidator {
             case PluginConstants.ON_MESSAGE:
                 Utils.validateOnDataFunctions(functionTypeSymbol, ctx, functionDefinitionNode);
                 break;
+            case PluginConstants.ON_TEXT_MESSAGES:
+                Utils.validateOnBatchFunction(functionTypeSymbol, ctx, functionDefinitionNode,
+                        PluginConstants.ON_TEXT_MESSAGES, Utils.STRING_ARRAY);
+                break;
+            case PluginConstants.ON_BINARY_MESSAGES:
+                Utils.validateOnBatchFunction(functionTypeSymbol, ctx, functionDefinitionNode,
+                        PluginConstants.ON_BINARY_MESSAGES, Utils.BYTE_ARRAY_ARRAY);
+                break;
+            case PluginConstants.ON_BINARY_MESSAGE:
+                Utils.validateOnBinaryMessageFunction(functionTypeSymbol, ctx, functionDefinitionNode, true);
+                break;
             case PluginConstants.ON_PING_MESSAGE:
             case PluginConstants.ON_PONG_MESSAGE:
-            case PluginConstants.ON_BINARY_MESSAGE:
                 Utils.validateOnBinaryMessageFunction(functionTypeSymbol, ctx, functionDefinitionNode);
                 break;
             default:
@@ -127,7 +127,16 @@ public class WebSocketUpgradeServiceValidator {
                                     Utils.validateOnTextMessageFunction(symbol.typeDescriptor(), ctx, resourceNode);
                                     break;
                                 case PluginConstants.ON_BINARY_MESSAGE:
-                                    Utils.validateOnBinaryMessageFunction(symbol.typeDescriptor(), ctx, resourceNode);
+                                    Utils.validateOnBinaryMessageFunction(symbol.typeDescriptor(), ctx, resourceNode,
+                                            true);
+                                    break;
+                                case PluginConstants.ON_TEXT_MESSAGES:
+                                    Utils.validateOnBatchFunction(symbol.typeDescriptor(), ctx, resourceNode,
+                                            PluginConstants.ON_TEXT_MESSAGES, Utils.STRING_ARRAY);
+                                    break;
+                                case PluginConstants.ON_BINARY_MESSAGES:
+                                    Utils.validateOnBatchFunction(symbol.typeDescriptor(), ctx, resourceNode,
+                                            PluginConstants.ON_BINARY_MESSAGES, Utils.BYTE_ARRAY_ARRAY);
                                     break;
                                 default:
                                     reportInvalidFunction(resourceNode);
@@ -0,0 +1,253 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.channel.EventLoop;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Hands the frames of a message to a remote function as a stream while the message is being received. A frame is
+ * read from the connection only once the stream asks for it, hence a single frame of the message is held in memory
+ * at a time. If the remote function returns before the stream ends, the rest of the message is read and discarded.
+ * A binary message, which has already been received and spilled to a file, is handed over in chunks read from the
+ * file instead. The state of the stream is confined to the event loop of the connection.
+ *
+ */
+public class ContentStream {
+
+    private static final String BINARY_CONTENT_ITERATOR = "BinaryContentIterator";
+    private static final String TEXT_CONTENT_ITERATOR = "TextContentIterator";
+    private static final int CONTENT_CHUNK_SIZE = 65536;
+
+    private final WebSocketConnectionInfo connectionInfo;
+    private final WebSocketConnection webSocketConnection;
+    private final EventLoop eventLoop;
+    private final boolean binary;
+    private final InputStream content;
+    private BStream stream;
+    private Object buffered;
+    private Future pending = null;
+    private boolean reading = false;
+    private boolean ended = false;
+    private boolean abandoned = false;
+    private boolean closed = false;
+
+    private ContentStream(WebSocketConnectionInfo connectionInfo, WebSocketConnection webSocketConnection,
+                          boolean binary, Object firstFrame, boolean finalFrame, InputStream content) {
+        this.connectionInfo = connectionInfo;
+        this.webSocketConnection = webSocketConnection;
+        this.eventLoop = webSocketConnection.getChannel().eventLoop();
+        this.binary = binary;
+        this.buffered = firstFrame;
+        this.ended = finalFrame;
+        this.content = content;
+    }
+
+    /**
+     * Starts the stream of a message with its first frame. The connection hands the rest of the frames of the message
+     * to the stream until its final frame is received. This should be called in the event loop.
+     *
+     * @param connectionInfo      - the connection
+     * @param webSocketConnection - the transport connection
+     * @param streamType          - the type of the stream parameter of the remote function
+     * @param firstFrame          - the text or the bytes of the first frame
+     * @param finalFrame          - whether the first frame is the final frame of the message
+     * @return the stream of the message
+     */
+    static ContentStream start(WebSocketConnectionInfo connectionInfo, WebSocketConnection webSocketConnection,
+                               Type streamType, Object firstFrame, boolean finalFrame) {
+        boolean binary = firstFrame instanceof byte[];
+        ContentStream contentStream = new ContentStream(connectionInfo, webSocketConnection, binary, firstFrame,
+                finalFrame, null);
+        contentStream.createStream(streamType);
+        if (!finalFrame) {
+            connectionInfo.setContentStream(contentStream);
+        }
+        return contentStream;
+    }
+
+    /**
+     * Starts the stream of a binary message, which has been received as a whole. The message is read from the given
+     * content in chunks as the stream asks for them, and the content is closed once the remote function returns.
+     *
+     * @param connectionInfo      - the connection
+     * @param webSocketConnection - the transport connection
+     * @param streamType          - the type of the stream parameter of the remote function
+     * @param content             - the content of the message
+     * @return the stream of the message
+     */
+    static ContentStream start(WebSocketConnectionInfo connectionInfo, WebSocketConnection webSocketConnection,
+                               Type streamType, InputStream content) {
+        ContentStream contentStream = new ContentStream(connectionInfo, webSocketConnection, true, null, false,
+                content);
+        contentStream.createStream(streamType);
+        return contentStream;
+    }
+
+    private void createStream(Type streamType) {
+        BObject iterator = ValueCreator.createObjectValue(ModuleUtils.getWebsocketModule(),
+                binary ? BINARY_CONTENT_ITERATOR : TEXT_CONTENT_ITERATOR);
+        iterator.addNativeData(WebSocketConstants.CONTENT_STREAM, this);
+        stream = ValueCreator.createStreamValue(streamType, iterator);
+    }
+
+    BStream getStream() {
+        return stream;
+    }
+
+    /**
+     * Gives the next frame of the message to the stream.
+     *
+     * @param env      - the environment
+     * @param iterator - the iterator of the stream
+     * @return the frame, `()` once the message ends or an error if the connection is closed
+     */
+    public static Object next(Environment env, BObject iterator) {
+        ContentStream contentStream = (ContentStream) iterator.getNativeData(WebSocketConstants.CONTENT_STREAM);
+        Future future = env.markAsync();
+        contentStream.eventLoop.execute(() -> contentStream.next(future));
+        return null;
+    }
+
+    private void next(Future future) {
+        if (content != null) {
+            nextChunk(future);
+        } else if (buffered != null) {
+            Object frame = buffered;
+            buffered = null;
+            future.complete(toBValue(frame));
+        } else if (ended) {
+            future.complete(null);
+        } else if (closed) {
+            future.complete(WebSocketUtil.createWebsocketError("Connection closed before the message is received",
+                    WebSocketConstants.ErrorCode.ConnectionClosureError));
+        } else {
+            pending = future;
+            read();
+        }
+    }
+
+    private void nextChunk(Future future) {
+        if (ended) {
+            future.complete(null);
+            return;
+        }
+        try {
+            byte[] chunk = content.readNBytes(CONTENT_CHUNK_SIZE);
+            if (chunk.length == 0) {
+                ended = true;
+                future.complete(null);
+            } else {
+                future.complete(ValueCreator.createArrayValue(chunk));
+            }
+        } catch (IOException e) {
+            ended = true;
+            future.complete(WebSocketUtil.createWebsocketError("Failed to read the message: " + e.getMessage(),
+                    WebSocketConstants.ErrorCode.Error));
+        }
+    }
+
+    /**
+     * Hands a frame of the message to the stream. This is called in the event loop once the frame is received.
+     *
+     * @param frame      - the text or the bytes of the frame
+     * @param finalFrame - whether this is the final frame of the message
+     */
+    void onFrame(Object frame, boolean finalFrame) {
+        reading = false;
+        if (finalFrame) {
+            ended = true;
+            connectionInfo.setContentStream(null);
+        }
+        if (abandoned) {
+            // The remote function is done with the message, hence the reading continues until the next message
+            webSocketConnection.readNextFrame();
+            return;
+        }
+        if (pending != null) {
+            Future future = pending;
+            pending = null;
+            future.complete(toBValue(frame));
+        } else {
+            buffered = frame;
+        }
+    }
+
+    /**
+     * Reads the rest of the message once the remote function returns. The next message is read once this message
+     * ends. This should be called in the event loop.
+     */
+    void onDispatchCompleted() {
+        if (content != null) {
+            // The message has already been received, hence only the file of the message is released
+            ended = true;
+            try {
+                content.close();
+            } catch (IOException e) {
+                // Ignore as the content is not read any longer
+            }
+            webSocketConnection.readNextFrame();
+            return;
+        }
+        buffered = null;
+        if (ended) {
+            webSocketConnection.readNextFrame();
+            return;
+        }
+        abandoned = true;
+        read();
+    }
+
+    /**
+     * Fails the stream as the connection is closed before the message ends.
+     */
+    public void onClose() {
+        eventLoop.execute(() -> {
+            closed = true;
+            if (pending != null) {
+                Future future = pending;
+                pending = null;
+                next(future);
+            }
+        });
+    }
+
+    private void read() {
+        if (!reading) {
+            reading = true;
+            webSocketConnection.readNextFrame();
+        }
+    }
+
+    private Object toBValue(Object frame) {
+        return binary ? ValueCreator.createArrayValue((byte[]) frame) : StringUtils.fromString((String) frame);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.netty.channel.EventLoop;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pipelines the messages of a connection, which are dispatched to isolated remote functions. Up to the size of the
+ * window, the next frame is read while the messages dispatched earlier are still being processed. The results are
+ * written in the order the messages arrived, hence a result, which completes early, waits for the results before it.
+ * The reading is paused while the window is full. A remote function, which is not pipelined, runs only once the
+ * messages in the window are completed, so that its result is not written before theirs. The state of the window is
+ * confined to the event loop of the connection.
+ *
+ */
+public class DispatchWindow {
+
+    private final WebSocketConnection webSocketConnection;
+    private final EventLoop eventLoop;
+    private final int size;
+    private final Deque<Dispatch> dispatches = new ArrayDeque<>();
+    private final Deque<Runnable> deferred = new ArrayDeque<>();
+    private boolean paused = false;
+
+    public DispatchWindow(WebSocketConnection webSocketConnection, int size) {
+        this.webSocketConnection = webSocketConnection;
+        this.eventLoop = webSocketConnection.getChannel().eventLoop();
+        this.size = size;
+    }
+
+    /**
+     * Adds a message to the window. This should be called in the event loop when the message is dispatched.
+     *
+     * @param resultCallback - the callback, which writes the result of the message without reading the next frame
+     * @return the callback of the dispatch
+     */
+    Callback dispatch(WebSocketResourceCallback resultCallback) {
+        Dispatch dispatch = new Dispatch(resultCallback);
+        dispatches.add(dispatch);
+        if (dispatches.size() < size) {
+            // The next frame is read once the dispatching of the current frame is done
+            eventLoop.execute(webSocketConnection::readNextFrame);
+        } else {
+            paused = true;
+        }
+        return dispatch;
+    }
+
+    /**
+     * Runs the invocation of a remote function, which is not pipelined, once the messages in the window are
+     * completed.
+     *
+     * @param invocation - the invocation of the remote function
+     */
+    void execute(Runnable invocation) {
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> execute(invocation));
+            return;
+        }
+        if (dispatches.isEmpty()) {
+            invocation.run();
+        } else {
+            deferred.add(invocation);
+        }
+    }
+
+    /**
+     * Checks whether the given callback is of a message in the window.
+     *
+     * @param callback - the callback of a dispatch
+     * @return true if the callback is of a message pipelined by a window
+     */
+    static boolean isPipelined(Callback callback) {
+        return callback instanceof Dispatch;
+    }
+
+    private void complete(Dispatch dispatch, Object result) {
+        dispatch.result = result;
+        dispatch.completed = true;
+        while (!dispatches.isEmpty() && dispatches.peek().completed) {
+            Dispatch head = dispatches.poll();
+            if (!head.failed) {
+                head.resultCallback.notifySuccess(head.result);
+            }
+        }
+        if (dispatches.isEmpty()) {
+            while (!deferred.isEmpty()) {
+                deferred.poll().run();
+            }
+        }
+        if (paused && dispatches.size() < size) {
+            paused = false;
+            webSocketConnection.readNextFrame();
+        }
+    }
+
+    /**
+     * A message in the window.
+     */
+    private class Dispatch implements Callback {
+        private final WebSocketResourceCallback resultCallback;
+        private Object result;
+        private boolean completed = false;
+        private boolean failed = false;
+
+        Dispatch(WebSocketResourceCallback resultCallback) {
+            this.resultCallback = resultCallback;
+        }
+
+        @Override
+        public void notifySuccess(Object result) {
+            eventLoop.execute(() -> complete(this, result));
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            // The connection is closed right away, and the message is taken out of the window once the messages
+            // before it are completed
+            eventLoop.execute(() -> {
+                failed = true;
+                resultCallback.notifyFailure(error);
+                complete(this, null);
+            });
+        }
+    }
+}
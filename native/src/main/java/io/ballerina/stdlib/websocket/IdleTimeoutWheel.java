@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket;
+
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timing wheel, which fires the idle, read and write timeouts of the connections of an event loop. There is a
+ * single wheel per event loop, which ticks only while it has timeouts. A timeout records the time of the last
+ * activity of its connection instead of being rescheduled, hence touching it is a single write. The deadline is
+ * checked once the timeout comes up in the wheel and the timeout is moved further down the wheel if its connection
+ * has been active since.
+ *
+ */
+public class IdleTimeoutWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdleTimeoutWheel.class);
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    // Number of slots in the wheel, which is a power of two
+    private static final int WHEEL_SIZE = 512;
+    private static final FastThreadLocal<IdleTimeoutWheel> WHEELS = new FastThreadLocal<>();
+
+    private final EventLoop eventLoop;
+    @SuppressWarnings(WebSocketConstants.UNCHECKED)
+    private final Deque<Timeout>[] slots = new Deque[WHEEL_SIZE];
+    private long currentTick = 0;
+    private long nextTickTime;
+    private int timeoutCount = 0;
+    private ScheduledFuture<?> ticker;
+
+    private IdleTimeoutWheel(EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Schedules a timeout in the wheel of an event loop. The timeout is fired in the event loop.
+     *
+     * @param eventLoop       - the event loop of the connection
+     * @param timeoutInMillis - the time the connection may stay inactive
+     * @param onTimeout       - the task run once the timeout fires
+     * @param repeat          - whether the timeout fires again for each inactive period after it has fired
+     * @return the timeout
+     */
+    public static Timeout schedule(EventLoop eventLoop, long timeoutInMillis, Runnable onTimeout, boolean repeat) {
+        Timeout timeout = new Timeout(TimeUnit.MILLISECONDS.toNanos(timeoutInMillis), onTimeout, repeat);
+        if (eventLoop.inEventLoop()) {
+            getWheel(eventLoop).add(timeout);
+        } else {
+            eventLoop.execute(() -> getWheel(eventLoop).add(timeout));
+        }
+        return timeout;
+    }
+
+    private static IdleTimeoutWheel getWheel(EventLoop eventLoop) {
+        IdleTimeoutWheel wheel = WHEELS.get();
+        if (wheel == null) {
+            wheel = new IdleTimeoutWheel(eventLoop);
+            WHEELS.set(wheel);
+        }
+        return wheel;
+    }
+
+    private void add(Timeout timeout) {
+        if (timeout.cancelled) {
+            return;
+        }
+        if (ticker == null) {
+            nextTickTime = System.nanoTime() + TICK_NANOS;
+            ticker = eventLoop.scheduleAtFixedRate(this::tick, TICK_NANOS, TICK_NANOS, TimeUnit.NANOSECONDS);
+        }
+        timeoutCount++;
+        place(timeout, timeout.lastActivity + timeout.timeoutNanos, System.nanoTime());
+    }
+
+    private void place(Timeout timeout, long deadline, long now) {
+        long ticks = Math.max(1, (deadline - now + TICK_NANOS - 1) / TICK_NANOS);
+        // A deadline beyond a full turn is checked when the slot comes up and placed again
+        slots[(int) ((currentTick + Math.min(ticks, WHEEL_SIZE - 1)) & (WHEEL_SIZE - 1))].add(timeout);
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        while (nextTickTime <= now) {
+            currentTick++;
+            nextTickTime += TICK_NANOS;
+            Deque<Timeout> slot = slots[(int) (currentTick & (WHEEL_SIZE - 1))];
+            for (int i = slot.size(); i > 0; i--) {
+                expire(slot.poll(), now);
+            }
+        }
+        if (timeoutCount == 0) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void expire(Timeout timeout, long now) {
+        if (timeout.cancelled) {
+            timeoutCount--;
+            return;
+        }
+        long deadline = timeout.lastActivity + timeout.timeoutNanos;
+        if (deadline > now) {
+            place(timeout, deadline, now);
+            return;
+        }
+        try {
+            timeout.onTimeout.run();
+        } catch (RuntimeException e) {
+            logger.error("Error occurred when firing the timeout", e);
+        }
+        if (timeout.repeat && !timeout.cancelled) {
+            // The task may record a later activity, such as the start of the oldest write still in progress
+            if (timeout.lastActivity + timeout.timeoutNanos <= now) {
+                timeout.lastActivity = now;
+            }
+            place(timeout, timeout.lastActivity + timeout.timeoutNanos, now);
+        } else {
+            timeoutCount--;
+        }
+    }
+
+    /**
+     * A timeout of a connection in the wheel.
+     */
+    public static class Timeout {
+        private final long timeoutNanos;
+        private final Runnable onTimeout;
+        private final boolean repeat;
+        private volatile long lastActivity = System.nanoTime();
+        private volatile boolean cancelled = false;
+
+        Timeout(long timeoutNanos, Runnable onTimeout, boolean repeat) {
+            this.timeoutNanos = timeoutNanos;
+            this.onTimeout = onTimeout;
+            this.repeat = repeat;
+        }
+
+        /**
+         * Records an activity of the connection, which starts the inactive period over.
+         */
+        public void touch() {
+            lastActivity = System.nanoTime();
+        }
+
+        /**
+         * Records an activity of the connection at a given time, which starts the inactive period from that time.
+         *
+         * @param activityTime - the time of the activity as given by {@link System#nanoTime()}
+         */
+        public void touch(long activityTime) {
+            lastActivity = activityTime;
+        }
+
+        /**
+         * Cancels the timeout. The timeout is dropped from the wheel once it comes up.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gathers the messages of a connection into batches, which are dispatched to the `onTextMessages` and
+ * `onBinaryMessages` remote functions in a single invocation each. A batch is dispatched once it reaches the maximum
+ * number of messages or bytes or once it has lingered for the given time after its first message. With a linger time
+ * of zero, a message is dispatched as soon as it is read if no batch is being processed, otherwise the messages read
+ * meanwhile are dispatched together once the processing completes. The frames are read while the previous batch is
+ * being processed, up to one more full batch. The state of the batcher is confined to the event loop of the
+ * connection.
+ *
+ */
+public class MessageBatcher {
+
+    private static final ArrayType BINARY_BATCH_TYPE = TypeCreator.createArrayType(
+            TypeCreator.createArrayType(PredefinedTypes.TYPE_BYTE));
+
+    private final WebSocketConnectionInfo connectionInfo;
+    private final WebSocketConnection webSocketConnection;
+    private final EventLoop eventLoop;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final long lingerNanos;
+    private final Deque<Batch> readyBatches = new ArrayDeque<>();
+    private Batch batch = null;
+    private ScheduledFuture<?> lingerTask = null;
+    private boolean dispatching = false;
+    private boolean paused = false;
+
+    public MessageBatcher(WebSocketConnectionInfo connectionInfo, WebSocketConnection webSocketConnection,
+                          int maxMessages, long maxBytes, long lingerNanos) {
+        this.connectionInfo = connectionInfo;
+        this.webSocketConnection = webSocketConnection;
+        this.eventLoop = webSocketConnection.getChannel().eventLoop();
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.lingerNanos = lingerNanos;
+    }
+
+    /**
+     * Adds a text message to the batch. This should be called in the event loop once the final fragment is read.
+     *
+     * @param text - the text message
+     */
+    void add(String text) {
+        add(StringUtils.fromString(text), ByteBufUtil.utf8Bytes(text), false);
+    }
+
+    /**
+     * Adds a binary message to the batch. This should be called in the event loop once the final fragment is read.
+     *
+     * @param binary - the binary message
+     */
+    void add(byte[] binary) {
+        add(ValueCreator.createArrayValue(binary), binary.length, true);
+    }
+
+    private void add(Object message, long size, boolean binary) {
+        if (batch != null && batch.binary != binary) {
+            flush();
+        }
+        if (batch == null) {
+            batch = new Batch(binary);
+            if (lingerNanos > 0) {
+                lingerTask = eventLoop.schedule(this::flush, lingerNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        batch.messages.add(message);
+        batch.bytes += size;
+        // Without a linger time, the batch is dispatched right away instead of through a task on the event loop
+        if (batch.messages.size() >= maxMessages || batch.bytes >= maxBytes || (lingerNanos <= 0 && !dispatching)) {
+            flush();
+        }
+        if (dispatching && !readyBatches.isEmpty()) {
+            paused = true;
+        } else {
+            webSocketConnection.readNextFrame();
+        }
+    }
+
+    /**
+     * Dispatches the messages gathered so far. This is called when the connection is closing so that the messages are
+     * dispatched before `onClose`.
+     */
+    public void flush() {
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(this::flush);
+            return;
+        }
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        if (batch == null) {
+            return;
+        }
+        readyBatches.add(batch);
+        batch = null;
+        dispatchNext();
+    }
+
+    private void dispatchNext() {
+        if (dispatching || readyBatches.isEmpty()) {
+            return;
+        }
+        Batch next = readyBatches.poll();
+        BArray messages;
+        if (next.binary) {
+            messages = ValueCreator.createArrayValue(next.messages.toArray(), BINARY_BATCH_TYPE);
+        } else {
+            messages = ValueCreator.createArrayValue(next.messages.toArray(new BString[0]));
+        }
+        dispatching = true;
+        WebSocketResourceDispatcher.dispatchOnMessages(connectionInfo, messages, next.binary, new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+                eventLoop.execute(MessageBatcher.this::complete);
+            }
+
+            @Override
+            public void notifyFailure(BError error) {
+                eventLoop.execute(MessageBatcher.this::complete);
+            }
+        });
+    }
+
+    private void complete() {
+        dispatching = false;
+        dispatchNext();
+        if (lingerNanos <= 0 && !dispatching) {
+            // The messages read while the previous batch was processed do not wait for another message
+            flush();
+        }
+        if (paused && (!dispatching || readyBatches.isEmpty())) {
+            paused = false;
+            webSocketConnection.readNextFrame();
+        }
+    }
+
+    /**
+     * The messages of a batch, which are either all text or all binary.
+     */
+    private static class Batch {
+        private final boolean binary;
+        private final List<Object> messages = new ArrayList<>();
+        private long bytes = 0;
+
+        Batch(boolean binary) {
+            this.binary = binary;
+        }
+    }
+}
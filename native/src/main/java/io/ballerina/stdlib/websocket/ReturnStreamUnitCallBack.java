@@ -67,7 +67,7 @@ public class ReturnStreamUnitCallBack implements Callback {
             String content;
             if (response instanceof BError) {
                 content = ((BError) response).getMessage();
-                webSocketConnection.terminateConnection(1011,
+                WebSocketUtil.terminateConnection(connectionInfo, webSocketConnection, 1011,
                         String.format("streaming failed: %s", content));
             } else {
                 content = ((BMap) response).get(StringUtils.fromString("value")).toString();
@@ -83,7 +83,7 @@ public class ReturnStreamUnitCallBack implements Callback {
     @Override
     public void notifyFailure(BError bError) {
         bError.printStackTrace();
-        WebSocketUtil.closeDuringUnexpectedCondition(webSocketConnection);
+        WebSocketUtil.closeDuringUnexpectedCondition(connectionInfo, webSocketConnection);
     }
 
     private void sendTextMessageStream(BString result, PromiseCombiner promiseCombiner) {
@@ -114,6 +114,7 @@ public class ReturnStreamUnitCallBack implements Callback {
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) channelFuture -> {
                         if (channelFuture.isSuccess()) {
+                            connectionInfo.touchOnWrite();
                             WebSocketObservabilityUtil
                                     .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_TEXT, connectionInfo);
                         } else {
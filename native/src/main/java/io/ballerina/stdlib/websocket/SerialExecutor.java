@@ -0,0 +1,106 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket;
+
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.values.BError;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+/**
+ * Runs the remote functions of a connection one at a time in the order they are dispatched, without holding the lock
+ * of the non-isolated code. The remote functions of different connections run in parallel. A remote function is
+ * invoked once the remote function dispatched before it completes. Hence this is safe for the remote functions, which
+ * are not isolated, only if the service object of a connection is not shared with the other connections and the
+ * remote functions do not access mutable module-level state.
+ *
+ */
+public class SerialExecutor {
+
+    private final Queue<Invocation> invocations = new ArrayDeque<>();
+    private boolean running = false;
+
+    /**
+     * Runs a remote function once the remote functions dispatched before it complete.
+     *
+     * @param callback - the callback of the remote function
+     * @param invoker  - invokes the remote function with the given callback
+     */
+    void execute(Callback callback, Consumer<Callback> invoker) {
+        Invocation invocation = new Invocation(callback, invoker);
+        synchronized (this) {
+            if (running) {
+                invocations.add(invocation);
+                return;
+            }
+            running = true;
+        }
+        invocation.run();
+    }
+
+    private void runNext() {
+        Invocation invocation;
+        synchronized (this) {
+            invocation = invocations.poll();
+            if (invocation == null) {
+                running = false;
+                return;
+            }
+        }
+        invocation.run();
+    }
+
+    /**
+     * A remote function in the queue of the connection.
+     */
+    private class Invocation implements Callback {
+        private final Callback callback;
+        private final Consumer<Callback> invoker;
+
+        Invocation(Callback callback, Consumer<Callback> invoker) {
+            this.callback = callback;
+            this.invoker = invoker;
+        }
+
+        void run() {
+            invoker.accept(this);
+        }
+
+        @Override
+        public void notifySuccess(Object result) {
+            try {
+                callback.notifySuccess(result);
+            } finally {
+                runNext();
+            }
+        }
+
+        @Override
+        public void notifyFailure(BError error) {
+            try {
+                callback.notifyFailure(error);
+            } finally {
+                runNext();
+            }
+        }
+    }
+}
@@ -48,15 +48,37 @@ public class WebSocketConstants {
     public static final BString ANNOTATION_ATTR_READ_IDLE_TIMEOUT = StringUtils.fromString("readTimeout");
     public static final BString ANNOTATION_ATTR_TIMEOUT = StringUtils.fromString("timeout");
     public static final BString ANNOTATION_ATTR_MAX_FRAME_SIZE = StringUtils.fromString("maxFrameSize");
+    public static final BString ANNOTATION_ATTR_MAX_MESSAGE_SIZE = StringUtils.fromString("maxMessageSize");
     public static final BString ANNOTATION_ATTR_VALIDATION_ENABLED = StringUtils.fromString("validation");
+    public static final BString ANNOTATION_ATTR_RESUMPTION = StringUtils.fromString("resumption");
+    public static final BString ANNOTATION_ATTR_RATE_LIMIT = StringUtils.fromString("rateLimit");
+    public static final BString ANNOTATION_ATTR_MAX_CONNECTIONS = StringUtils.fromString("maxConnections");
+    public static final BString ANNOTATION_ATTR_AUTH_CACHE = StringUtils.fromString("authCache");
+    public static final BString ANNOTATION_ATTR_DISPATCH_WINDOW = StringUtils.fromString("dispatchWindow");
+    public static final BString ANNOTATION_ATTR_DISPATCH_MODE = StringUtils.fromString("dispatchMode");
+    public static final BString ANNOTATION_ATTR_BATCH = StringUtils.fromString("batch");
+    public static final BString ANNOTATION_ATTR_SPILL_THRESHOLD = StringUtils.fromString("spillThreshold");
+    public static final String AUTH_CACHE = "authCache";
+    public static final String AUTH_HANDLERS = "authHandlers";
+    public static final String RESUME_TOKEN_HEADER = "x-websocket-resume-token";
+    public static final String RESUME_TOKEN = "resumeToken";
+    public static final String DETACHED_SESSION = "detachedSession";
+    public static final String ADMISSION_RESERVATION = "admissionReservation";
+
+    public static final String ROUND_TRIP_TIME = "RoundTripTime";
+    public static final BString ROUND_TRIP_TIME_SMOOTHED = StringUtils.fromString("smoothed");
+    public static final BString ROUND_TRIP_TIME_VARIATION = StringUtils.fromString("variation");
 
     public static final BString RETRY_CONFIG = StringUtils.fromString("retryConfig");
     public static final String LOG_MESSAGE = "{} {}";
     public static final int STATUS_CODE_ABNORMAL_CLOSURE = 1006;
+    public static final int STATUS_CODE_MESSAGE_TOO_BIG = 1009;
 
     public static final String RESOURCE_NAME_ON_OPEN = "onOpen";
     public static final String RESOURCE_NAME_ON_TEXT_MESSAGE = "onTextMessage";
     public static final String RESOURCE_NAME_ON_BINARY_MESSAGE = "onBinaryMessage";
+    public static final String RESOURCE_NAME_ON_TEXT_MESSAGES = "onTextMessages";
+    public static final String RESOURCE_NAME_ON_BINARY_MESSAGES = "onBinaryMessages";
     public static final String RESOURCE_NAME_ON_MESSAGE = "onMessage";
     public static final String RESOURCE_NAME_ON_PING = "onPing";
     public static final String RESOURCE_NAME_ON_PONG = "onPong";
@@ -68,16 +90,22 @@ public class WebSocketConstants {
     public static final String RESOURCE_NAME_PONG = "pong";
     public static final String WRITE_BINARY_MESSAGE = "writeBinaryMessage";
     public static final String WRITE_TEXT_MESSAGE = "writeTextMessage";
+    public static final String WRITE_BINARY_STREAM = "writeBinaryStream";
+    public static final String WRITE_FILE = "writeFile";
     public static final String RESOURCE_NAME_UPGRADE = "onUpgrade";
 
     public static final String NATIVE_DATA_WEBSOCKET_CONNECTION_INFO = "NATIVE_DATA_WEBSOCKET_CONNECTION_INFO";
     public static final String NATIVE_DATA_BASE_PATH = "BASE_PATH";
     public static final String NATIVE_DATA_MAX_FRAME_SIZE = "MAX_FRAME_SIZE";
+    public static final String NATIVE_DATA_MAX_MESSAGE_SIZE = "MAX_MESSAGE_SIZE";
+    public static final String CONTENT_STREAM = "CONTENT_STREAM";
 
     public static final BString CLIENT_URL_CONFIG = StringUtils.fromString("url");
     public static final BString SYNC_CLIENT_SERVICE_CONFIG = StringUtils.fromString("pingPongService");
     public static final BString CUSTOM_HEADERS = StringUtils.fromString("customHeaders");
     public static final String SYNC_CLIENT = "Client";
+    public static final String ASYNC_CLIENT = "AsyncClient";
+    public static final String FAILOVER_CLIENT = "FailoverClient";
 
     public static final String CLIENT_LISTENER = "clientListener";
     public static final String CLIENT_CONNECTOR = "clientConnector";
@@ -87,6 +115,9 @@ public class WebSocketConstants {
     public static final String CONSTRAINT_VALIDATION = "validation";
     public static final String CONNECTOR_FACTORY = "connectorFactory";
     public static final String FAILOVER_WEBSOCKET_CLIENT = "WebSocketFailoverClient";
+    public static final BString CLIENT_TARGET_URLS_CONFIG = StringUtils.fromString("targetUrls");
+    public static final String FAILOVER_CONTEXT = "failoverContext";
+    public static final String REPLAY_BUFFER = "replayBuffer";
     public static final BString ENDPOINT_CONFIG_SECURE_SOCKET = StringUtils.fromString("secureSocket");
     public static final BString CLIENT_HANDSHAKE_TIMEOUT = StringUtils.fromString("handShakeTimeout");
     public static final BString CLIENT_WRITE_TIMEOUT = StringUtils.fromString("writeTimeout");
@@ -58,14 +58,25 @@ public class WebSocketResourceCallback implements Callback {
     private final WebSocketConnectionInfo connectionInfo;
     private final String resource;
     private final Runtime runtime;
+    private final boolean readsNextFrame;
     private static final Logger log = LoggerFactory.getLogger(WebSocketResourceCallback.class);
 
     WebSocketResourceCallback(WebSocketConnectionInfo webSocketConnectionInfo, String resource, Runtime runtime)
             throws IllegalAccessException {
+        this(webSocketConnectionInfo, resource, runtime, true);
+    }
+
+    /**
+     * @param readsNextFrame - whether the next frame is read once the result is written. The frames of a connection
+     *                       with a dispatch window are read by the window instead
+     */
+    WebSocketResourceCallback(WebSocketConnectionInfo webSocketConnectionInfo, String resource, Runtime runtime,
+                              boolean readsNextFrame) throws IllegalAccessException {
         this.runtime = runtime;
         this.connectionInfo = webSocketConnectionInfo;
         this.webSocketConnection = connectionInfo.getWebSocketConnection();
         this.resource = resource;
+        this.readsNextFrame = readsNextFrame;
     }
 
     @Override
@@ -86,7 +97,7 @@ public class WebSocketResourceCallback implements Callback {
             runtime.invokeMethodAsyncConcurrently(bObject, STREAMING_NEXT_FUNCTION, null,
                     null, returnStreamUnitCallBack, null, PredefinedTypes.TYPE_NULL);
         } else if (result == null) {
-            webSocketConnection.readNextFrame();
+            readNextFrame();
         } else if (resource.equals(WebSocketConstants.RESOURCE_NAME_ON_TEXT_MESSAGE) ||
                 resource.equals(WebSocketConstants.RESOURCE_NAME_ON_MESSAGE)) {
             sendTextMessage(StringUtils.fromString(result.toString()), promiseCombiner);
@@ -103,7 +114,8 @@ public class WebSocketResourceCallback implements Callback {
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) future -> {
                         if (future.isSuccess()) {
-                            webSocketConnection.readNextFrame();
+                            connectionInfo.touchOnWrite();
+                            readNextFrame();
                         } else {
                             dispatchOnError(connectionInfo, future.cause(), connectionInfo.getWebSocketEndpoint()
                                     .get(WebSocketConstants.INITIALIZED_BY_SERVICE).equals(true));
@@ -146,9 +158,10 @@ public class WebSocketResourceCallback implements Callback {
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) future -> {
                         if (future.isSuccess()) {
+                            connectionInfo.touchOnWrite();
                             WebSocketObservabilityUtil
                                     .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, connectionInfo);
-                            webSocketConnection.readNextFrame();
+                            readNextFrame();
                         } else {
                             dispatchOnError(connectionInfo, future.cause(), true);
                         }
@@ -190,9 +203,10 @@ public class WebSocketResourceCallback implements Callback {
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) channelFuture -> {
                         if (channelFuture.isSuccess()) {
+                            connectionInfo.touchOnWrite();
                             WebSocketObservabilityUtil
                                     .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_TEXT, connectionInfo);
-                            webSocketConnection.readNextFrame();
+                            readNextFrame();
                         } else {
                             dispatchOnError(connectionInfo, future.cause(), true);
                         }
@@ -206,10 +220,16 @@ public class WebSocketResourceCallback implements Callback {
         }
     }
 
+    private void readNextFrame() {
+        if (readsNextFrame) {
+            webSocketConnection.readNextFrame();
+        }
+    }
+
     @Override
     public void notifyFailure(BError error) {
         error.printStackTrace();
-        WebSocketUtil.closeDuringUnexpectedCondition(webSocketConnection);
+        WebSocketUtil.closeDuringUnexpectedCondition(connectionInfo, webSocketConnection);
         observeError(connectionInfo, WebSocketObservabilityConstants.ERROR_TYPE_RESOURCE_INVOCATION, resource,
                 error.getMessage());
     }
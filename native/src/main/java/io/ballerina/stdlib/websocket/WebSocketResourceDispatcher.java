@@ -60,11 +60,13 @@ import io.ballerina.stdlib.http.transport.message.HttpCarbonRequest;
 import io.ballerina.stdlib.http.uri.URIUtil;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
 import io.ballerina.stdlib.websocket.observability.WebSocketObserverContext;
+import io.ballerina.stdlib.websocket.server.MessageTooLargeException;
 import io.ballerina.stdlib.websocket.server.OnUpgradeResourceCallback;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionManager;
 import io.ballerina.stdlib.websocket.server.WebSocketServerService;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.handler.codec.http.HttpHeaders;
 import org.ballerinalang.langlib.value.CloneReadOnly;
@@ -133,7 +135,7 @@ public class WebSocketResourceDispatcher {
         }
         if (!resourceParams[0].equals(".")) {
             if (resourceParams.length != subPaths.length) {
-                webSocketHandshaker.cancelHandshake(404, errMsg);
+                WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, errMsg);
                 return;
             }
             int i = 0;
@@ -141,7 +143,7 @@ public class WebSocketResourceDispatcher {
                 if (resourceParam.equals(WebSocketConstants.PATH_PARAM_IDENTIFIER)) {
                     pathParamArr.add(subPaths[i]);
                 } else if (!resourceParam.equals(subPaths[i])) {
-                    webSocketHandshaker.cancelHandshake(404, errMsg);
+                    WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, errMsg);
                     return;
                 }
                 i++;
@@ -184,7 +186,7 @@ public class WebSocketResourceDispatcher {
                     validateQueryParam(index, resourceFunction, parameterType, allQueryParams);
                 }
             } catch (WebSocketConnectorException e) {
-                webSocketHandshaker.cancelHandshake(404, e.getMessage());
+                WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, e.getMessage());
             }
         }
 
@@ -209,7 +211,7 @@ public class WebSocketResourceDispatcher {
                             index = createBvaluesForNillable(bValues, index);
                             continue;
                         } else {
-                            webSocketHandshaker.cancelHandshake(404, errMsg);
+                            WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, errMsg);
                         }
                     }
                     if (headerParam.getTypeTag() == ARRAY_TAG) {
@@ -273,7 +275,7 @@ public class WebSocketResourceDispatcher {
                 paramIndex++;
             }
         } catch (NumberFormatException | WebSocketConnectorException e) {
-            webSocketHandshaker.cancelHandshake(404, errMsg);
+            WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, errMsg);
             return;
         }
         Map<String, Object> properties = new HashMap<>();
@@ -303,7 +305,8 @@ public class WebSocketResourceDispatcher {
 
     private static void reportQueryParamError(WebSocketHandshaker webSocketHandshaker, String paramName)
             throws WebSocketConnectorException {
-        webSocketHandshaker.cancelHandshake(400, String.format("No query param value found for: %s", paramName));
+        WebSocketUtil.cancelHandshake(webSocketHandshaker, 400,
+                String.format("No query param value found for: %s", paramName));
     }
 
     public static BMap<BString, Object> getQueryParams(Object rawQueryString) throws WebSocketConnectorException {
@@ -398,8 +401,14 @@ public class WebSocketResourceDispatcher {
         WebSocketObservabilityUtil.observeOnMessage(MESSAGE_TYPE_TEXT, connectionInfo);
         try {
             WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
+            ContentStream contentStream = connectionInfo.getContentStream();
+            if (contentStream != null) {
+                contentStream.onFrame(textMessage.getText(), textMessage.isFinalFragment());
+                return;
+            }
             WebSocketService wsService = connectionInfo.getService();
             MethodType onTextMessageResource = null;
+            boolean batched = false;
             BObject balservice;
             BObject wsEndpoint = connectionInfo.getWebSocketEndpoint();
             Object dispatchingService = wsService.getWsService(connectionInfo.getWebSocketConnection().getChannelId());
@@ -411,12 +420,25 @@ public class WebSocketResourceDispatcher {
                         funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_MESSAGE)) {
                     onTextMessageResource = remoteFunc;
                     break;
+                } else if (funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_TEXT_MESSAGES)) {
+                    batched = connectionInfo.getMessageBatcher() != null;
                 }
             }
+            if (onTextMessageResource == null && batched) {
+                batchText(connectionInfo, textMessage);
+                return;
+            }
             if (onTextMessageResource == null) {
                 webSocketConnection.readNextFrame();
                 return;
             }
+            Type streamType = getStreamParameterType(onTextMessageResource);
+            if (streamType != null) {
+                dispatchContentStream(connectionInfo, webSocketConnection, balservice, onTextMessageResource,
+                        ContentStream.start(connectionInfo, webSocketConnection, streamType, textMessage.getText(),
+                                textMessage.isFinalFragment()), ModuleUtils.getOnTextMetaData());
+                return;
+            }
             boolean validationEnabled = (boolean) wsService.getBalService().getNativeData(CONSTRAINT_VALIDATION);
             Type[] parameterTypes = onTextMessageResource.getParameterTypes();
             Object[] bValues = new Object[parameterTypes.length * 2];
@@ -433,7 +455,7 @@ public class WebSocketResourceDispatcher {
                         boolean readOnly = false;
                         if (typeTag == INTERSECTION_TAG) {
                             List<Type> memberTypes = ((IntersectionType) param).getConstituentTypes();
-                            if (invalidInputParams(webSocketConnection, param, memberTypes)) {
+                            if (invalidInputParams(connectionInfo, webSocketConnection, param, memberTypes)) {
                                 return;
                             }
                             readOnly = true;
@@ -475,7 +497,7 @@ public class WebSocketResourceDispatcher {
                                 break;
                         }
                         if (bValue instanceof BError) {
-                            sendDataBindingError(webSocketConnection, ((BError) bValue).getMessage());
+                            sendDataBindingError(connectionInfo, webSocketConnection, ((BError) bValue).getMessage());
                             return;
                         }
                         if (readOnly) {
@@ -496,28 +518,167 @@ public class WebSocketResourceDispatcher {
                         bValues[index++] = true;
                     }
                 } catch (BError error) {
-                    sendDataBindingError(webSocketConnection, error.getMessage());
+                    sendDataBindingError(connectionInfo, webSocketConnection, error.getMessage());
                     return;
                 }
                 executeResource(wsService, balservice,
-                        new WebSocketResourceCallback(connectionInfo, onTextMessageResource.getName(),
-                                wsService.getRuntime()), bValues, connectionInfo, onTextMessageResource.getName(),
-                                ModuleUtils.getOnTextMetaData());
+                        createMessageCallback(connectionInfo, balservice, onTextMessageResource, wsService),
+                        bValues, connectionInfo, onTextMessageResource.getName(), ModuleUtils.getOnTextMetaData());
                 stringAggregator.resetAggregateString();
             } else {
                 stringAggregator.appendAggregateString(textMessage.getText());
-                webSocketConnection.readNextFrame();
+                connectionInfo.readNextFragment();
             }
         } catch (IllegalAccessException e) {
             observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, MESSAGE_TYPE_TEXT, e.getMessage());
+        } catch (MessageTooLargeException e) {
+            observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, MESSAGE_TYPE_TEXT, e.getMessage());
+            WebSocketUtil.closeForMessageTooLarge(connectionInfo, e);
+        }
+    }
+
+    private static Type getStreamParameterType(MethodType remoteMethod) {
+        for (Type param : remoteMethod.getParameterTypes()) {
+            Type referredType = TypeUtils.getReferredType(param);
+            if (referredType.getTag() == TypeTags.STREAM_TAG) {
+                return referredType;
+            }
         }
+        return null;
     }
 
-    private static void sendDataBindingError(WebSocketConnection webSocketConnection, String errorMessage) {
+    // The message is handed to the remote function as a stream instead of an aggregated value
+    private static void dispatchContentStream(WebSocketConnectionInfo connectionInfo,
+            WebSocketConnection webSocketConnection, BObject balservice, MethodType remoteMethod,
+            ContentStream contentStream, StrandMetadata metaData) throws IllegalAccessException {
+        WebSocketService wsService = connectionInfo.getService();
+        Type[] paramTypes = remoteMethod.getParameterTypes();
+        Object[] bValues = new Object[paramTypes.length * 2];
+        int index = 0;
+        for (Type param : paramTypes) {
+            if (TypeUtils.getReferredType(param).getTag() == TypeTags.STREAM_TAG) {
+                bValues[index++] = contentStream.getStream();
+            } else {
+                bValues[index++] = connectionInfo.getWebSocketEndpoint();
+            }
+            bValues[index++] = true;
+        }
+        // The stream reads the rest of the message and the next message once the remote function returns
+        WebSocketResourceCallback resultCallback = new WebSocketResourceCallback(connectionInfo,
+                remoteMethod.getName(), wsService.getRuntime(), false);
+        EventLoop eventLoop = webSocketConnection.getChannel().eventLoop();
+        Callback callback = new Callback() {
+            @Override
+            public void notifySuccess(Object result) {
+                resultCallback.notifySuccess(result);
+                eventLoop.execute(contentStream::onDispatchCompleted);
+            }
+
+            @Override
+            public void notifyFailure(BError error) {
+                resultCallback.notifyFailure(error);
+                eventLoop.execute(contentStream::onDispatchCompleted);
+            }
+        };
+        executeResource(wsService, balservice, callback, bValues, connectionInfo, remoteMethod.getName(), metaData);
+    }
+
+    private static void batchText(WebSocketConnectionInfo connectionInfo, WebSocketTextMessage textMessage)
+            throws IllegalAccessException, MessageTooLargeException {
+        WebSocketConnectionInfo.StringAggregator stringAggregator = connectionInfo
+                .createIfNullAndGetStringAggregator();
+        stringAggregator.appendAggregateString(textMessage.getText());
+        if (textMessage.isFinalFragment()) {
+            String text = stringAggregator.getAggregateString();
+            stringAggregator.resetAggregateString();
+            connectionInfo.getMessageBatcher().add(text);
+        } else {
+            connectionInfo.readNextFragment();
+        }
+    }
+
+    private static void batchBinary(WebSocketConnectionInfo connectionInfo, WebSocketBinaryMessage binaryMessage)
+            throws IllegalAccessException, IOException, MessageTooLargeException {
+        WebSocketConnectionInfo.ByteArrAggregator byteAggregator = connectionInfo
+                .createIfNullAndGetByteArrAggregator();
+        byteAggregator.appendAggregateArr(binaryMessage.getByteArray());
+        if (binaryMessage.isFinalFragment()) {
+            byte[] binary = byteAggregator.getAggregateByteArr();
+            byteAggregator.resetAggregateByteArr();
+            connectionInfo.getMessageBatcher().add(binary);
+        } else {
+            connectionInfo.readNextFragment();
+        }
+    }
+
+    /**
+     * Dispatches a batch of messages to the `onTextMessages` or `onBinaryMessages` remote function.
+     *
+     * @param connectionInfo - the connection
+     * @param messages       - the `string[]` or `byte[][]` batch
+     * @param binary         - whether the messages are binary
+     * @param batchCallback  - the callback notified once the remote function completes
+     */
+    static void dispatchOnMessages(WebSocketConnectionInfo connectionInfo, BArray messages, boolean binary,
+            Callback batchCallback) {
+        WebSocketObservabilityUtil.observeOnMessage(binary ? MESSAGE_TYPE_BINARY : MESSAGE_TYPE_TEXT, connectionInfo);
+        String resource = binary ? WebSocketConstants.RESOURCE_NAME_ON_BINARY_MESSAGES :
+                WebSocketConstants.RESOURCE_NAME_ON_TEXT_MESSAGES;
+        try {
+            WebSocketService wsService = connectionInfo.getService();
+            BObject balservice = (BObject) wsService.getWsService(connectionInfo.getWebSocketConnection()
+                    .getChannelId());
+            MethodType onMessagesResource = null;
+            for (MethodType remoteFunc : ((ServiceType) balservice.getType()).getMethods()) {
+                if (remoteFunc.getName().equals(resource)) {
+                    onMessagesResource = remoteFunc;
+                    break;
+                }
+            }
+            if (onMessagesResource == null) {
+                batchCallback.notifySuccess(null);
+                return;
+            }
+            Type[] paramTypes = onMessagesResource.getParameterTypes();
+            Object[] bValues = new Object[paramTypes.length * 2];
+            int index = 0;
+            for (Type param : paramTypes) {
+                if (TypeUtils.getReferredType(param).getTag() == OBJECT_TYPE_TAG) {
+                    bValues[index++] = connectionInfo.getWebSocketEndpoint();
+                } else {
+                    bValues[index++] = messages;
+                }
+                bValues[index++] = true;
+            }
+            // The batcher reads the next frame instead of the callback
+            WebSocketResourceCallback resultCallback = new WebSocketResourceCallback(connectionInfo, resource,
+                    wsService.getRuntime(), false);
+            Callback callback = new Callback() {
+                @Override
+                public void notifySuccess(Object result) {
+                    resultCallback.notifySuccess(result);
+                    batchCallback.notifySuccess(result);
+                }
+
+                @Override
+                public void notifyFailure(BError error) {
+                    resultCallback.notifyFailure(error);
+                    batchCallback.notifyFailure(error);
+                }
+            };
+            executeResource(wsService, balservice, callback, bValues, connectionInfo, resource,
+                    binary ? ModuleUtils.getOnBinaryMetaData() : ModuleUtils.getOnTextMetaData());
+        } catch (IllegalAccessException e) {
+            observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, resource, e.getMessage());
+        }
+    }
+
+    private static void sendDataBindingError(WebSocketConnectionInfo connectionInfo,
+                                             WebSocketConnection webSocketConnection, String errorMessage) {
         if (errorMessage.length() > 100) {
             errorMessage = errorMessage.substring(0, 80) + "...";
         }
-        webSocketConnection.terminateConnection(1003,
+        WebSocketUtil.terminateConnection(connectionInfo, webSocketConnection, 1003,
                 String.format("data binding failed: %s", errorMessage));
     }
 
@@ -526,8 +687,14 @@ public class WebSocketResourceDispatcher {
                 connectionInfo);
         try {
             WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
+            ContentStream contentStream = connectionInfo.getContentStream();
+            if (contentStream != null) {
+                contentStream.onFrame(binaryMessage.getByteArray(), binaryMessage.isFinalFragment());
+                return;
+            }
             WebSocketService wsService = connectionInfo.getService();
             MethodType onBinaryMessageResource = null;
+            boolean batched = false;
             BObject balservice;
             Object dispatchingService = wsService.getWsService(connectionInfo.getWebSocketConnection().getChannelId());
             balservice = (BObject) dispatchingService;
@@ -538,15 +705,40 @@ public class WebSocketResourceDispatcher {
                         funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_MESSAGE)) {
                     onBinaryMessageResource = remoteFunc;
                     break;
+                } else if (funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_BINARY_MESSAGES)) {
+                    batched = connectionInfo.getMessageBatcher() != null;
                 }
             }
+            if (onBinaryMessageResource == null && batched) {
+                batchBinary(connectionInfo, binaryMessage);
+                return;
+            }
             if (onBinaryMessageResource == null) {
                 webSocketConnection.readNextFrame();
                 return;
             }
+            Type streamType = getStreamParameterType(onBinaryMessageResource);
             boolean finalFragment = binaryMessage.isFinalFragment();
+            if (streamType != null && connectionInfo.getSpillThreshold() <= 0) {
+                dispatchContentStream(connectionInfo, webSocketConnection, balservice, onBinaryMessageResource,
+                        ContentStream.start(connectionInfo, webSocketConnection, streamType,
+                                binaryMessage.getByteArray(), finalFragment), ModuleUtils.getOnBinaryMetaData());
+                return;
+            }
             WebSocketConnectionInfo.ByteArrAggregator byteAggregator = connectionInfo
                     .createIfNullAndGetByteArrAggregator();
+            if (streamType != null) {
+                // The message is received as a whole, which spills to a file, and the stream reads it from there
+                byteAggregator.appendAggregateArr(binaryMessage.getByteArray());
+                if (finalFragment) {
+                    dispatchContentStream(connectionInfo, webSocketConnection, balservice, onBinaryMessageResource,
+                            ContentStream.start(connectionInfo, webSocketConnection, streamType,
+                                    byteAggregator.takeAggregateStream()), ModuleUtils.getOnBinaryMetaData());
+                } else {
+                    connectionInfo.readNextFragment();
+                }
+                return;
+            }
             if (finalFragment) {
                 byteAggregator.appendAggregateArr(binaryMessage.getByteArray());
                 createBvaluesForBinary(onBinaryMessageResource, balservice, connectionInfo,
@@ -554,10 +746,13 @@ public class WebSocketResourceDispatcher {
                 byteAggregator.resetAggregateByteArr();
             } else {
                 byteAggregator.appendAggregateArr(binaryMessage.getByteArray());
-                webSocketConnection.readNextFrame();
+                connectionInfo.readNextFragment();
             }
         } catch (IllegalAccessException | IOException e) {
             observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, MESSAGE_TYPE_BINARY, e.getMessage());
+        } catch (MessageTooLargeException e) {
+            observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, MESSAGE_TYPE_BINARY, e.getMessage());
+            WebSocketUtil.closeForMessageTooLarge(connectionInfo, e);
         }
     }
 
@@ -594,7 +789,7 @@ public class WebSocketResourceDispatcher {
                 onPingMessageResource = wsService.getResourceByName(WebSocketConstants.RESOURCE_NAME_ON_PING);
             }
             if (onPingMessageResource == null) {
-                pongAutomatically(controlMessage);
+                pongAutomatically(connectionInfo, controlMessage);
                 return;
             }
             Type[] paramTypes = onPingMessageResource.getParameterTypes();
@@ -625,7 +820,7 @@ public class WebSocketResourceDispatcher {
                 typeName = getTypeName(param, typeName);
                 if (typeName == INTERSECTION_TAG) {
                     List<Type> memberTypes = ((IntersectionType) param).getConstituentTypes();
-                    if (invalidInputParams(webSocketConnection, param, memberTypes)) {
+                    if (invalidInputParams(connectionInfo, webSocketConnection, param, memberTypes)) {
                         return;
                     }
                     readOnly = true;
@@ -667,7 +862,7 @@ public class WebSocketResourceDispatcher {
                         break;
                 }
                 if (bValue instanceof BError) {
-                    sendDataBindingError(webSocketConnection, ((BError) bValue).getMessage());
+                    sendDataBindingError(connectionInfo, webSocketConnection, ((BError) bValue).getMessage());
                     return;
                 }
                 if (readOnly) {
@@ -687,12 +882,12 @@ public class WebSocketResourceDispatcher {
                 bValues[index++] = bValue;
                 bValues[index++] = true;
             }
-            executeResource(wsService, balservice, new WebSocketResourceCallback(connectionInfo,
-                            onBinaryMessageResource.getName(), wsService.getRuntime()), bValues, connectionInfo,
-                    onBinaryMessageResource.getName(), ModuleUtils.getOnBinaryMetaData());
+            executeResource(wsService, balservice,
+                    createMessageCallback(connectionInfo, balservice, onBinaryMessageResource, wsService),
+                    bValues, connectionInfo, onBinaryMessageResource.getName(), ModuleUtils.getOnBinaryMetaData());
         } catch (IllegalAccessException | BError e) {
             if (e instanceof BError) {
-                sendDataBindingError(webSocketConnection, e.getMessage());
+                sendDataBindingError(connectionInfo, webSocketConnection, e.getMessage());
                 return;
             }
             observeError(connectionInfo, ERROR_TYPE_MESSAGE_RECEIVED, MESSAGE_TYPE_BINARY, e.getMessage());
@@ -708,10 +903,11 @@ public class WebSocketResourceDispatcher {
         return typeName;
     }
 
-    private static boolean invalidInputParams(WebSocketConnection webSocketConnection, Type param,
+    private static boolean invalidInputParams(WebSocketConnectionInfo connectionInfo,
+                                              WebSocketConnection webSocketConnection, Type param,
                                               List<Type> memberTypes) {
         if (memberTypes.size() > 2) {
-            sendDataBindingError(webSocketConnection, "invalid param type '" + param.getName() +
+            sendDataBindingError(connectionInfo, webSocketConnection, "invalid param type '" + param.getName() +
                     "': only readonly intersection is allowed");
             return true;
         }
@@ -745,6 +941,10 @@ public class WebSocketResourceDispatcher {
     private static void dispatchOnPong(WebSocketConnectionInfo connectionInfo, WebSocketControlMessage controlMessage,
             boolean server) {
         WebSocketObservabilityUtil.observeOnMessage(MESSAGE_TYPE_PONG, connectionInfo);
+        long roundTripTime = connectionInfo.onPongReceived();
+        if (roundTripTime >= 0) {
+            WebSocketObservabilityUtil.observeRoundTripTime(roundTripTime, connectionInfo);
+        }
         try {
             WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
             WebSocketService wsService = connectionInfo.getService();
@@ -784,14 +984,26 @@ public class WebSocketResourceDispatcher {
 
     public static void dispatchOnClose(WebSocketConnectionInfo connectionInfo, WebSocketCloseMessage closeMessage,
             boolean server) {
+        dispatchOnClose(connectionInfo, closeMessage.getCloseCode(), closeMessage.getCloseReason(), server);
+    }
+
+    /**
+     * Dispatches `onClose` with a status code and a reason, which may not have been received in a close frame, as
+     * when the session of a lost connection expires.
+     *
+     * @param connectionInfo - the connection
+     * @param closeCode      - the status code
+     * @param closeReason    - the reason or `null`
+     * @param server         - whether the connection is of a service
+     */
+    public static void dispatchOnClose(WebSocketConnectionInfo connectionInfo, int closeCode, String closeReason,
+            boolean server) {
         WebSocketObservabilityUtil.observeOnMessage(MESSAGE_TYPE_CLOSE, connectionInfo);
         try {
             WebSocketUtil.setListenerOpenField(connectionInfo);
             WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
             WebSocketService wsService = connectionInfo.getService();
             MethodType onCloseResource = null;
-            int closeCode = closeMessage.getCloseCode();
-            String closeReason = closeMessage.getCloseReason();
             BObject balservice = null;
             if (server) {
                 Object dispatchingService = wsService
@@ -980,7 +1192,7 @@ public class WebSocketResourceDispatcher {
                 @Override
                 public void notifyFailure(BError error) {
                     error.printStackTrace();
-                    WebSocketUtil.closeDuringUnexpectedCondition(webSocketConnection);
+                    WebSocketUtil.closeDuringUnexpectedCondition(connectionInfo, webSocketConnection);
                 }
             };
             executeResource(wsService, balservice, onIdleTimeoutCallback, bValues, connectionInfo,
@@ -991,12 +1203,15 @@ public class WebSocketResourceDispatcher {
         }
     }
 
-    private static void pongAutomatically(WebSocketControlMessage controlMessage) {
+    private static void pongAutomatically(WebSocketConnectionInfo connectionInfo,
+                                          WebSocketControlMessage controlMessage) {
         WebSocketConnection webSocketConnection = controlMessage.getWebSocketConnection();
         webSocketConnection.pong(controlMessage.getByteBuffer()).addListener(future -> {
             Throwable cause = future.cause();
             if (!future.isSuccess() && cause != null) {
                 ErrorCreator.createError(cause).printStackTrace();
+            } else {
+                connectionInfo.touchOnWrite();
             }
             webSocketConnection.readNextFrame();
         });
@@ -1004,29 +1219,71 @@ public class WebSocketResourceDispatcher {
 
     private static void executeResource(WebSocketService wsService, BObject balservice, Callback callback,
             Object[] bValues, WebSocketConnectionInfo connectionInfo, String resource, StrandMetadata metaData) {
+        Map<String, Object> properties = null;
         if (ObserveUtils.isTracingEnabled()) {
-            Map<String, Object> properties = new HashMap<>();
+            properties = new HashMap<>();
             WebSocketObserverContext observerContext = new WebSocketObserverContext(connectionInfo);
             properties.put(ObservabilityConstants.KEY_OBSERVER_CONTEXT, observerContext);
-            if (isIsolated(balservice, resource)) {
-                wsService.getRuntime().invokeMethodAsyncConcurrently(balservice, resource, null, metaData, callback,
-                        properties, PredefinedTypes.TYPE_ANY, bValues);
-            } else {
-                wsService.getRuntime().invokeMethodAsyncSequentially(balservice, resource, null, metaData, callback,
-                        properties, PredefinedTypes.TYPE_ANY, bValues);
-            }
+        }
+        DispatchWindow dispatchWindow = connectionInfo == null ? null : connectionInfo.getDispatchWindow();
+        if (dispatchWindow != null && !DispatchWindow.isPipelined(callback)) {
+            // The result of a remote function, which is not pipelined, is written after the results in the window
+            Map<String, Object> invocationProperties = properties;
+            dispatchWindow.execute(() -> invokeResource(wsService, balservice, callback, bValues, connectionInfo,
+                    resource, metaData, invocationProperties));
         } else {
-            if (isIsolated(balservice, resource)) {
-                wsService.getRuntime().invokeMethodAsyncConcurrently(balservice, resource, null, metaData, callback,
-                        null, PredefinedTypes.TYPE_ANY, bValues);
-            } else {
-                wsService.getRuntime().invokeMethodAsyncSequentially(balservice, resource, null, metaData, callback,
-                        null, PredefinedTypes.TYPE_ANY, bValues);
-            }
+            invokeResource(wsService, balservice, callback, bValues, connectionInfo, resource, metaData, properties);
         }
         WebSocketObservabilityUtil.observeResourceInvocation(connectionInfo, resource);
     }
 
+    private static void invokeResource(WebSocketService wsService, BObject balservice, Callback callback,
+            Object[] bValues, WebSocketConnectionInfo connectionInfo, String resource, StrandMetadata metaData,
+            Map<String, Object> properties) {
+        SerialExecutor serialExecutor = connectionInfo == null ? null : connectionInfo.getSerialExecutor();
+        boolean isolated = isIsolated(balservice, resource);
+        if (serialExecutor != null && (!isolated || connectionInfo.getDispatchWindow() == null)) {
+            // The service object of the connection is not shared, hence only the connection's own remote functions
+            // need to be kept from running concurrently. The isolated remote functions pipelined by a dispatch window
+            // are not run by the executor as their results are already written in order
+            serialExecutor.execute(callback, serialCallback -> wsService.getRuntime().invokeMethodAsyncConcurrently(
+                    balservice, resource, null, metaData, serialCallback, properties,
+                    PredefinedTypes.TYPE_ANY, bValues));
+        } else if (isolated) {
+            wsService.getRuntime().invokeMethodAsyncConcurrently(balservice, resource, null, metaData, callback,
+                    properties, PredefinedTypes.TYPE_ANY, bValues);
+        } else {
+            wsService.getRuntime().invokeMethodAsyncSequentially(balservice, resource, null, metaData, callback,
+                    properties, PredefinedTypes.TYPE_ANY, bValues);
+        }
+    }
+
+    // The messages are pipelined only if they can be processed concurrently and their results are single messages,
+    // which can be written in order
+    private static Callback createMessageCallback(WebSocketConnectionInfo connectionInfo, BObject balservice,
+            MethodType remoteMethod, WebSocketService wsService) throws IllegalAccessException {
+        DispatchWindow dispatchWindow = connectionInfo.getDispatchWindow();
+        if (dispatchWindow == null || !isIsolated(balservice, remoteMethod.getName()) ||
+                mayReturnStream(remoteMethod)) {
+            return new WebSocketResourceCallback(connectionInfo, remoteMethod.getName(), wsService.getRuntime());
+        }
+        return dispatchWindow.dispatch(new WebSocketResourceCallback(connectionInfo, remoteMethod.getName(),
+                wsService.getRuntime(), false));
+    }
+
+    private static boolean mayReturnStream(MethodType remoteMethod) {
+        Type returnType = TypeUtils.getReferredType(remoteMethod.getType().getReturnType());
+        if (returnType.getTag() == TypeTags.UNION_TAG) {
+            for (Type memberType : ((UnionType) returnType).getMemberTypes()) {
+                if (TypeUtils.getReferredType(memberType).getTag() == TypeTags.STREAM_TAG) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return returnType.getTag() == TypeTags.STREAM_TAG;
+    }
+
     private static boolean isIsolated(BObject serviceObj, String remoteMethod) {
         return serviceObj.getType().isIsolated() && serviceObj.getType().isIsolated(remoteMethod);
     }
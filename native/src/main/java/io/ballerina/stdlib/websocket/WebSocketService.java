@@ -71,4 +71,8 @@ public class WebSocketService {
     public Object getWsService(String key) {
         return this.wsServices.get(key);
     }
+
+    public void removeWsService(String channelId) {
+        this.wsServices.remove(channelId);
+    }
 }
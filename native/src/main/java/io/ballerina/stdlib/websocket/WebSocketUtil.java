@@ -37,9 +37,13 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.stdlib.http.api.HttpConstants;
 import io.ballerina.stdlib.http.api.HttpUtil;
 import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeFuture;
+import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeListener;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketClientConnector;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketHandshaker;
 import io.ballerina.stdlib.http.transport.message.HttpCarbonMessage;
+import io.ballerina.stdlib.websocket.client.FailoverContext;
+import io.ballerina.stdlib.websocket.client.ReplayBuffer;
 import io.ballerina.stdlib.websocket.client.RetryContext;
 import io.ballerina.stdlib.websocket.client.listener.RetryWebSocketClientHandshakeListener;
 import io.ballerina.stdlib.websocket.client.listener.RetryWriteBinaryHandshakeListener;
@@ -47,6 +51,10 @@ import io.ballerina.stdlib.websocket.client.listener.RetryWriteTextHandshakeList
 import io.ballerina.stdlib.websocket.client.listener.SyncClientConnectorListener;
 import io.ballerina.stdlib.websocket.client.listener.WebSocketHandshakeListener;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.AdmissionController;
+import io.ballerina.stdlib.websocket.server.AuthCache;
+import io.ballerina.stdlib.websocket.server.MessageTooLargeException;
+import io.ballerina.stdlib.websocket.server.SessionStore;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionManager;
 import io.ballerina.stdlib.websocket.server.WebSocketServerService;
@@ -61,6 +69,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -76,8 +85,10 @@ import javax.net.ssl.SSLException;
 
 import static io.ballerina.stdlib.http.api.HttpErrorType.HEADER_NOT_FOUND_ERROR;
 import static io.ballerina.stdlib.websocket.WebSocketConstants.CLIENT_ENDPOINT_CONFIG;
+import static io.ballerina.stdlib.websocket.WebSocketConstants.FAILOVER_CLIENT;
 import static io.ballerina.stdlib.websocket.WebSocketConstants.INITIALIZED_BY_SERVICE;
 import static io.ballerina.stdlib.websocket.WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE;
+import static io.ballerina.stdlib.websocket.WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE;
 import static io.ballerina.stdlib.websocket.WebSocketConstants.SYNC_CLIENT;
 
 /**
@@ -97,19 +108,38 @@ public class WebSocketUtil {
                 .createObjectValue(ModuleUtils.getWebsocketModule(), WebSocketConstants.WEBSOCKET_CALLER,
                         StringUtils.fromString(""), null, null);
         webSocketCaller.addNativeData(NATIVE_DATA_MAX_FRAME_SIZE, wsService.getMaxFrameSize());
+        webSocketCaller.addNativeData(NATIVE_DATA_MAX_MESSAGE_SIZE, wsService.getMaxMessageSize());
+        webSocketCaller.set(INITIALIZED_BY_SERVICE, true);
+        populateWebSocketCaller(webSocketCaller, webSocketConnection, wsService, connectionManager);
+        return webSocketCaller;
+    }
 
+    /**
+     * Binds a caller to a connection. This is used for a new caller as well as for the caller of a resumed session.
+     *
+     * @param webSocketCaller     - the caller
+     * @param webSocketConnection - the connection
+     * @param wsService           - the service of the connection
+     * @param connectionManager   - the connection manager of the listener
+     * @return the connection info of the caller
+     */
+    public static WebSocketConnectionInfo populateWebSocketCaller(BObject webSocketCaller,
+            WebSocketConnection webSocketConnection, WebSocketServerService wsService,
+            WebSocketConnectionManager connectionManager) {
         populatWebSocketEndpoint(webSocketConnection, webSocketCaller);
-        webSocketCaller.set(INITIALIZED_BY_SERVICE, true);
+        WebSocketConnectionInfo previousConnectionInfo = getConnectionInfo(webSocketCaller);
         WebSocketConnectionInfo connectionInfo =
                 new WebSocketConnectionInfo(wsService, webSocketConnection, webSocketCaller);
+        if (previousConnectionInfo != null) {
+            connectionInfo.inheritAttributes(previousConnectionInfo);
+        }
         connectionManager.addConnection(webSocketConnection.getChannelId(), connectionInfo);
         webSocketCaller.addNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO,
                 connectionInfo);
         //Observe new connection
         WebSocketObservabilityUtil.observeConnection(
                 connectionManager.getConnectionInfo(webSocketConnection.getChannelId()));
-
-        return webSocketCaller;
+        return connectionInfo;
     }
 
     public static void populatWebSocketEndpoint(WebSocketConnection webSocketConnection,
@@ -130,6 +160,7 @@ public class WebSocketUtil {
                 log.error(ERROR_MESSAGE, cause);
                 setCallbackFunctionBehaviour(connectionInfo, balFuture, cause, futureCompleted);
             } else {
+                connectionInfo.touchOnWrite();
                 // This is needed because since the same strand is used in all actions if an action is called before
                 // this one it will cause this action to return the return value of the previous action.
                 if (!futureCompleted.get()) {
@@ -149,11 +180,13 @@ public class WebSocketUtil {
                 log.error(ERROR_MESSAGE, cause);
                 setCallbackFunctionBehaviour(connectionInfo, balFuture, cause, pingCallbackCompleted);
             } else {
+                connectionInfo.touchOnWrite();
                 if (!pingCallbackCompleted.get()) {
                     balFuture.complete(null);
                     pingCallbackCompleted.set(true);
                 }
-                if (connectionInfo.getWebSocketEndpoint().getType().getName().equals(SYNC_CLIENT)) {
+                String endpointType = connectionInfo.getWebSocketEndpoint().getType().getName();
+                if (endpointType.equals(SYNC_CLIENT) || endpointType.equals(FAILOVER_CLIENT)) {
                     connectionInfo.getWebSocketConnection().readNextFrame();
                 }
             }
@@ -171,10 +204,69 @@ public class WebSocketUtil {
     /**
      * Closes the connection with the unexpected failure status code.
      *
+     * @param connectionInfo      - the connection to be closed or `null` if it is not known
      * @param webSocketConnection - the webSocket connection to be closed.
      */
-    public static void closeDuringUnexpectedCondition(WebSocketConnection webSocketConnection) {
-        webSocketConnection.terminateConnection(1011, "Unexpected condition");
+    public static void closeDuringUnexpectedCondition(WebSocketConnectionInfo connectionInfo,
+                                                      WebSocketConnection webSocketConnection) {
+        terminateConnection(connectionInfo, webSocketConnection, 1011, "Unexpected condition");
+    }
+
+    /**
+     * Terminates a connection from this end. The session of the connection is ended, hence a peer, of which the
+     * connection is terminated, cannot resume the session.
+     *
+     * @param connectionInfo      - the connection to be terminated or `null` if it is not known
+     * @param webSocketConnection - the webSocket connection to be terminated
+     * @param statusCode          - the status code of the close frame
+     * @param reason              - the reason of the close frame
+     */
+    public static void terminateConnection(WebSocketConnectionInfo connectionInfo,
+                                           WebSocketConnection webSocketConnection, int statusCode, String reason) {
+        if (connectionInfo != null) {
+            SessionStore.endSession(connectionInfo.getWebSocketEndpoint());
+        }
+        webSocketConnection.terminateConnection(statusCode, reason);
+    }
+
+    /**
+     * Closes the connection, of which a message has exceeded the maximum message size, with the status code 1009.
+     *
+     * @param connectionInfo - the connection to be closed
+     * @param e              - the exception thrown by the aggregator of the message
+     */
+    public static void closeForMessageTooLarge(WebSocketConnectionInfo connectionInfo, MessageTooLargeException e) {
+        try {
+            terminateConnection(connectionInfo, connectionInfo.getWebSocketConnection(),
+                    WebSocketConstants.STATUS_CODE_MESSAGE_TOO_BIG, e.getMessage());
+        } catch (IllegalAccessException ex) {
+            // Ignore as the connection is already closed
+        }
+    }
+
+    /**
+     * Cancels a handshake and releases the connection reserved for it by the admission of the listener.
+     *
+     * @param webSocketHandshaker - the handshake
+     * @param statusCode          - the status code of the response
+     * @param reason              - the reason of the cancellation or `null`
+     */
+    public static void cancelHandshake(WebSocketHandshaker webSocketHandshaker, int statusCode, String reason) {
+        releaseAdmission(webSocketHandshaker);
+        webSocketHandshaker.cancelHandshake(statusCode, reason);
+    }
+
+    /**
+     * Releases the connection reserved for a handshake by the admission of the listener, if there is one.
+     *
+     * @param webSocketHandshaker - the handshake
+     */
+    public static void releaseAdmission(WebSocketHandshaker webSocketHandshaker) {
+        AdmissionController.Reservation reservation = (AdmissionController.Reservation) webSocketHandshaker
+                .getHttpCarbonRequest().getProperty(WebSocketConstants.ADMISSION_RESERVATION);
+        if (reservation != null) {
+            reservation.release();
+        }
     }
 
     public static void setListenerOpenField(WebSocketConnectionInfo connectionInfo) throws IllegalAccessException {
@@ -429,19 +521,17 @@ public class WebSocketUtil {
                                                             BArray binMessage) {
         SyncClientConnectorListener clientConnectorListener = (SyncClientConnectorListener) webSocketClient.
                 getNativeData(WebSocketConstants.CLIENT_LISTENER);
-        WebSocketClientConnector clientConnector = (WebSocketClientConnector) webSocketClient.
-                getNativeData(WebSocketConstants.CLIENT_CONNECTOR);
-        ClientHandshakeFuture handshakeFuture = clientConnector.connect();
-        handshakeFuture.setWebSocketConnectorListener(clientConnectorListener);
+        ClientHandshakeListener handshakeListener = null;
         if (WebSocketUtil.hasRetryConfig(webSocketClient)) {
             if (txtMessage != null) {
-                handshakeFuture.setClientHandshakeListener(new RetryWriteTextHandshakeListener(txtMessage,
-                        webSocketClient, clientConnectorListener, balFuture, futureCompleted));
+                handshakeListener = new RetryWriteTextHandshakeListener(txtMessage, webSocketClient,
+                        clientConnectorListener, balFuture, futureCompleted);
             } else {
-                handshakeFuture.setClientHandshakeListener(new RetryWriteBinaryHandshakeListener(binMessage,
-                        webSocketClient, clientConnectorListener, balFuture, futureCompleted));
+                handshakeListener = new RetryWriteBinaryHandshakeListener(binMessage, webSocketClient,
+                        clientConnectorListener, balFuture, futureCompleted);
             }
         }
+        connect(webSocketClient, clientConnectorListener, handshakeListener);
     }
 
     /**
@@ -455,18 +545,63 @@ public class WebSocketUtil {
                                                     Future balFuture, AtomicBoolean callbackCompleted) {
         SyncClientConnectorListener clientConnectorListener = (SyncClientConnectorListener) webSocketClient.
                 getNativeData(WebSocketConstants.CLIENT_LISTENER);
-        WebSocketClientConnector clientConnector = (WebSocketClientConnector) webSocketClient.
-                getNativeData(WebSocketConstants.CLIENT_CONNECTOR);
-        ClientHandshakeFuture handshakeFuture = clientConnector.connect();
-        handshakeFuture.setWebSocketConnectorListener(clientConnectorListener);
+        ClientHandshakeListener handshakeListener;
         if (WebSocketUtil.hasRetryConfig(webSocketClient)) {
-            handshakeFuture.setClientHandshakeListener(new RetryWebSocketClientHandshakeListener(webSocketClient,
-                    wsService, clientConnectorListener, balFuture,
+            handshakeListener = new RetryWebSocketClientHandshakeListener(webSocketClient, wsService,
+                    clientConnectorListener, balFuture,
                     (RetryContext) webSocketClient.getNativeData(WebSocketConstants.RETRY_CONFIG.toString()),
-                    callbackCompleted));
+                    callbackCompleted);
         } else {
-            handshakeFuture.setClientHandshakeListener(new WebSocketHandshakeListener(webSocketClient, wsService,
-                    clientConnectorListener, balFuture, callbackCompleted));
+            handshakeListener = new WebSocketHandshakeListener(webSocketClient, wsService, clientConnectorListener,
+                    balFuture, callbackCompleted);
+        }
+        connect(webSocketClient, clientConnectorListener, handshakeListener);
+    }
+
+    /**
+     * Connects the client to its target. The failover client connects to the healthiest of its targets.
+     *
+     * @param webSocketClient - The WebSocket client.
+     * @param connectorListener - The listener of the connection.
+     * @param handshakeListener - The listener of the handshake, which may be null.
+     */
+    private static void connect(BObject webSocketClient, SyncClientConnectorListener connectorListener,
+                                ClientHandshakeListener handshakeListener) {
+        FailoverContext failoverContext = (FailoverContext) webSocketClient
+                .getNativeData(WebSocketConstants.FAILOVER_CONTEXT);
+        if (failoverContext != null) {
+            failoverContext.connect(webSocketClient, connectorListener, handshakeListener);
+            return;
+        }
+        WebSocketClientConnector clientConnector = (WebSocketClientConnector) webSocketClient.
+                getNativeData(WebSocketConstants.CLIENT_CONNECTOR);
+        ClientHandshakeFuture handshakeFuture = clientConnector.connect();
+        handshakeFuture.setWebSocketConnectorListener(connectorListener);
+        if (handshakeListener != null) {
+            handshakeFuture.setClientHandshakeListener(handshakeListener);
+        }
+    }
+
+    /**
+     * Gives the buffer, which retains the messages written by the client to replay them after reconnecting.
+     *
+     * @param webSocketClient - The WebSocket client.
+     * @return the replay buffer or `null` if the client does not replay the messages.
+     */
+    public static ReplayBuffer getReplayBuffer(BObject webSocketClient) {
+        return (ReplayBuffer) webSocketClient.getNativeData(WebSocketConstants.REPLAY_BUFFER);
+    }
+
+    /**
+     * Writes the messages retained by the client to a new connection, if the client retains the messages.
+     *
+     * @param webSocketClient - The WebSocket client.
+     * @param connectionInfo - Information about the new connection.
+     */
+    public static void replayRetainedMessages(BObject webSocketClient, WebSocketConnectionInfo connectionInfo) {
+        ReplayBuffer replayBuffer = getReplayBuffer(webSocketClient);
+        if (replayBuffer != null) {
+            replayBuffer.replay(connectionInfo);
         }
     }
 
@@ -523,10 +658,70 @@ public class WebSocketUtil {
         return StringUtils.fromString(authorizationHeader);
     }
 
+    public static Object getAuthHandlers(BObject service) {
+        return service.getNativeData(WebSocketConstants.AUTH_HANDLERS);
+    }
+
+    public static void setAuthHandlers(BObject service, BArray authHandlers) {
+        service.addNativeData(WebSocketConstants.AUTH_HANDLERS, authHandlers);
+    }
+
+    public static boolean isAuthenticated(BObject service, BString authorizationHeader) {
+        AuthCache authCache = (AuthCache) service.getNativeData(WebSocketConstants.AUTH_CACHE);
+        return authCache != null && authCache.isAuthenticated(authorizationHeader.getValue());
+    }
+
+    public static void cacheAuthentication(BObject service, BString authorizationHeader, Object credentialsExpiry) {
+        AuthCache authCache = (AuthCache) service.getNativeData(WebSocketConstants.AUTH_CACHE);
+        if (authCache != null) {
+            authCache.put(authorizationHeader.getValue(), credentialsExpiry == null ? -1 : (Long) credentialsExpiry);
+        }
+    }
+
     public static BString getConnectionId(Environment env, BObject wsSyncClient) {
         return StringUtils.fromString((String) wsSyncClient.getNativeData(WebSocketConstants.CONNECTION_ID_FIELD));
     }
 
+    // A caller, which is not yet bound to a connection, has no attributes
+    public static void setCallerAttribute(BObject wsCaller, BString key, Object value) {
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(wsCaller);
+        if (connectionInfo != null) {
+            connectionInfo.setAttribute(key.getValue(), value);
+        }
+    }
+
+    public static Object getCallerAttribute(BObject wsCaller, BString key) {
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(wsCaller);
+        return connectionInfo == null ? null : connectionInfo.getAttribute(key.getValue());
+    }
+
+    public static Object removeCallerAttribute(BObject wsCaller, BString key) {
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(wsCaller);
+        return connectionInfo == null ? null : connectionInfo.removeAttribute(key.getValue());
+    }
+
+    public static Object getRoundTripTime(BObject wsEndpoint) {
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(wsEndpoint);
+        long[] roundTripTime = connectionInfo == null ? null : connectionInfo.getRoundTripTime();
+        if (roundTripTime == null) {
+            return null;
+        }
+        BMap<BString, Object> roundTripTimeRecord = ValueCreator.createRecordValue(ModuleUtils.getWebsocketModule(),
+                WebSocketConstants.ROUND_TRIP_TIME);
+        roundTripTimeRecord.put(WebSocketConstants.ROUND_TRIP_TIME_SMOOTHED, toSeconds(roundTripTime[0]));
+        roundTripTimeRecord.put(WebSocketConstants.ROUND_TRIP_TIME_VARIATION, toSeconds(roundTripTime[1]));
+        return roundTripTimeRecord;
+    }
+
+    private static BDecimal toSeconds(long nanos) {
+        return ValueCreator.createDecimalValue(BigDecimal.valueOf(nanos, 9));
+    }
+
+    private static WebSocketConnectionInfo getConnectionInfo(BObject wsEndpoint) {
+        return (WebSocketConnectionInfo) wsEndpoint.getNativeData(
+                WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+    }
+
     public static Boolean isSecure(Environment env, BObject wsSyncClient) {
         return (Boolean) wsSyncClient.getNativeData(WebSocketConstants.IS_SECURE);
     }
@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket.actions.websocketconnector;
+
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityConstants;
+import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.PromiseCombiner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.ballerina.stdlib.websocket.WebSocketConstants.STREAMING_NEXT_FUNCTION;
+
+/**
+ * Writes a binary message, of which the content is pulled from a stream. The next chunk of the stream is pulled only
+ * once the frames of the previous chunk are written to the connection, hence a single chunk of the message is held
+ * in memory at a time. The chunks are written as the frames of a single message, which are split by the maximum
+ * frame size of the endpoint.
+ *
+ */
+public class BinaryStreamWriter implements Callback {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryStreamWriter.class);
+    private static final BString VALUE = StringUtils.fromString("value");
+    private static final int STATUS_CODE_UNEXPECTED_CONDITION = 1011;
+
+    private final Runtime runtime;
+    private final Future balFuture;
+    private final WebSocketConnectionInfo connectionInfo;
+    private final BObject iterator;
+    private final AtomicBoolean futureCompleted = new AtomicBoolean(false);
+    private WebSocketConnectionInfo.PendingWrite pendingWrite;
+    private boolean started = false;
+
+    BinaryStreamWriter(Runtime runtime, Future balFuture, WebSocketConnectionInfo connectionInfo, BObject iterator) {
+        this.runtime = runtime;
+        this.balFuture = balFuture;
+        this.connectionInfo = connectionInfo;
+        this.iterator = iterator;
+    }
+
+    /**
+     * Starts pulling the chunks of the stream.
+     *
+     * @param wsConnection - the caller or the client to which the message is written
+     */
+    void start(BObject wsConnection) {
+        try {
+            pendingWrite = WebSocketConnector.setWriteTimeoutHandler(wsConnection, balFuture, futureCompleted,
+                    connectionInfo);
+        } catch (IllegalAccessException e) {
+            fail(e);
+            return;
+        }
+        pull();
+    }
+
+    private void pull() {
+        runtime.invokeMethodAsyncConcurrently(iterator, STREAMING_NEXT_FUNCTION, null, null, this, null,
+                PredefinedTypes.TYPE_NULL);
+    }
+
+    @Override
+    public void notifySuccess(Object result) {
+        if (futureCompleted.get()) {
+            // The write has timed out, hence the rest of the stream is not pulled
+            return;
+        }
+        if (result instanceof BError) {
+            abort((BError) result);
+        } else if (result == null) {
+            write(new byte[0], true);
+        } else {
+            byte[] chunk = ((BArray) ((BMap) result).get(VALUE)).getBytes();
+            if (chunk.length == 0) {
+                pull();
+            } else {
+                write(chunk, false);
+            }
+        }
+    }
+
+    @Override
+    public void notifyFailure(BError error) {
+        abort(error);
+    }
+
+    private void write(byte[] chunk, boolean finalChunk) {
+        try {
+            WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
+            final int size = (int) connectionInfo.getWebSocketEndpoint()
+                    .getNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE);
+            PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
+            int index = 0;
+            do {
+                int length = Math.min(size, chunk.length - index);
+                boolean finalFrame = finalChunk && index + length == chunk.length;
+                promiseCombiner.add(webSocketConnection.pushBinary(ByteBuffer.wrap(chunk, index, length),
+                        finalFrame));
+                index += length;
+            } while (index < chunk.length);
+            started = true;
+            ChannelPromise promise = webSocketConnection.getChannel().newPromise();
+            promiseCombiner.finish(promise);
+            promise.addListener((ChannelFutureListener) future -> {
+                if (!future.isSuccess()) {
+                    fail(future.cause());
+                    return;
+                }
+                connectionInfo.touchOnWrite();
+                if (pendingWrite != null) {
+                    pendingWrite.touch();
+                }
+                if (finalChunk) {
+                    complete();
+                } else {
+                    pull();
+                }
+            });
+        } catch (IllegalAccessException | IllegalStateException e) {
+            fail(e);
+        }
+    }
+
+    private void complete() {
+        WebSocketConnector.removeWriteTimeoutHandler(pendingWrite);
+        if (!futureCompleted.getAndSet(true)) {
+            balFuture.complete(null);
+        }
+        WebSocketObservabilityUtil.observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, connectionInfo);
+    }
+
+    private void abort(BError error) {
+        WebSocketConnector.removeWriteTimeoutHandler(pendingWrite);
+        if (started) {
+            // The message cannot be ended without the missing content, hence the connection is terminated
+            try {
+                WebSocketUtil.terminateConnection(connectionInfo, connectionInfo.getWebSocketConnection(),
+                        STATUS_CODE_UNEXPECTED_CONDITION, String.format("streaming failed: %s", error.getMessage()));
+            } catch (IllegalAccessException e) {
+                // Ignore as the connection is already closed
+            }
+        }
+        if (!futureCompleted.getAndSet(true)) {
+            balFuture.complete(WebSocketUtil.createWebsocketErrorWithCause("Failed to read the content stream",
+                    WebSocketConstants.ErrorCode.Error, error));
+        }
+    }
+
+    private void fail(Throwable cause) {
+        WebSocketConnector.removeWriteTimeoutHandler(pendingWrite);
+        log.error("Error occurred when pushing binary data", cause);
+        WebSocketObservabilityUtil.observeError(connectionInfo,
+                WebSocketObservabilityConstants.ERROR_TYPE_MESSAGE_SENT,
+                WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, cause.getMessage());
+        WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, cause, futureCompleted);
+    }
+}
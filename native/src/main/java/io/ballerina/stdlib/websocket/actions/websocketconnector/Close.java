@@ -27,6 +27,7 @@ import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityConstants;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.SessionStore;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
 import io.netty.channel.ChannelFuture;
 import org.slf4j.Logger;
@@ -50,6 +51,7 @@ public class Close {
                 .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
         WebSocketObservabilityUtil.observeResourceInvocation(env, connectionInfo,
                 WebSocketConstants.RESOURCE_NAME_CLOSE);
+        SessionStore.endSession(wsConnection);
         try {
             CountDownLatch countDownLatch = new CountDownLatch(1);
             List<BError> errors = new ArrayList<>(1);
@@ -90,6 +92,8 @@ public class Close {
                 WebSocketObservabilityUtil
                         .observeError(connectionInfo, WebSocketObservabilityConstants.ERROR_TYPE_CLOSE,
                                 cause.getMessage());
+            } else {
+                connectionInfo.touchOnWrite();
             }
             latch.countDown();
         });
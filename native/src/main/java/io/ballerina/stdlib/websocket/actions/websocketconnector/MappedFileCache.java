@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket.actions.websocketconnector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Caches the memory mappings of the files written to the connections, so that a file written to many connections is
+ * mapped once and its frames are written from slices of the mapping without copying the file to the heap. A mapping
+ * is counted while it is being written and only the mappings, which are not being written, are evicted in the least
+ * recently used order once the mapped bytes exceed the capacity. A mapping is discarded once its file is modified.
+ * A file is mapped outside the lock of the cache, and the writes acquiring a file being mapped wait for its mapping
+ * instead of mapping it again.
+ *
+ */
+public class MappedFileCache {
+
+    private static final long CAPACITY_IN_BYTES = 1024L * 1024 * 1024;
+    private static final MappedFileCache INSTANCE = new MappedFileCache(CAPACITY_IN_BYTES);
+
+    private final long capacityInBytes;
+    private final Map<Path, Mapping> mappings = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, CompletableFuture<Mapping>> pendingMappings = new HashMap<>();
+    private long mappedBytes = 0;
+
+    MappedFileCache(long capacityInBytes) {
+        this.capacityInBytes = capacityInBytes;
+    }
+
+    public static MappedFileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gives the mapping of a file and counts it as being written until it is released.
+     *
+     * @param file - the path of the file
+     * @return the mapping of the file
+     * @throws IOException if the file cannot be read or is too large to be mapped
+     */
+    public Mapping acquire(String file) throws IOException {
+        Path path = Paths.get(file).toAbsolutePath().normalize();
+        while (true) {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            CompletableFuture<Mapping> pendingMapping;
+            boolean owner;
+            synchronized (this) {
+                Mapping mapping = mappings.get(path);
+                if (mapping != null && mapping.isStale(attributes)) {
+                    remove(path, mapping);
+                    mapping = null;
+                }
+                if (mapping != null) {
+                    mapping.references++;
+                    return mapping;
+                }
+                pendingMapping = pendingMappings.get(path);
+                // The first write of the file maps it, while the others wait for the mapping
+                owner = pendingMapping == null;
+                if (owner) {
+                    pendingMapping = new CompletableFuture<>();
+                    pendingMappings.put(path, pendingMapping);
+                }
+            }
+            if (owner) {
+                return map(path, attributes, pendingMapping);
+            }
+            // The file is being mapped by another write, hence the cache is looked up again once it is mapped
+            try {
+                pendingMapping.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+            }
+        }
+    }
+
+    private Mapping map(Path path, BasicFileAttributes attributes, CompletableFuture<Mapping> pendingMapping)
+            throws IOException {
+        Mapping mapping;
+        try {
+            mapping = new Mapping(map(path, attributes.size()), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            synchronized (this) {
+                pendingMappings.remove(path);
+            }
+            pendingMapping.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            pendingMappings.remove(path);
+            mappings.put(path, mapping);
+            mappedBytes += mapping.size();
+            mapping.references++;
+            evict();
+        }
+        pendingMapping.complete(mapping);
+        return mapping;
+    }
+
+    /**
+     * Stops counting a mapping as being written.
+     *
+     * @param mapping - the mapping given by `acquire`
+     */
+    public synchronized void release(Mapping mapping) {
+        mapping.references--;
+        evict();
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("File is too large to be mapped: " + path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Mapping>> iterator = mappings.entrySet().iterator();
+        while (mappedBytes > capacityInBytes && iterator.hasNext()) {
+            Mapping mapping = iterator.next().getValue();
+            if (mapping.references == 0) {
+                // The mapping is unmapped by the garbage collector once the written frames have released it
+                iterator.remove();
+                mappedBytes -= mapping.size();
+            }
+        }
+    }
+
+    private void remove(Path path, Mapping mapping) {
+        mappings.remove(path);
+        mappedBytes -= mapping.size();
+    }
+
+    /**
+     * The memory mapping of a file.
+     */
+    public static class Mapping {
+        private final MappedByteBuffer buffer;
+        private final long lastModified;
+        private int references = 0;
+
+        Mapping(MappedByteBuffer buffer, long lastModified) {
+            this.buffer = buffer;
+            this.lastModified = lastModified;
+        }
+
+        public int size() {
+            return buffer.capacity();
+        }
+
+        /**
+         * Gives a read-only slice of the mapping, which does not copy the content.
+         *
+         * @param offset - the offset of the slice in the file
+         * @param length - the length of the slice
+         * @return the slice
+         */
+        public ByteBuffer slice(int offset, int length) {
+            ByteBuffer slice = buffer.asReadOnlyBuffer();
+            slice.position(offset);
+            slice.limit(offset + length);
+            return slice.slice();
+        }
+
+        private boolean isStale(BasicFileAttributes attributes) {
+            return attributes.size() != size() || attributes.lastModifiedTime().toMillis() != lastModified;
+        }
+    }
+}
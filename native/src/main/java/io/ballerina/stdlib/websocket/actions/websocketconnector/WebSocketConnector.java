@@ -19,26 +19,33 @@ import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Future;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BStream;
 import io.ballerina.runtime.api.values.BString;
-import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketWriteTimeOutListener;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.client.ReplayBuffer;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityConstants;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.SessionStore;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelPromise;
 import io.netty.util.CharsetUtil;
 import io.netty.util.concurrent.ImmediateEventExecutor;
 import io.netty.util.concurrent.PromiseCombiner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import static io.ballerina.stdlib.websocket.WebSocketConstants.ASYNC_CLIENT;
+import static io.ballerina.stdlib.websocket.WebSocketConstants.FAILOVER_CLIENT;
 import static io.ballerina.stdlib.websocket.WebSocketConstants.SYNC_CLIENT;
 
 /**
@@ -46,44 +53,26 @@ import static io.ballerina.stdlib.websocket.WebSocketConstants.SYNC_CLIENT;
  */
 public class WebSocketConnector {
     private static final Logger log = LoggerFactory.getLogger(WebSocketConnector.class);
+    private static final String WRITE_TIMED_OUT = "Write timed out";
 
     public static Object writeTextMessage(Environment env, BObject wsConnection, BString text) {
+        if (SessionStore.retainIfDetached(wsConnection, text.getValue(), null)) {
+            return null;
+        }
         Future balFuture = env.markAsync();
         AtomicBoolean textCallbackCompleted = new AtomicBoolean(false);
-        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
         WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
                 .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
         WebSocketObservabilityUtil
                 .observeResourceInvocation(env, connectionInfo, WebSocketConstants.WRITE_TEXT_MESSAGE);
-        ByteBuf byteBuf = null;
-        ByteBuf lastSlice = null;
         try {
-            setWriteTimeoutHandler(wsConnection, balFuture, textCallbackCompleted, connectionInfo);
-            byteBuf = fromText(text.getValue());
-            int noBytes = byteBuf.readableBytes();
-            int index = 0;
-            final int size = (int) connectionInfo.getWebSocketEndpoint()
-                .getNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE);
-            while (index < noBytes - size) {
-                ByteBuf slice = null;
-                try {
-                    slice = byteBuf.retainedSlice(index, size);
-                    String chunk = slice.toString(CharsetUtil.UTF_8);
-                    ChannelFuture future = connectionInfo.getWebSocketConnection().pushText(chunk, false);
-                    promiseCombiner.add(future);
-                    index += size;
-                } finally {
-                    release(slice);
-                }
-            }
-            lastSlice = byteBuf.retainedSlice(index, noBytes - index);
-            String chunk = lastSlice.toString(CharsetUtil.UTF_8);
-            ChannelFuture future = connectionInfo.getWebSocketConnection().pushText(chunk, true);
-            promiseCombiner.add(future);
-            promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
+            WebSocketConnectionInfo.PendingWrite pendingWrite = setWriteTimeoutHandler(wsConnection, balFuture,
+                    textCallbackCompleted, connectionInfo);
+            pushText(connectionInfo, text.getValue())
                     .addListener((ChannelFutureListener) channelFuture -> {
-                        removeWriteTimeoutHandler(wsConnection, connectionInfo);
+                        removeWriteTimeoutHandler(pendingWrite);
                         if (channelFuture.isSuccess()) {
+                            retainForReplay(wsConnection, text.getValue(), null);
                             WebSocketUtil.handleWebSocketCallback(balFuture, channelFuture, log, connectionInfo,
                                     textCallbackCompleted);
                             WebSocketObservabilityUtil
@@ -95,38 +84,87 @@ public class WebSocketConnector {
                             } else {
                                 if (!textCallbackCompleted.get()) {
                                     WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture,
-                                            future.cause(), textCallbackCompleted);
+                                            channelFuture.cause(), textCallbackCompleted);
                                 }
                             }
                         }
-                    }));
+                    });
         } catch (IllegalAccessException | IllegalStateException e) {
             log.error("Error occurred when pushing text data", e);
             WebSocketObservabilityUtil.observeError(WebSocketObservabilityUtil.getConnectionInfo(wsConnection),
                     WebSocketObservabilityConstants.ERROR_TYPE_MESSAGE_SENT,
                     WebSocketObservabilityConstants.MESSAGE_TYPE_TEXT, e.getMessage());
             WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, e, textCallbackCompleted);
+        }
+        return null;
+    }
+
+    /**
+     * Pushes a text message to the connection. The message is fragmented by the maximum frame size of the endpoint.
+     *
+     * @param connectionInfo - the connection to which the message is pushed
+     * @param text           - the text message
+     * @return the future, which is completed once all the fragments are written
+     * @throws IllegalAccessException if the connection is not available
+     */
+    public static ChannelFuture pushText(WebSocketConnectionInfo connectionInfo, String text)
+            throws IllegalAccessException {
+        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
+        ByteBuf byteBuf = null;
+        ByteBuf lastSlice = null;
+        try {
+            byteBuf = fromText(text);
+            int noBytes = byteBuf.readableBytes();
+            int index = 0;
+            final int size = (int) connectionInfo.getWebSocketEndpoint()
+                .getNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE);
+            while (index < noBytes - size) {
+                ByteBuf slice = null;
+                try {
+                    slice = byteBuf.retainedSlice(index, size);
+                    String chunk = slice.toString(CharsetUtil.UTF_8);
+                    ChannelFuture future = connectionInfo.getWebSocketConnection().pushText(chunk, false);
+                    promiseCombiner.add(future);
+                    index += size;
+                } finally {
+                    release(slice);
+                }
+            }
+            lastSlice = byteBuf.retainedSlice(index, noBytes - index);
+            String chunk = lastSlice.toString(CharsetUtil.UTF_8);
+            ChannelFuture future = connectionInfo.getWebSocketConnection().pushText(chunk, true);
+            promiseCombiner.add(future);
+            ChannelPromise promise = connectionInfo.getWebSocketConnection().getChannel().newPromise();
+            promiseCombiner.finish(promise);
+            return promise;
         } finally {
             release(byteBuf);
             release(lastSlice);
         }
-        return null;
     }
 
-    public static void setWriteTimeoutHandler(BObject wsConnection, Future balFuture,
-                                               AtomicBoolean textCallbackCompleted, 
-                                               WebSocketConnectionInfo connectionInfo) throws IllegalAccessException {
-        if (wsConnection.getType().getName().equals(SYNC_CLIENT)) {
+    /**
+     * Starts the write timeout of a client. The write is timed out by the single write timeout of its connection in
+     * the idle timeout wheel.
+     *
+     * @return the write or `null` if the endpoint does not have a write timeout
+     */
+    public static WebSocketConnectionInfo.PendingWrite setWriteTimeoutHandler(BObject wsConnection, Future balFuture,
+                                                                            AtomicBoolean textCallbackCompleted,
+                                                                            WebSocketConnectionInfo connectionInfo)
+            throws IllegalAccessException {
+        if (isClientEndpoint(wsConnection)) {
             long writeTimeoutInSeconds = WebSocketUtil.findTimeoutInSeconds(
                     connectionInfo.getWebSocketEndpoint().getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG),
                     WebSocketConstants.CLIENT_WRITE_TIMEOUT, 0);
             if (writeTimeoutInSeconds > 0) {
-                WebSocketWriteTimeOutListener writeTimeOutListener = new WriteTimeOutListener(balFuture,
+                WriteTimeOutListener writeTimeOutListener = new WriteTimeOutListener(balFuture,
                         textCallbackCompleted);
-                connectionInfo.getWebSocketConnection().addWriteIdleStateHandler(writeTimeOutListener,
-                        writeTimeoutInSeconds);
+                return connectionInfo.startWrite(writeTimeoutInSeconds * 1000,
+                        () -> writeTimeOutListener.onTimeout(new TimeoutException(WRITE_TIMED_OUT)));
             }
         }
+        return null;
     }
 
     public static void release(ByteBuf byteBuf) {
@@ -148,18 +186,172 @@ public class WebSocketConnector {
     }
 
     public static Object writeBinaryMessage(Environment env, BObject wsConnection, BArray binaryData) {
+        if (SessionStore.retainIfDetached(wsConnection, null, binaryData.getBytes())) {
+            return null;
+        }
         Future balFuture = env.markAsync();
         AtomicBoolean binaryCallbackCompleted = new AtomicBoolean(false);
-        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
         WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
                 .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
         WebSocketObservabilityUtil
                 .observeResourceInvocation(env, connectionInfo, WebSocketConstants.WRITE_BINARY_MESSAGE);
+        try {
+            WebSocketConnectionInfo.PendingWrite pendingWrite = setWriteTimeoutHandler(wsConnection, balFuture,
+                    binaryCallbackCompleted, connectionInfo);
+            pushBinary(connectionInfo, binaryData.getBytes())
+                    .addListener((ChannelFutureListener) future -> {
+                        removeWriteTimeoutHandler(pendingWrite);
+                        if (future.isSuccess()) {
+                            retainForReplay(wsConnection, null, binaryData);
+                            WebSocketUtil.handleWebSocketCallback(balFuture, future, log, connectionInfo,
+                                    binaryCallbackCompleted);
+                            WebSocketObservabilityUtil
+                                    .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, connectionInfo);
+                        } else {
+                            if (WebSocketUtil.hasRetryConfig(wsConnection) && !binaryCallbackCompleted.get()) {
+                                WebSocketUtil.reconnectForWrite(connectionInfo, balFuture, binaryCallbackCompleted,
+                                        null, binaryData);
+                            } else {
+                                if (!binaryCallbackCompleted.get()) {
+                                    WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture,
+                                            future.cause(), binaryCallbackCompleted);
+                                }
+                            }
+                        }
+                    });
+        } catch (IllegalAccessException | IllegalStateException e) {
+            log.error("Error occurred when pushing binary data", e);
+            WebSocketObservabilityUtil.observeError(WebSocketObservabilityUtil.getConnectionInfo(wsConnection),
+                    WebSocketObservabilityConstants.ERROR_TYPE_MESSAGE_SENT,
+                    WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, e.getMessage());
+            WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, e, binaryCallbackCompleted);
+        }
+        return null;
+    }
+
+    /**
+     * Writes a binary message, of which the content is pulled from a stream chunk by chunk. The next chunk is pulled
+     * only once the previous chunk is written to the connection.
+     *
+     * @param env          - the environment
+     * @param wsConnection - the caller or the client to which the message is written
+     * @param content      - the stream of the content
+     * @return `null` as the result is given by the future
+     */
+    public static Object writeBinaryStream(Environment env, BObject wsConnection, BStream content) {
+        Future balFuture = env.markAsync();
+        WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
+                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+        WebSocketObservabilityUtil
+                .observeResourceInvocation(env, connectionInfo, WebSocketConstants.WRITE_BINARY_STREAM);
+        new BinaryStreamWriter(env.getRuntime(), balFuture, connectionInfo, content.getIteratorObj())
+                .start(wsConnection);
+        return null;
+    }
+
+    /**
+     * Writes a part of a file as a binary message. The frames are written from slices of the memory mapping of the
+     * file, which is shared by all the connections to which the file is written.
+     *
+     * @param env          - the environment
+     * @param wsConnection - the caller or the client to which the message is written
+     * @param path         - the path of the file
+     * @param offset       - the offset of the part in the file
+     * @param length       - the length of the part or a negative value to write up to the end of the file
+     * @return `null` as the result is given by the future
+     */
+    public static Object writeFile(Environment env, BObject wsConnection, BString path, long offset, long length) {
+        Future balFuture = env.markAsync();
+        AtomicBoolean fileCallbackCompleted = new AtomicBoolean(false);
+        WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
+                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+        WebSocketObservabilityUtil.observeResourceInvocation(env, connectionInfo, WebSocketConstants.WRITE_FILE);
+        if (offset < 0) {
+            balFuture.complete(WebSocketUtil.createWebsocketError("Invalid offset of the file: " + offset,
+                    WebSocketConstants.ErrorCode.Error));
+            return null;
+        }
+        MappedFileCache.Mapping mapping;
+        try {
+            mapping = MappedFileCache.getInstance().acquire(path.getValue());
+        } catch (IOException e) {
+            balFuture.complete(WebSocketUtil.createWebsocketError("Failed to read the file: " + e.getMessage(),
+                    WebSocketConstants.ErrorCode.Error));
+            return null;
+        }
+        // The range is checked against the remaining bytes, so that it does not overflow, and fits in an int as the
+        // size of a mapping does
+        long available = mapping.size() - offset;
+        if (available < 0 || length > available) {
+            MappedFileCache.getInstance().release(mapping);
+            balFuture.complete(WebSocketUtil.createWebsocketError(String.format(
+                    "Invalid range of %d bytes at %d of a file of %d bytes", length, offset, mapping.size()),
+                    WebSocketConstants.ErrorCode.Error));
+            return null;
+        }
+        int count = (int) (length < 0 ? available : length);
+        try {
+            WebSocketConnectionInfo.PendingWrite pendingWrite = setWriteTimeoutHandler(wsConnection, balFuture,
+                    fileCallbackCompleted, connectionInfo);
+            pushFile(connectionInfo, mapping, (int) offset, count)
+                    .addListener((ChannelFutureListener) future -> {
+                        MappedFileCache.getInstance().release(mapping);
+                        removeWriteTimeoutHandler(pendingWrite);
+                        if (future.isSuccess()) {
+                            WebSocketUtil.handleWebSocketCallback(balFuture, future, log, connectionInfo,
+                                    fileCallbackCompleted);
+                            WebSocketObservabilityUtil
+                                    .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, connectionInfo);
+                        } else if (!fileCallbackCompleted.get()) {
+                            WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, future.cause(),
+                                    fileCallbackCompleted);
+                        }
+                    });
+        } catch (IllegalAccessException | IllegalStateException e) {
+            MappedFileCache.getInstance().release(mapping);
+            log.error("Error occurred when pushing binary data", e);
+            WebSocketObservabilityUtil.observeError(WebSocketObservabilityUtil.getConnectionInfo(wsConnection),
+                    WebSocketObservabilityConstants.ERROR_TYPE_MESSAGE_SENT,
+                    WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, e.getMessage());
+            WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, e, fileCallbackCompleted);
+        }
+        return null;
+    }
+
+    private static ChannelFuture pushFile(WebSocketConnectionInfo connectionInfo, MappedFileCache.Mapping mapping,
+                                          int offset, int length) throws IllegalAccessException {
+        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
+        final int size = (int) connectionInfo.getWebSocketEndpoint()
+                .getNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE);
+        int index = 0;
+        do {
+            int frameLength = Math.min(size, length - index);
+            ChannelFuture future = connectionInfo.getWebSocketConnection()
+                    .pushBinary(mapping.slice(offset + index, frameLength), index + frameLength == length);
+            promiseCombiner.add(future);
+            index += frameLength;
+        } while (index < length);
+        ChannelPromise promise = connectionInfo.getWebSocketConnection().getChannel().newPromise();
+        promiseCombiner.finish(promise);
+        return promise;
+    }
+
+    /**
+     * Pushes a binary message to the connection. The message is fragmented by the maximum frame size of the
+     * endpoint.
+     *
+     * @param connectionInfo - the connection to which the message is pushed
+     * @param binaryData     - the binary message
+     * @return the future, which is completed once all the fragments are written
+     * @throws IllegalAccessException if the connection is not available
+     */
+    public static ChannelFuture pushBinary(WebSocketConnectionInfo connectionInfo, byte[] binaryData)
+            throws IllegalAccessException {
+        PromiseCombiner promiseCombiner = new PromiseCombiner(ImmediateEventExecutor.INSTANCE);
         ByteBuf byteBuf = null;
         ByteBuf lastSlice = null;
         try {
-            setWriteTimeoutHandler(wsConnection, balFuture, binaryCallbackCompleted, connectionInfo);
-            byteBuf = fromByteArray(ByteBuffer.wrap(binaryData.getBytes()));
+            byteBuf = fromByteArray(ByteBuffer.wrap(binaryData));
             int noBytes = byteBuf.readableBytes();
             int index = 0;
             final int size = (int) connectionInfo.getWebSocketEndpoint()
@@ -182,44 +374,44 @@ public class WebSocketConnector {
             ChannelFuture webSocketChannelFuture = connectionInfo.getWebSocketConnection()
                     .pushBinary(ByteBuffer.wrap(finalChunk), true);
             promiseCombiner.add(webSocketChannelFuture);
-            promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
-                    .addListener((ChannelFutureListener) future -> {
-                        removeWriteTimeoutHandler(wsConnection, connectionInfo);
-                        if (future.isSuccess()) {
-                            WebSocketUtil.handleWebSocketCallback(balFuture, future, log, connectionInfo,
-                                    binaryCallbackCompleted);
-                            WebSocketObservabilityUtil
-                                    .observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, connectionInfo);
-                        } else {
-                            if (WebSocketUtil.hasRetryConfig(wsConnection) && !binaryCallbackCompleted.get()) {
-                                WebSocketUtil.reconnectForWrite(connectionInfo, balFuture, binaryCallbackCompleted,
-                                        null, binaryData);
-                            } else {
-                                if (!binaryCallbackCompleted.get()) {
-                                    WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture,
-                                            future.cause(), binaryCallbackCompleted);
-                                }
-                            }
-                        }
-                    }));
-        } catch (IllegalAccessException | IllegalStateException e) {
-            log.error("Error occurred when pushing binary data", e);
-            WebSocketObservabilityUtil.observeError(WebSocketObservabilityUtil.getConnectionInfo(wsConnection),
-                    WebSocketObservabilityConstants.ERROR_TYPE_MESSAGE_SENT,
-                    WebSocketObservabilityConstants.MESSAGE_TYPE_BINARY, e.getMessage());
-            WebSocketUtil.setCallbackFunctionBehaviour(connectionInfo, balFuture, e, binaryCallbackCompleted);
+            ChannelPromise promise = connectionInfo.getWebSocketConnection().getChannel().newPromise();
+            promiseCombiner.finish(promise);
+            return promise;
         } finally {
             release(byteBuf);
             release(lastSlice);
         }
-        return null;
     }
 
-    public static void removeWriteTimeoutHandler(BObject wsConnection, WebSocketConnectionInfo connectionInfo)
-            throws IllegalAccessException {
-        if (wsConnection.getType().getName().equals(SYNC_CLIENT)) {
-            connectionInfo.getWebSocketConnection().removeWriteIdleStateHandler();
+    public static void removeWriteTimeoutHandler(WebSocketConnectionInfo.PendingWrite pendingWrite) {
+        if (pendingWrite != null) {
+            pendingWrite.complete();
+        }
+    }
+
+    /**
+     * Retains a message written by a client, which is configured to replay the messages after reconnecting.
+     *
+     * @param wsConnection - the client
+     * @param text         - the text message or `null`
+     * @param binaryData   - the binary message or `null`
+     */
+    public static void retainForReplay(BObject wsConnection, String text, BArray binaryData) {
+        ReplayBuffer replayBuffer = WebSocketUtil.getReplayBuffer(wsConnection);
+        if (replayBuffer == null) {
+            return;
         }
+        if (text != null) {
+            replayBuffer.retain(text);
+        } else {
+            replayBuffer.retain(binaryData.getBytes());
+        }
+    }
+
+    private static boolean isClientEndpoint(BObject wsConnection) {
+        String endpointType = wsConnection.getType().getName();
+        return endpointType.equals(SYNC_CLIENT) || endpointType.equals(ASYNC_CLIENT) ||
+                endpointType.equals(FAILOVER_CLIENT);
     }
 
     public static byte[] getByteChunk(int size, ByteBuf slice) {
@@ -236,6 +428,7 @@ public class WebSocketConnector {
         WebSocketObservabilityUtil.observeResourceInvocation(env, connectionInfo,
                 WebSocketConstants.RESOURCE_NAME_PING);
         try {
+            connectionInfo.onPingSent();
             ChannelFuture future = connectionInfo.getWebSocketConnection().ping(ByteBuffer.wrap(binaryData.getBytes()));
             WebSocketUtil.handlePingWebSocketCallback(balFuture, future, log, connectionInfo, pingCallbackCompleted);
             WebSocketObservabilityUtil.observeSend(WebSocketObservabilityConstants.MESSAGE_TYPE_PING,
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.ballerina.stdlib.websocket.actions.websocketconnector;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.runtime.api.values.BXml;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.client.RpcContext;
+import io.ballerina.stdlib.websocket.client.listener.SyncClientConnectorListener;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+
+/**
+ * Utilities related to the RPC mode of the websocket synchronous client.
+ */
+public class WebSocketRpcConnector {
+
+    public static Object sendRequest(Environment env, BObject wsConnection, Object message, BTypedesc targetType) {
+        SyncClientConnectorListener connectorListener = (SyncClientConnectorListener) wsConnection
+                .getNativeData(WebSocketConstants.CLIENT_LISTENER);
+        RpcContext rpcContext = connectorListener.getRpcContext();
+        if (rpcContext == null) {
+            return WebSocketUtil.createWebsocketError("RPC mode is not enabled in the client",
+                    WebSocketConstants.ErrorCode.Error);
+        }
+        final Future callback = env.markAsync();
+        Object payload = serialize(message);
+        rpcContext.extractCorrelationId(payload, correlationId ->
+                sendRequest(wsConnection, connectorListener, rpcContext, payload, correlationId, callback,
+                        targetType));
+        return null;
+    }
+
+    private static void sendRequest(BObject wsConnection, SyncClientConnectorListener connectorListener,
+                                    RpcContext rpcContext, Object payload, String correlationId, Future callback,
+                                    BTypedesc targetType) {
+        if (correlationId == null) {
+            callback.complete(WebSocketUtil.createWebsocketError("Correlation id not found in the request",
+                    WebSocketConstants.ErrorCode.Error));
+            return;
+        }
+        WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
+                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+        EventLoop eventLoop;
+        try {
+            // The requests are timed out in the event loop of the listener, to which the responses are delivered
+            eventLoop = connectorListener.getEventLoop();
+        } catch (IllegalAccessException e) {
+            callback.complete(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+            return;
+        }
+        RpcContext.PendingRequest request = rpcContext.register(correlationId, callback, targetType, eventLoop);
+        if (request == null) {
+            callback.complete(WebSocketUtil.createWebsocketError(String.format(
+                    "A request with the correlation id '%s' is already waiting for a response", correlationId),
+                    WebSocketConstants.ErrorCode.Error));
+            return;
+        }
+        try {
+            eventLoop.execute(connectorListener::onRequestRegistered);
+            ChannelFuture writeFuture = payload instanceof BString ?
+                    WebSocketConnector.pushText(connectionInfo, ((BString) payload).getValue()) :
+                    WebSocketConnector.pushBinary(connectionInfo, ((BArray) payload).getBytes());
+            writeFuture.addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    connectionInfo.touchOnWrite();
+                } else {
+                    rpcContext.remove(correlationId, request);
+                    request.complete(WebSocketUtil.createErrorByType(future.cause()));
+                }
+            });
+        } catch (IllegalAccessException | IllegalStateException e) {
+            rpcContext.remove(correlationId, request);
+            request.complete(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        }
+    }
+
+    // Serializes the request the same way as `writeMessage`
+    private static Object serialize(Object message) {
+        if (message instanceof BString) {
+            return message;
+        }
+        if (message instanceof BArray && ((BArray) message).getElementType().getTag() == TypeTags.BYTE_TAG) {
+            return message;
+        }
+        if (message instanceof BXml) {
+            return StringUtils.fromString(StringUtils.getStringValue(message, null));
+        }
+        return StringUtils.fromString(StringUtils.getJsonString(message));
+    }
+
+    private WebSocketRpcConnector() {}
+}
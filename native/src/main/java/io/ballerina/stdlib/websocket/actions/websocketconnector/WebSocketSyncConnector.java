@@ -17,14 +17,12 @@ package io.ballerina.stdlib.websocket.actions.websocketconnector;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BTypedesc;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
 import io.ballerina.stdlib.websocket.client.listener.SyncClientConnectorListener;
-import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
-
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Utilities related to websocket synchronous client connector read actions.
@@ -44,21 +42,11 @@ public class WebSocketSyncConnector {
 
     private static void readContentFromConnection(BObject wsConnection, Future callback, BTypedesc... targetType)
             throws IllegalAccessException {
-        WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsConnection
-                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
         SyncClientConnectorListener connectorListener = (SyncClientConnectorListener) wsConnection
                 .getNativeData(WebSocketConstants.CLIENT_LISTENER);
-        @SuppressWarnings(WebSocketConstants.UNCHECKED)
-        long readTimeoutInSeconds = WebSocketUtil.findTimeoutInSeconds(
-                connectionInfo.getWebSocketEndpoint().getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG),
-                WebSocketConstants.ANNOTATION_ATTR_READ_IDLE_TIMEOUT, 0);
-        connectionInfo.getWebSocketConnection().addReadIdleStateHandler(readTimeoutInSeconds);
-        connectorListener.setCallback(callback);
-        if (targetType.length > 0) {
-            connectorListener.setTargetType(targetType[0]);
-        }
-        connectorListener.setFutureCompleted(new AtomicBoolean(false));
-        connectionInfo.getWebSocketConnection().readNextFrame();
+        BTypedesc messageType = targetType.length > 0 ? targetType[0] : null;
+        // The listener state is confined to its event loop, which is kept when the client reconnects
+        connectorListener.getEventLoop().execute(() -> connectorListener.readMessage(callback, messageType));
     }
 
     public static Object readBinaryMessage(Environment env, BObject wsConnection) {
@@ -83,5 +71,26 @@ public class WebSocketSyncConnector {
         return null;
     }
 
+    public static Object readMessages(Environment env, BObject wsConnection, long maxMessages, BDecimal timeout,
+                                      BTypedesc targetType) {
+        if (maxMessages <= 0) {
+            return WebSocketUtil.createWebsocketError("Invalid maximum number of messages: " + maxMessages,
+                    WebSocketConstants.ErrorCode.Error);
+        }
+        final Future callback = env.markAsync();
+        try {
+            SyncClientConnectorListener connectorListener = (SyncClientConnectorListener) wsConnection
+                    .getNativeData(WebSocketConstants.CLIENT_LISTENER);
+            int batchSize = (int) Math.min(maxMessages, Integer.MAX_VALUE);
+            long timeoutInMillis = (long) (timeout.floatValue() * 1000);
+            connectorListener.getEventLoop().execute(() ->
+                    connectorListener.readMessages(callback, targetType, batchSize, timeoutInMillis));
+        } catch (IllegalAccessException e) {
+            callback.complete(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        }
+        return null;
+    }
+
     private WebSocketSyncConnector() {}
 }
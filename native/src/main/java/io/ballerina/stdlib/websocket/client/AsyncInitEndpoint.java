@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.http.transport.contract.HttpWsConnectorFactory;
+import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeFuture;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketClientConnector;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketClientConnectorConfig;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketService;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.client.listener.AsyncClientConnectorListener;
+import io.ballerina.stdlib.websocket.client.listener.AsyncClientHandshakeListener;
+
+import java.net.URI;
+
+/**
+ * Initialize the WebSocket asynchronous client. Unlike the synchronous client, the connection is read with
+ * auto-read enabled and every frame is dispatched to the callback service attached to the client.
+ *
+ */
+public class AsyncInitEndpoint {
+
+    public static Object initEndpoint(Environment env, BObject wsAsyncClient, BObject callbackService) {
+        final Future balFuture = env.markAsync();
+        try {
+            @SuppressWarnings(WebSocketConstants.UNCHECKED) BMap<BString, Object> clientEndpointConfig = wsAsyncClient
+                    .getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG);
+            String remoteUrl = wsAsyncClient.getStringValue(WebSocketConstants.CLIENT_URL_CONFIG).getValue();
+            String scheme = URI.create(remoteUrl).getScheme();
+            if (scheme == null) {
+                balFuture.complete(WebSocketUtil.getWebSocketError("Malformed URL: " + remoteUrl,
+                        null, WebSocketConstants.ErrorCode.Error.errorCode(), null));
+                return null;
+            }
+            callbackService.addNativeData(WebSocketConstants.CONSTRAINT_VALIDATION,
+                    clientEndpointConfig.getBooleanValue(WebSocketConstants.ANNOTATION_ATTR_VALIDATION_ENABLED));
+            WebSocketService wsService = new WebSocketService(callbackService, env.getRuntime());
+            HttpWsConnectorFactory connectorFactory = ClientConnectorGroups.getConnectorFactory(clientEndpointConfig);
+            WebSocketClientConnectorConfig clientConnectorConfig = new WebSocketClientConnectorConfig(remoteUrl);
+            clientConnectorConfig.setAutoRead(true); // Frames are pushed to the callback service as they arrive
+            SyncInitEndpoint.populateClientConnectorConfig(clientEndpointConfig, clientConnectorConfig, scheme);
+            WebSocketClientConnector clientConnector = connectorFactory.createWsClientConnector(clientConnectorConfig);
+            wsAsyncClient.addNativeData(WebSocketConstants.CONNECTOR_FACTORY, connectorFactory);
+            wsAsyncClient.addNativeData(WebSocketConstants.CLIENT_CONNECTOR, clientConnector);
+            wsAsyncClient.addNativeData(WebSocketConstants.CALL_BACK_SERVICE, wsService);
+            wsAsyncClient.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE,
+                    clientConnectorConfig.getMaxFrameSize());
+            wsAsyncClient.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE,
+                    clientEndpointConfig.getIntValue(WebSocketConstants.ANNOTATION_ATTR_MAX_MESSAGE_SIZE));
+            AsyncClientConnectorListener clientConnectorListener = new AsyncClientConnectorListener();
+            wsAsyncClient.addNativeData(WebSocketConstants.CLIENT_LISTENER, clientConnectorListener);
+            ClientHandshakeFuture handshakeFuture = clientConnector.connect();
+            handshakeFuture.setWebSocketConnectorListener(clientConnectorListener);
+            handshakeFuture.setClientHandshakeListener(new AsyncClientHandshakeListener(wsAsyncClient, wsService,
+                    clientConnectorListener, balFuture));
+        } catch (BError e) {
+            balFuture.complete(e);
+        } catch (Exception e) {
+            balFuture.complete(WebSocketUtil.getWebSocketError(
+                    e.getMessage(), null, WebSocketConstants.ErrorCode.Error.errorCode(), null));
+        }
+        return null;
+    }
+
+    private AsyncInitEndpoint() {
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.http.api.HttpUtil;
+import io.ballerina.stdlib.http.transport.contract.HttpWsConnectorFactory;
+import io.ballerina.stdlib.http.transport.contractimpl.DefaultHttpWsConnectorFactory;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the connector factories shared among the WebSocket clients. A factory owns the event loop group of the
+ * clients, hence the clients of the same group share the I/O threads and the number of threads does not grow with
+ * the number of clients.
+ *
+ */
+public class ClientConnectorGroups {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientConnectorGroups.class);
+    private static final BString CONNECTOR_GROUP = StringUtils.fromString("connectorGroup");
+    private static final BString GROUP_NAME = StringUtils.fromString("name");
+    private static final BString GROUP_IO_THREADS = StringUtils.fromString("ioThreads");
+    // Client connector factories never accept connections, hence the server groups are kept to a single thread
+    private static final int SERVER_SOCKET_THREADS = 1;
+    private static final Map<String, ConnectorGroup> CONNECTOR_GROUPS = new ConcurrentHashMap<>();
+
+    /**
+     * Gives the connector factory of the group configured for the client. A dedicated factory is created if the
+     * client is not configured with a connector group. An error is thrown if the group
+     * exists with a different number of I/O threads.
+     *
+     * @param clientEndpointConfig - the client endpoint configurations
+     * @return the connector factory to be used by the client
+     */
+    public static HttpWsConnectorFactory getConnectorFactory(BMap<BString, Object> clientEndpointConfig) {
+        @SuppressWarnings(WebSocketConstants.UNCHECKED)
+        BMap<BString, Object> groupConfig = (BMap<BString, Object>) clientEndpointConfig
+                .getMapValue(CONNECTOR_GROUP);
+        if (groupConfig == null) {
+            return HttpUtil.createHttpWsConnectionFactory();
+        }
+        String groupName = groupConfig.getStringValue(GROUP_NAME).getValue();
+        int configuredThreads = Math.toIntExact(groupConfig.getIntValue(GROUP_IO_THREADS));
+        int ioThreads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors() * 2;
+        ConnectorGroup connectorGroup = CONNECTOR_GROUPS.computeIfAbsent(groupName,
+                name -> createConnectorGroup(name, ioThreads));
+        if (connectorGroup.ioThreads != ioThreads) {
+            throw WebSocketUtil.createWebsocketError(String.format(
+                    "Connector group '%s' already exists with %d I/O threads, hence it cannot use %d I/O threads",
+                    groupName, connectorGroup.ioThreads, ioThreads), WebSocketConstants.ErrorCode.Error);
+        }
+        return connectorGroup.connectorFactory;
+    }
+
+    private static ConnectorGroup createConnectorGroup(String groupName, int ioThreads) {
+        logger.debug("Creating the client connector group '{}' with {} I/O threads", groupName, ioThreads);
+        return new ConnectorGroup(new DefaultHttpWsConnectorFactory(SERVER_SOCKET_THREADS, SERVER_SOCKET_THREADS,
+                ioThreads), ioThreads);
+    }
+
+    /**
+     * A connector factory shared by the clients of a group and the number of its I/O threads.
+     */
+    private static class ConnectorGroup {
+        private final HttpWsConnectorFactory connectorFactory;
+        private final int ioThreads;
+
+        ConnectorGroup(HttpWsConnectorFactory connectorFactory, int ioThreads) {
+            this.connectorFactory = connectorFactory;
+            this.ioThreads = ioThreads;
+        }
+    }
+
+    private ClientConnectorGroups() {
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeFuture;
+import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeListener;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketClientConnector;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnectorListener;
+import io.ballerina.stdlib.http.transport.message.HttpCarbonResponse;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects the target of the failover client. A connection attempt goes through the targets in the order of their
+ * health without waiting in between, and the retry configurations of the client apply only once all the targets
+ * have failed. The healthiest target is the one with the fewest consecutive failures and the lowest handshake
+ * latency.
+ *
+ */
+public class FailoverContext {
+
+    private static final Logger logger = LoggerFactory.getLogger(FailoverContext.class);
+    // Weight of the latest handshake in the smoothed handshake latency of a target
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.25;
+
+    private final List<Target> targets = new ArrayList<>();
+    private final Set<Target> attemptedTargets = new HashSet<>();
+    private Target currentTarget;
+
+    public FailoverContext(String[] targetUrls, List<WebSocketClientConnector> clientConnectors) {
+        for (int i = 0; i < targetUrls.length; i++) {
+            targets.add(new Target(targetUrls[i], clientConnectors.get(i)));
+        }
+    }
+
+    /**
+     * Connects to the healthiest target. If the client is connected, the connection to the current target is
+     * considered lost.
+     *
+     * @param webSocketClient   - the failover client
+     * @param connectorListener - the listener of the connection
+     * @param handshakeListener - the listener notified once a target is connected or all the targets have failed
+     */
+    public void connect(BObject webSocketClient, WebSocketConnectorListener connectorListener,
+                        ClientHandshakeListener handshakeListener) {
+        synchronized (this) {
+            if (currentTarget != null) {
+                currentTarget.consecutiveFailures++;
+                currentTarget = null;
+            }
+            attemptedTargets.clear();
+        }
+        connectToNextTarget(webSocketClient, connectorListener, handshakeListener);
+    }
+
+    private boolean connectToNextTarget(BObject webSocketClient, WebSocketConnectorListener connectorListener,
+                                        ClientHandshakeListener handshakeListener) {
+        Target target = selectTarget();
+        if (target == null) {
+            return false;
+        }
+        webSocketClient.set(WebSocketConstants.CLIENT_URL_CONFIG, StringUtils.fromString(target.url));
+        webSocketClient.addNativeData(WebSocketConstants.CLIENT_CONNECTOR, target.clientConnector);
+        ClientHandshakeFuture handshakeFuture = target.clientConnector.connect();
+        handshakeFuture.setWebSocketConnectorListener(connectorListener);
+        if (handshakeListener != null) {
+            handshakeFuture.setClientHandshakeListener(new TargetHandshakeListener(target, webSocketClient,
+                    connectorListener, handshakeListener));
+        }
+        return true;
+    }
+
+    private synchronized Target selectTarget() {
+        Target selected = null;
+        for (Target target : targets) {
+            if (!attemptedTargets.contains(target) && (selected == null || target.isHealthierThan(selected))) {
+                selected = target;
+            }
+        }
+        if (selected != null) {
+            attemptedTargets.add(selected);
+        }
+        return selected;
+    }
+
+    private synchronized void onSuccess(Target target, long handshakeLatency) {
+        target.consecutiveFailures = 0;
+        target.handshakeLatency = target.handshakeLatency < 0 ? handshakeLatency :
+                (long) (LATENCY_SMOOTHING_FACTOR * handshakeLatency +
+                        (1 - LATENCY_SMOOTHING_FACTOR) * target.handshakeLatency);
+        currentTarget = target;
+    }
+
+    private synchronized void onFailure(Target target) {
+        target.consecutiveFailures++;
+    }
+
+    /**
+     * Notifies the handshake of a target to the failover context and moves on to the next target if it fails.
+     */
+    private class TargetHandshakeListener implements ClientHandshakeListener {
+
+        private final Target target;
+        private final BObject webSocketClient;
+        private final WebSocketConnectorListener connectorListener;
+        private final ClientHandshakeListener handshakeListener;
+        private final long startTime = System.nanoTime();
+
+        TargetHandshakeListener(Target target, BObject webSocketClient, WebSocketConnectorListener connectorListener,
+                                ClientHandshakeListener handshakeListener) {
+            this.target = target;
+            this.webSocketClient = webSocketClient;
+            this.connectorListener = connectorListener;
+            this.handshakeListener = handshakeListener;
+        }
+
+        @Override
+        public void onSuccess(WebSocketConnection webSocketConnection, HttpCarbonResponse carbonResponse) {
+            FailoverContext.this.onSuccess(target, System.nanoTime() - startTime);
+            handshakeListener.onSuccess(webSocketConnection, carbonResponse);
+        }
+
+        @Override
+        public void onError(Throwable throwable, HttpCarbonResponse response) {
+            onFailure(target);
+            logger.debug("Failed to connect to the target {}: {}", target.url, throwable.getMessage());
+            if (connectToNextTarget(webSocketClient, connectorListener, handshakeListener)) {
+                return;
+            }
+            handshakeListener.onError(throwable, response);
+        }
+    }
+
+    /**
+     * The health of a target of the failover client.
+     */
+    private static class Target {
+        private final String url;
+        private final WebSocketClientConnector clientConnector;
+        private int consecutiveFailures = 0;
+        // Smoothed handshake latency in nanoseconds, which is negative until the target is connected
+        private long handshakeLatency = -1;
+
+        Target(String url, WebSocketClientConnector clientConnector) {
+            this.url = url;
+            this.clientConnector = clientConnector;
+        }
+
+        boolean isHealthierThan(Target other) {
+            if (consecutiveFailures != other.consecutiveFailures) {
+                return consecutiveFailures < other.consecutiveFailures;
+            }
+            return handshakeLatency >= 0 && (other.handshakeLatency < 0 || handshakeLatency < other.handshakeLatency);
+        }
+    }
+}
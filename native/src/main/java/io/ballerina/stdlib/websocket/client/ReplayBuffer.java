@@ -0,0 +1,189 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.websocket.ModuleUtils;
+import io.ballerina.stdlib.websocket.actions.websocketconnector.WebSocketConnector;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static io.ballerina.stdlib.websocket.WebSocketConstants.BALLERINA_ORG;
+import static io.ballerina.stdlib.websocket.WebSocketConstants.PACKAGE_WEBSOCKET;
+
+/**
+ * Retains the messages written by the client until they are acknowledged, so that they can be written again once
+ * the client reconnects. The buffer is bounded by the number of messages and their size, and the oldest messages
+ * are dropped when it is full. A limit, which is not positive, does not apply. Messages are acknowledged by the
+ * `websocket:ReplayAcknowledger` of the client. Without an acknowledger, a message is replayed once and it is dropped
+ * when it is written to the new connection. The buffer also holds the messages written to a detached session of a
+ * service, in which case there is no acknowledger. The messages are added and dropped under the lock of the buffer,
+ * as the acknowledger and the writes of the replay complete concurrently with the writes of the client.
+ *
+ */
+public class ReplayBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayBuffer.class);
+    private static final String ACKNOWLEDGE_FUNCTION = "acknowledge";
+
+    private final int maxMessages;
+    private final long maxBytes;
+    private final BObject acknowledger;
+    private final Runtime runtime;
+    private final StrandMetadata acknowledgeMetaData;
+    private final Deque<OutboundMessage> messages = new ArrayDeque<>();
+    private long retainedBytes = 0;
+
+    public ReplayBuffer(int maxMessages, long maxBytes, BObject acknowledger, Runtime runtime) {
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+        this.acknowledger = acknowledger;
+        this.runtime = runtime;
+        this.acknowledgeMetaData = new StrandMetadata(BALLERINA_ORG, PACKAGE_WEBSOCKET,
+                ModuleUtils.getWebsocketModule().getVersion(), ACKNOWLEDGE_FUNCTION);
+    }
+
+    public void retain(String text) {
+        retain(new OutboundMessage(text, null));
+    }
+
+    public void retain(byte[] binary) {
+        retain(new OutboundMessage(null, binary));
+    }
+
+    private synchronized void retain(OutboundMessage message) {
+        messages.add(message);
+        retainedBytes += message.size();
+        while (!messages.isEmpty() && (maxMessages > 0 && messages.size() > maxMessages ||
+                maxBytes > 0 && retainedBytes > maxBytes)) {
+            retainedBytes -= messages.poll().size();
+        }
+    }
+
+    private synchronized void drop(OutboundMessage message) {
+        if (messages.remove(message)) {
+            retainedBytes -= message.size();
+        }
+    }
+
+    /**
+     * Drops the oldest messages as they are acknowledged.
+     *
+     * @param count - the number of messages acknowledged
+     */
+    public synchronized void acknowledge(long count) {
+        for (long i = 0; i < count && !messages.isEmpty(); i++) {
+            retainedBytes -= messages.poll().size();
+        }
+    }
+
+    public boolean hasAcknowledger() {
+        return acknowledger != null;
+    }
+
+    /**
+     * Passes a received message to the acknowledger, which gives the number of messages acknowledged by it.
+     *
+     * @param message - the received message as a `string` or a `byte[]`
+     */
+    public void onMessageReceived(Object message) {
+        runtime.invokeMethodAsyncConcurrently(acknowledger, ACKNOWLEDGE_FUNCTION, null, acknowledgeMetaData,
+                new Callback() {
+                    @Override
+                    public void notifySuccess(Object result) {
+                        if (result instanceof Long) {
+                            acknowledge((Long) result);
+                        }
+                    }
+
+                    @Override
+                    public void notifyFailure(BError error) {
+                        logger.debug("Failed to acknowledge the retained messages: {}", error.getMessage());
+                    }
+                }, null, PredefinedTypes.TYPE_INT, message, true);
+    }
+
+    /**
+     * Writes the retained messages to a new connection in the order they were written. This should be called in the
+     * event loop of the connection before it is given to the client, so that the messages are written before the
+     * new messages. Without an acknowledger, the messages written to the new connection are dropped, hence they are
+     * not replayed again when the client reconnects later.
+     *
+     * @param connectionInfo - the new connection
+     */
+    public void replay(WebSocketConnectionInfo connectionInfo) {
+        List<OutboundMessage> retainedMessages;
+        synchronized (this) {
+            retainedMessages = new ArrayList<>(messages);
+        }
+        try {
+            for (OutboundMessage message : retainedMessages) {
+                ChannelFuture future = message.isText() ? WebSocketConnector.pushText(connectionInfo, message.text) :
+                        WebSocketConnector.pushBinary(connectionInfo, message.binary);
+                future.addListener((ChannelFutureListener) channelFuture -> {
+                    if (channelFuture.isSuccess()) {
+                        connectionInfo.touchOnWrite();
+                        if (!hasAcknowledger()) {
+                            drop(message);
+                        }
+                    } else {
+                        logger.debug("Failed to replay a retained message: {}", channelFuture.cause().getMessage());
+                    }
+                });
+            }
+        } catch (IllegalAccessException | IllegalStateException e) {
+            logger.debug("Failed to replay the retained messages: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A message retained in the buffer.
+     */
+    private static class OutboundMessage {
+        private final String text;
+        private final byte[] binary;
+
+        OutboundMessage(String text, byte[] binary) {
+            this.text = text;
+            this.binary = binary;
+        }
+
+        boolean isText() {
+            return text != null;
+        }
+
+        // The length of a text message is used as its size to avoid encoding it only for the accounting
+        long size() {
+            return isText() ? text.length() : binary.length;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client;
+
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.async.Callback;
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
+import io.ballerina.stdlib.websocket.ModuleUtils;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.netty.channel.EventLoop;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static io.ballerina.stdlib.websocket.WebSocketConstants.BALLERINA_ORG;
+import static io.ballerina.stdlib.websocket.WebSocketConstants.PACKAGE_WEBSOCKET;
+
+/**
+ * Correlates the requests sent in the RPC mode of the synchronous client with their responses. The correlation id
+ * is taken from a JSON field of the messages or from the `websocket:CorrelationIdExtractor` of the client. The
+ * requests waiting for responses are timed out in the idle timeout wheel of the event loop of the connection.
+ *
+ */
+public class RpcContext {
+
+    private static final String EXTRACT_FUNCTION = "extract";
+
+    private final BString correlationIdField;
+    private final long timeoutInMillis;
+    private final BObject correlationIdExtractor;
+    private final Runtime runtime;
+    private final StrandMetadata extractMetaData;
+    private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+
+    public RpcContext(BString correlationIdField, long timeoutInMillis, BObject correlationIdExtractor,
+                      Runtime runtime) {
+        this.correlationIdField = correlationIdField;
+        this.timeoutInMillis = timeoutInMillis;
+        this.correlationIdExtractor = correlationIdExtractor;
+        this.runtime = runtime;
+        this.extractMetaData = new StrandMetadata(BALLERINA_ORG, PACKAGE_WEBSOCKET,
+                ModuleUtils.getWebsocketModule().getVersion(), EXTRACT_FUNCTION);
+    }
+
+    public boolean hasPendingRequests() {
+        return !pendingRequests.isEmpty();
+    }
+
+    /**
+     * Extracts the correlation id of a message. The id is given to the consumer synchronously unless an extractor
+     * is configured, in which case it is given once the extractor returns.
+     *
+     * @param message  - the message as a `string` or a `byte[]`
+     * @param consumer - the consumer of the correlation id, which is `null` if the message does not carry one
+     */
+    public void extractCorrelationId(Object message, Consumer<String> consumer) {
+        if (correlationIdExtractor == null) {
+            consumer.accept(getCorrelationIdField(message));
+            return;
+        }
+        runtime.invokeMethodAsyncConcurrently(correlationIdExtractor, EXTRACT_FUNCTION, null, extractMetaData,
+                new Callback() {
+                    @Override
+                    public void notifySuccess(Object result) {
+                        consumer.accept(result instanceof BString ? ((BString) result).getValue() : null);
+                    }
+
+                    @Override
+                    public void notifyFailure(BError error) {
+                        consumer.accept(null);
+                    }
+                }, null, PredefinedTypes.TYPE_ANY, message, true);
+    }
+
+    private String getCorrelationIdField(Object message) {
+        String text = message instanceof BArray ? new String(((BArray) message).getBytes(), StandardCharsets.UTF_8) :
+                ((BString) message).getValue();
+        Object json;
+        try {
+            json = JsonUtils.parse(text);
+        } catch (BError e) {
+            return null;
+        }
+        if (json instanceof BMap) {
+            Object correlationId = ((BMap<?, ?>) json).get(correlationIdField);
+            return correlationId == null ? null : StringUtils.getStringValue(correlationId, null);
+        }
+        return null;
+    }
+
+    /**
+     * Registers a request waiting for its response. The request is completed with an error if the response is not
+     * received within the timeout.
+     *
+     * @param correlationId - the correlation id of the request
+     * @param callback      - the future to be completed with the response
+     * @param targetType    - the type to which the response is bound
+     * @param eventLoop     - the event loop of the connection
+     * @return the pending request or `null` if a request with the same correlation id is already waiting
+     */
+    public PendingRequest register(String correlationId, Future callback, BTypedesc targetType,
+                                   EventLoop eventLoop) {
+        PendingRequest request = new PendingRequest(callback, targetType);
+        if (pendingRequests.putIfAbsent(correlationId, request) != null) {
+            return null;
+        }
+        request.timeout = IdleTimeoutWheel.schedule(eventLoop, timeoutInMillis, () -> {
+            if (pendingRequests.remove(correlationId, request)) {
+                request.complete(WebSocketUtil.createWebsocketError(
+                        "Response not received within the timeout for the request: " + correlationId,
+                        WebSocketConstants.ErrorCode.ReadTimedOutError));
+            }
+        }, false);
+        return request;
+    }
+
+    public PendingRequest remove(String correlationId) {
+        return correlationId == null ? null : pendingRequests.remove(correlationId);
+    }
+
+    public void remove(String correlationId, PendingRequest request) {
+        pendingRequests.remove(correlationId, request);
+    }
+
+    /**
+     * Fails all the requests waiting for responses.
+     *
+     * @param error - the error with which the requests are completed
+     */
+    public void failPendingRequests(BError error) {
+        Iterator<PendingRequest> iterator = pendingRequests.values().iterator();
+        while (iterator.hasNext()) {
+            PendingRequest request = iterator.next();
+            iterator.remove();
+            request.complete(error);
+        }
+    }
+
+    /**
+     * A request waiting for its response.
+     */
+    public static class PendingRequest {
+        private final Future callback;
+        private final BTypedesc targetType;
+        private final AtomicBoolean futureCompleted = new AtomicBoolean(false);
+        private volatile IdleTimeoutWheel.Timeout timeout;
+
+        PendingRequest(Future callback, BTypedesc targetType) {
+            this.callback = callback;
+            this.targetType = targetType;
+        }
+
+        public BTypedesc getTargetType() {
+            return targetType;
+        }
+
+        public void complete(Object result) {
+            if (futureCompleted.compareAndSet(false, true)) {
+                if (timeout != null) {
+                    timeout.cancel();
+                }
+                callback.complete(result);
+            }
+        }
+    }
+}
@@ -20,7 +20,9 @@ package io.ballerina.stdlib.websocket.client;
 
 import io.ballerina.runtime.api.Environment;
 import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
@@ -35,6 +37,8 @@ import io.ballerina.stdlib.websocket.WebSocketUtil;
 import io.ballerina.stdlib.websocket.client.listener.SyncClientConnectorListener;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -46,27 +50,58 @@ public class SyncInitEndpoint {
     private static final String MAX_WAIT_INTERVAL = "maxWaitInterval";
     private static final String MAX_COUNT = "maxCount";
     private static final String BACK_OF_FACTOR = "backOffFactor";
+    private static final BString PREFETCH = StringUtils.fromString("prefetch");
+    private static final BString MAX_MESSAGES = StringUtils.fromString("maxMessages");
+    private static final BString MAX_BYTES = StringUtils.fromString("maxBytes");
+    private static final BString RPC = StringUtils.fromString("rpc");
+    private static final BString RPC_CORRELATION_ID_FIELD = StringUtils.fromString("correlationIdField");
+    private static final BString RPC_TIMEOUT = StringUtils.fromString("timeout");
+    private static final BString CORRELATION_ID_EXTRACTOR = StringUtils.fromString("correlationIdExtractor");
+    private static final BString REPLAY = StringUtils.fromString("replay");
+    private static final BString REPLAY_ACKNOWLEDGER = StringUtils.fromString("replayAcknowledger");
 
     public static Object initEndpoint(Environment env, BObject wsSyncClient) {
+        String remoteUrl = wsSyncClient.getStringValue(WebSocketConstants.CLIENT_URL_CONFIG).getValue();
+        return initEndpoint(env, wsSyncClient, new String[]{remoteUrl}, false);
+    }
+
+    public static Object initFailoverEndpoint(Environment env, BObject wsFailoverClient) {
+        String[] targetUrls = wsFailoverClient.getArrayValue(WebSocketConstants.CLIENT_TARGET_URLS_CONFIG)
+                .getStringArray();
+        if (targetUrls.length == 0) {
+            return WebSocketUtil.getWebSocketError("No target URLs configured for the failover client",
+                    null, WebSocketConstants.ErrorCode.Error.errorCode(), null);
+        }
+        return initEndpoint(env, wsFailoverClient, targetUrls, true);
+    }
+
+    private static Object initEndpoint(Environment env, BObject wsSyncClient, String[] targetUrls,
+                                       boolean failover) {
         final Future balFuture = env.markAsync();
         AtomicBoolean callbackCompleted = new AtomicBoolean(false);
         try {
             @SuppressWarnings(WebSocketConstants.UNCHECKED) BMap<BString, Object> clientEndpointConfig = wsSyncClient
                     .getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG);
-            String remoteUrl = wsSyncClient.getStringValue(WebSocketConstants.CLIENT_URL_CONFIG).getValue();
             BObject callbackService = wsSyncClient.getObjectValue(WebSocketConstants.SYNC_CLIENT_SERVICE_CONFIG);
             WebSocketService wsService = WebSocketUtil
                     .validateAndCreateWebSocketService(env.getRuntime(), callbackService);
-            HttpWsConnectorFactory connectorFactory = HttpUtil.createHttpWsConnectionFactory();
-            WebSocketClientConnectorConfig clientConnectorConfig = new WebSocketClientConnectorConfig(remoteUrl);
-            String scheme = URI.create(remoteUrl).getScheme();
-            if (scheme == null) {
-                balFuture.complete(WebSocketUtil.getWebSocketError("Malformed URL: " + remoteUrl,
-                        null, WebSocketConstants.ErrorCode.Error.errorCode(), null));
-                callbackCompleted.set(true);
-                return null;
+            HttpWsConnectorFactory connectorFactory = ClientConnectorGroups.getConnectorFactory(clientEndpointConfig);
+            List<WebSocketClientConnector> clientConnectors = new ArrayList<>(targetUrls.length);
+            int maxFrameSize = WebSocketConstants.DEFAULT_MAX_FRAME_SIZE;
+            for (String remoteUrl : targetUrls) {
+                WebSocketClientConnectorConfig clientConnectorConfig = new WebSocketClientConnectorConfig(remoteUrl);
+                String scheme = URI.create(remoteUrl).getScheme();
+                if (scheme == null) {
+                    balFuture.complete(WebSocketUtil.getWebSocketError("Malformed URL: " + remoteUrl,
+                            null, WebSocketConstants.ErrorCode.Error.errorCode(), null));
+                    callbackCompleted.set(true);
+                    return null;
+                }
+                clientConnectorConfig.setAutoRead(false); // Frames should be read only when client starts reading
+                populateClientConnectorConfig(clientEndpointConfig, clientConnectorConfig, scheme);
+                maxFrameSize = clientConnectorConfig.getMaxFrameSize();
+                clientConnectors.add(connectorFactory.createWsClientConnector(clientConnectorConfig));
             }
-            populateSyncClientConnectorConfig(clientEndpointConfig, clientConnectorConfig, scheme);
             if (WebSocketUtil.hasRetryConfig(wsSyncClient)) {
                 @SuppressWarnings(WebSocketConstants.UNCHECKED)
                 BMap<BString, Object> retryConfig = (BMap<BString, Object>) clientEndpointConfig
@@ -75,13 +110,26 @@ public class SyncInitEndpoint {
                 populateRetryConnectorConfig(retryConfig, retryConnectorConfig);
                 wsSyncClient.addNativeData(WebSocketConstants.RETRY_CONFIG.toString(), retryConnectorConfig);
             }
-            WebSocketClientConnector clientConnector = connectorFactory.createWsClientConnector(clientConnectorConfig);
+            if (failover) {
+                wsSyncClient.addNativeData(WebSocketConstants.FAILOVER_CONTEXT,
+                        new FailoverContext(targetUrls, clientConnectors));
+            }
+            @SuppressWarnings(WebSocketConstants.UNCHECKED)
+            BMap<BString, Object> replayConfig = (BMap<BString, Object>) clientEndpointConfig.getMapValue(REPLAY);
+            if (replayConfig != null) {
+                Object replayAcknowledger = wsSyncClient.get(REPLAY_ACKNOWLEDGER);
+                wsSyncClient.addNativeData(WebSocketConstants.REPLAY_BUFFER, new ReplayBuffer(
+                        Math.toIntExact(replayConfig.getIntValue(MAX_MESSAGES)), replayConfig.getIntValue(MAX_BYTES),
+                        replayAcknowledger instanceof BObject ? (BObject) replayAcknowledger : null, env.getRuntime()));
+            }
             wsSyncClient.addNativeData(WebSocketConstants.CONNECTOR_FACTORY, connectorFactory);
-            wsSyncClient.addNativeData(WebSocketConstants.CLIENT_CONNECTOR, clientConnector);
+            wsSyncClient.addNativeData(WebSocketConstants.CLIENT_CONNECTOR, clientConnectors.get(0));
             wsSyncClient.addNativeData(WebSocketConstants.CALL_BACK_SERVICE, wsService);
-            wsSyncClient.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE,
-                    clientConnectorConfig.getMaxFrameSize());
-            SyncClientConnectorListener syncClientConnectorListener = new SyncClientConnectorListener();
+            wsSyncClient.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE, maxFrameSize);
+            wsSyncClient.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE,
+                    clientEndpointConfig.getIntValue(WebSocketConstants.ANNOTATION_ATTR_MAX_MESSAGE_SIZE));
+            SyncClientConnectorListener syncClientConnectorListener = createConnectorListener(wsSyncClient,
+                    clientEndpointConfig, env.getRuntime());
             wsSyncClient.addNativeData(WebSocketConstants.CLIENT_LISTENER, syncClientConnectorListener);
             WebSocketUtil.establishWebSocketConnection(wsSyncClient, wsService, balFuture, callbackCompleted);
         } catch (Exception e) {
@@ -101,10 +149,32 @@ public class SyncInitEndpoint {
         return null;
     }
 
-    private static void populateSyncClientConnectorConfig(BMap<BString, Object> clientEndpointConfig,
+    private static SyncClientConnectorListener createConnectorListener(BObject wsSyncClient,
+                                                                       BMap<BString, Object> clientEndpointConfig,
+                                                                       Runtime runtime) {
+        int maxMessages = 0;
+        long maxBytes = 0;
+        @SuppressWarnings(WebSocketConstants.UNCHECKED)
+        BMap<BString, Object> prefetchConfig = (BMap<BString, Object>) clientEndpointConfig.getMapValue(PREFETCH);
+        if (prefetchConfig != null) {
+            maxMessages = Math.toIntExact(prefetchConfig.getIntValue(MAX_MESSAGES));
+            maxBytes = prefetchConfig.getIntValue(MAX_BYTES);
+        }
+        RpcContext rpcContext = null;
+        @SuppressWarnings(WebSocketConstants.UNCHECKED)
+        BMap<BString, Object> rpcConfig = (BMap<BString, Object>) clientEndpointConfig.getMapValue(RPC);
+        if (rpcConfig != null) {
+            long timeoutInMillis = (long) (((BDecimal) rpcConfig.get(RPC_TIMEOUT)).floatValue() * 1000);
+            Object correlationIdExtractor = wsSyncClient.get(CORRELATION_ID_EXTRACTOR);
+            rpcContext = new RpcContext(rpcConfig.getStringValue(RPC_CORRELATION_ID_FIELD), timeoutInMillis,
+                    correlationIdExtractor instanceof BObject ? (BObject) correlationIdExtractor : null, runtime);
+        }
+        return new SyncClientConnectorListener(maxMessages, maxBytes, rpcContext);
+    }
+
+    static void populateClientConnectorConfig(BMap<BString, Object> clientEndpointConfig,
             WebSocketClientConnectorConfig clientConnectorConfig,
             String scheme) {
-        clientConnectorConfig.setAutoRead(false); // Frames should be read only when client starts reading
         clientConnectorConfig.setSubProtocols(WebSocketUtil.findNegotiableSubProtocols(clientEndpointConfig));
         @SuppressWarnings(WebSocketConstants.UNCHECKED)
         long handshakeTimeoutInSeconds = WebSocketUtil.findTimeoutInSeconds(clientEndpointConfig,
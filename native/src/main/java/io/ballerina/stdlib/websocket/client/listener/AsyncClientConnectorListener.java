@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.stdlib.websocket.client.listener;
+
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketBinaryMessage;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketCloseMessage;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnectorListener;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketControlMessage;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketHandshaker;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketTextMessage;
+import io.ballerina.stdlib.websocket.WebSocketResourceDispatcher;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+
+/**
+ * AsyncClientConnectorListener implements {@link WebSocketConnectorListener} for the asynchronous client. Frames
+ * are dispatched to the callback service through the {@link WebSocketResourceDispatcher}, the same way the
+ * listener dispatches them to a `websocket:Service`.
+ *
+ */
+public class AsyncClientConnectorListener implements WebSocketConnectorListener {
+
+    private WebSocketConnectionInfo connectionInfo = null;
+    private WebSocketConnectionInfo clientConnectionInfo = null;
+
+    /**
+     * Sets the connections of the client.
+     *
+     * @param connectionInfo       - the connection of the `websocket:Caller` given to the callback service
+     * @param clientConnectionInfo - the connection of the `websocket:AsyncClient`
+     */
+    public void setConnectionInfo(WebSocketConnectionInfo connectionInfo,
+                                  WebSocketConnectionInfo clientConnectionInfo) {
+        this.connectionInfo = connectionInfo;
+        this.clientConnectionInfo = clientConnectionInfo;
+    }
+
+    @Override
+    public void onHandshake(WebSocketHandshaker webSocketHandshaker) {}
+
+    @Override
+    public void onMessage(WebSocketTextMessage webSocketTextMessage) {
+        connectionInfo.touch();
+        WebSocketResourceDispatcher.dispatchOnText(connectionInfo, webSocketTextMessage);
+    }
+
+    @Override
+    public void onMessage(WebSocketBinaryMessage webSocketBinaryMessage) {
+        connectionInfo.touch();
+        WebSocketResourceDispatcher.dispatchOnBinary(connectionInfo, webSocketBinaryMessage);
+    }
+
+    @Override
+    public void onMessage(WebSocketControlMessage webSocketControlMessage) {
+        connectionInfo.touch();
+        WebSocketResourceDispatcher.dispatchOnPingOnPong(connectionInfo, webSocketControlMessage, false);
+    }
+
+    @Override
+    public void onMessage(WebSocketCloseMessage webSocketCloseMessage) {
+        connectionInfo.touch();
+        WebSocketResourceDispatcher.dispatchOnClose(connectionInfo, webSocketCloseMessage, false);
+    }
+
+    @Override
+    public void onError(WebSocketConnection webSocketConnection, Throwable throwable) {
+        // The callback service is registered against the channel, hence it is resolved the same way as the server
+        WebSocketResourceDispatcher.dispatchOnError(connectionInfo, throwable, true);
+    }
+
+    @Override
+    public void onIdleTimeout(WebSocketControlMessage controlMessage) {
+        WebSocketResourceDispatcher.dispatchOnIdleTimeout(connectionInfo);
+    }
+
+    @Override
+    public void onClose(WebSocketConnection webSocketConnection) {
+        WebSocketObservabilityUtil.observeClose(connectionInfo);
+        connectionInfo.cancelIdleTimeout();
+        connectionInfo.getService().removeWsService(webSocketConnection.getChannelId());
+        try {
+            WebSocketUtil.setListenerOpenField(connectionInfo);
+            WebSocketUtil.setListenerOpenField(clientConnectionInfo);
+        } catch (IllegalAccessException e) {
+            // Ignore as it is not possible have an Illegal access
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.websocket.client.listener;
+
+import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.http.api.HttpUtil;
+import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeListener;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.http.transport.message.HttpCarbonResponse;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
+import io.ballerina.stdlib.websocket.ModuleUtils;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketService;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+
+/**
+ * The `AsyncClientHandshakeListener` implements the `{@link ClientHandshakeListener}` interface for the
+ * asynchronous client. A `websocket:Caller` is bound to the new connection so that the callback service
+ * gets dispatched exactly the way a listener-side service does.
+ */
+public class AsyncClientHandshakeListener implements ClientHandshakeListener {
+
+    private final WebSocketService wsService;
+    private final AsyncClientConnectorListener connectorListener;
+    private final BObject webSocketClient;
+    private final Future balFuture;
+
+    public AsyncClientHandshakeListener(BObject webSocketClient, WebSocketService wsService,
+                                        AsyncClientConnectorListener connectorListener, Future future) {
+        this.webSocketClient = webSocketClient;
+        this.wsService = wsService;
+        this.connectorListener = connectorListener;
+        this.balFuture = future;
+    }
+
+    @Override
+    public void onSuccess(WebSocketConnection webSocketConnection, HttpCarbonResponse carbonResponse) {
+        webSocketClient.addNativeData(WebSocketConstants.HTTP_RESPONSE, HttpUtil.createResponseStruct(carbonResponse));
+        WebSocketUtil.populatWebSocketEndpoint(webSocketConnection, webSocketClient);
+        WebSocketConnectionInfo clientConnectionInfo = new WebSocketConnectionInfo(wsService, webSocketConnection,
+                webSocketClient);
+        webSocketClient.addNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO,
+                clientConnectionInfo);
+
+        BObject webSocketCaller = createCaller(webSocketConnection);
+        WebSocketConnectionInfo dispatchConnectionInfo = new WebSocketConnectionInfo(wsService, webSocketConnection,
+                webSocketCaller);
+        webSocketCaller.addNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO,
+                dispatchConnectionInfo);
+        wsService.addWsService(webSocketConnection.getChannelId(), wsService.getBalService());
+        connectorListener.setConnectionInfo(dispatchConnectionInfo, clientConnectionInfo);
+
+        webSocketConnection.removeReadIdleStateHandler();
+        long readTimeoutInSeconds = WebSocketUtil.findTimeoutInSeconds(
+                webSocketClient.getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG),
+                WebSocketConstants.ANNOTATION_ATTR_READ_IDLE_TIMEOUT, 0);
+        if (readTimeoutInSeconds > 0) {
+            dispatchConnectionInfo.setIdleTimeout(IdleTimeoutWheel.schedule(
+                    webSocketConnection.getChannel().eventLoop(), readTimeoutInSeconds * 1000,
+                    () -> connectorListener.onIdleTimeout(null), true), false);
+        }
+        balFuture.complete(null);
+        WebSocketObservabilityUtil.observeConnection(clientConnectionInfo);
+    }
+
+    @Override
+    public void onError(Throwable t, HttpCarbonResponse response) {
+        if (response != null) {
+            webSocketClient.addNativeData(WebSocketConstants.HTTP_RESPONSE, HttpUtil.createResponseStruct(response));
+        }
+        webSocketClient.addNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO,
+                new WebSocketConnectionInfo(wsService, null, webSocketClient));
+        balFuture.complete(WebSocketUtil.createErrorByType(t));
+    }
+
+    private BObject createCaller(WebSocketConnection webSocketConnection) {
+        BObject webSocketCaller = ValueCreator.createObjectValue(ModuleUtils.getWebsocketModule(),
+                WebSocketConstants.WEBSOCKET_CALLER, StringUtils.fromString(""), null, null);
+        webSocketCaller.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE,
+                webSocketClient.getNativeData(WebSocketConstants.NATIVE_DATA_MAX_FRAME_SIZE));
+        webSocketCaller.addNativeData(WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE,
+                webSocketClient.getNativeData(WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE));
+        WebSocketUtil.populatWebSocketEndpoint(webSocketConnection, webSocketCaller);
+        return webSocketCaller;
+    }
+}
@@ -18,6 +18,7 @@
 package io.ballerina.stdlib.websocket.client.listener;
 
 import io.ballerina.runtime.api.Future;
+import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.stdlib.http.api.HttpUtil;
 import io.ballerina.stdlib.http.transport.contract.websocket.ClientHandshakeListener;
@@ -66,6 +67,7 @@ public class RetryWebSocketClientHandshakeListener implements ClientHandshakeLis
         webSocketClient.addNativeData(WebSocketConstants.HTTP_RESPONSE, HttpUtil.createResponseStruct(carbonResponse));
         WebSocketUtil.populatWebSocketEndpoint(webSocketConnection, webSocketClient);
         setWebSocketOpenConnectionInfo(webSocketConnection, webSocketClient, wsService);
+        WebSocketUtil.replayRetainedMessages(webSocketClient, connectionInfo);
         connectorListener.setConnectionInfo(connectionInfo);
         if (retryConfig.isFirstConnectionMadeSuccessfully()) {
             webSocketConnection.readNextFrame();
@@ -88,10 +90,12 @@ public class RetryWebSocketClientHandshakeListener implements ClientHandshakeLis
         if (throwable instanceof IOException && WebSocketUtil.reconnect(connectionInfo, balFuture, callbackCompleted)) {
             return;
         }
+        BError error = WebSocketUtil.createErrorByType(throwable);
         if (!callbackCompleted.get()) {
-            balFuture.complete(WebSocketUtil.createErrorByType(throwable));
+            balFuture.complete(error);
             callbackCompleted.set(true);
         }
+        connectorListener.onReconnectFailure(error);
     }
 
     private void setWebSocketOpenConnectionInfo(WebSocketConnection webSocketConnection,
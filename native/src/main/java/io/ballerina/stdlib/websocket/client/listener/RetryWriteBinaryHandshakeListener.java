@@ -76,6 +76,8 @@ public class RetryWriteBinaryHandshakeListener implements ClientHandshakeListene
         WebSocketUtil.populatWebSocketEndpoint(webSocketConnection, clientEndpoint);
         setWebSocketOpenConnectionInfo(webSocketConnection, clientEndpoint,
                 (WebSocketService) clientEndpoint.getNativeData(WebSocketConstants.CALL_BACK_SERVICE));
+        // The retained messages were written before the failed message, hence they are replayed first
+        WebSocketUtil.replayRetainedMessages(clientEndpoint, connectionInfo);
         connectorListener.setConnectionInfo(connectionInfo);
         webSocketConnection.removeReadIdleStateHandler();
         WebSocketObservabilityUtil.observeConnection(connectionInfo);
@@ -85,8 +87,8 @@ public class RetryWriteBinaryHandshakeListener implements ClientHandshakeListene
         ByteBuf byteBuf = null;
         ByteBuf lastSlice = null;
         try {
-            WebSocketConnector.setWriteTimeoutHandler(clientEndpoint, balFuture, binaryCallbackCompleted,
-                    connectionInfo);
+            WebSocketConnectionInfo.PendingWrite pendingWrite = WebSocketConnector.setWriteTimeoutHandler(
+                    clientEndpoint, balFuture, binaryCallbackCompleted, connectionInfo);
             byteBuf = WebSocketConnector.fromByteArray(ByteBuffer.wrap(message.getBytes()));
             int noBytes = byteBuf.readableBytes();
             int index = 0;
@@ -112,8 +114,9 @@ public class RetryWriteBinaryHandshakeListener implements ClientHandshakeListene
             promiseCombiner.add(webSocketChannelFuture);
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) future -> {
-                        WebSocketConnector.removeWriteTimeoutHandler(clientEndpoint, connectionInfo);
+                        WebSocketConnector.removeWriteTimeoutHandler(pendingWrite);
                         if (webSocketChannelFuture.isSuccess()) {
+                            WebSocketConnector.retainForReplay(clientEndpoint, null, message);
                             WebSocketUtil.handleWebSocketCallback(balFuture, webSocketChannelFuture, logger,
                                     connectionInfo, binaryCallbackCompleted);
                             WebSocketObservabilityUtil
@@ -74,6 +74,8 @@ public class RetryWriteTextHandshakeListener implements ClientHandshakeListener
         WebSocketUtil.populatWebSocketEndpoint(webSocketConnection, clientEndpoint);
         setWebSocketOpenConnectionInfo(webSocketConnection, clientEndpoint,
                 (WebSocketService) clientEndpoint.getNativeData(WebSocketConstants.CALL_BACK_SERVICE));
+        // The retained messages were written before the failed message, hence they are replayed first
+        WebSocketUtil.replayRetainedMessages(clientEndpoint, connectionInfo);
         connectorListener.setConnectionInfo(connectionInfo);
         webSocketConnection.removeReadIdleStateHandler();
         WebSocketObservabilityUtil.observeConnection(connectionInfo);
@@ -83,7 +85,8 @@ public class RetryWriteTextHandshakeListener implements ClientHandshakeListener
         ByteBuf byteBuf = null;
         ByteBuf lastSlice = null;
         try {
-            WebSocketConnector.setWriteTimeoutHandler(clientEndpoint, balFuture, textCallbackCompleted, connectionInfo);
+            WebSocketConnectionInfo.PendingWrite pendingWrite = WebSocketConnector.setWriteTimeoutHandler(
+                    clientEndpoint, balFuture, textCallbackCompleted, connectionInfo);
             byteBuf = WebSocketConnector.fromText(message);
             int noBytes = byteBuf.readableBytes();
             int index = 0;
@@ -107,8 +110,9 @@ public class RetryWriteTextHandshakeListener implements ClientHandshakeListener
             promiseCombiner.add(future);
             promiseCombiner.finish(connectionInfo.getWebSocketConnection().getChannel().newPromise()
                     .addListener((ChannelFutureListener) channelFuture -> {
-                        WebSocketConnector.removeWriteTimeoutHandler(clientEndpoint, connectionInfo);
+                        WebSocketConnector.removeWriteTimeoutHandler(pendingWrite);
                         if (channelFuture.isSuccess()) {
+                            WebSocketConnector.retainForReplay(clientEndpoint, message, null);
                             WebSocketUtil.handleWebSocketCallback(balFuture, channelFuture, logger, connectionInfo,
                                     textCallbackCompleted);
                             WebSocketObservabilityUtil
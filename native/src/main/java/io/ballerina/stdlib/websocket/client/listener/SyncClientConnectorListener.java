@@ -19,12 +19,14 @@ package io.ballerina.stdlib.websocket.client.listener;
 
 import io.ballerina.runtime.api.Future;
 import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
 import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.utils.XmlUtils;
+import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BTypedesc;
@@ -36,17 +38,27 @@ import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnectorL
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketControlMessage;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketHandshaker;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketTextMessage;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketResourceDispatcher;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.client.ReplayBuffer;
+import io.ballerina.stdlib.websocket.client.RpcContext;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.ballerina.stdlib.websocket.server.MessageTooLargeException;
 import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import io.netty.channel.EventLoop;
 import org.ballerinalang.langlib.value.CloneWithType;
 import org.ballerinalang.langlib.value.FromJsonStringWithType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static io.ballerina.runtime.api.TypeTags.BYTE_TAG;
@@ -55,18 +67,250 @@ import static io.ballerina.stdlib.websocket.WebSocketUtil.getBString;
 
 /**
  * SyncClientConnectorListener implements {@link WebSocketConnectorListener} interface directly.
+ * <p>
+ * Frames are read from the connection either on behalf of a pending read or ahead of the reads when a prefetch window
+ * is configured. Messages read ahead are kept in a bounded buffer and a new frame is requested only while the
+ * buffer has room, hence a slow reader applies backpressure to the remote endpoint through the transport. Reads
+ * made while other reads are waiting are queued and served in order, hence the client can be read concurrently. In
+ * the RPC mode, a message correlated to a request sent by the client completes the request instead of a read. The
+ * state of the listener is confined to the event loop of the first connection of the client. The connections made
+ * when the client reconnects may be served by other event loops, hence their callbacks are passed to the event loop
+ * of the listener.
  *
  */
 public class SyncClientConnectorListener implements WebSocketConnectorListener {
 
+    private volatile EventLoop eventLoop = null;
     private WebSocketConnectionInfo connectionInfo = null;
-    private Future callback;
-    private BTypedesc targetType;
-    private AtomicBoolean futureCompleted;
+    private final int prefetchMessages;
+    private final long prefetchBytes;
+    private final Deque<InboundMessage> prefetchBuffer = new ArrayDeque<>();
+    private long bufferedBytes = 0;
+    private final Deque<ReadRequest> pendingReads = new ArrayDeque<>();
+    private boolean frameRequested = false;
+    private IdleTimeoutWheel.Timeout readTimeout = null;
+    private boolean reconnecting = false;
+    private WebSocketCloseMessage receivedCloseMessage;
+    // The error, which ended the connection. It is returned to every read made after the buffered messages. It is
+    // set and read only in the event loop of the listener, even when the failed connection is served by another one
+    private volatile BError terminalError = null;
+    private final RpcContext rpcContext;
     private static final Logger logger = LoggerFactory.getLogger(SyncClientConnectorListener.class);
 
+    public SyncClientConnectorListener() {
+        this(0, 0, null);
+    }
+
+    public SyncClientConnectorListener(int prefetchMessages, long prefetchBytes, RpcContext rpcContext) {
+        this.prefetchMessages = prefetchMessages;
+        this.prefetchBytes = prefetchBytes;
+        this.rpcContext = rpcContext;
+    }
+
+    public RpcContext getRpcContext() {
+        return rpcContext;
+    }
+
+    /**
+     * Gives the event loop, to which the state of the listener is confined. This is the event loop of the first
+     * connection and it is kept when the client reconnects.
+     *
+     * @return the event loop
+     * @throws IllegalAccessException if the client has not been connected
+     */
+    public EventLoop getEventLoop() throws IllegalAccessException {
+        EventLoop listenerEventLoop = eventLoop;
+        if (listenerEventLoop == null) {
+            throw new IllegalAccessException(WebSocketConstants.WEBSOCKET_CONNECTION_FAILURE);
+        }
+        return listenerEventLoop;
+    }
+
+    /**
+     * Passes a callback of the transport to the event loop of the listener, if it is called in another event loop.
+     * The callbacks of a connection, which has been replaced by a new connection, are dropped then.
+     *
+     * @return true if the callback is passed to the event loop of the listener
+     */
+    private boolean passToEventLoop(WebSocketConnection webSocketConnection, Runnable callback) {
+        EventLoop listenerEventLoop = eventLoop;
+        if (listenerEventLoop == null || listenerEventLoop.inEventLoop()) {
+            return false;
+        }
+        listenerEventLoop.execute(() -> {
+            if (isCurrentConnection(webSocketConnection)) {
+                callback.run();
+            }
+        });
+        return true;
+    }
+
+    private boolean isCurrentConnection(WebSocketConnection webSocketConnection) {
+        try {
+            return connectionInfo != null && connectionInfo.getWebSocketConnection() == webSocketConnection;
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Makes sure that the connection is read while requests are waiting for responses. This should be called in the
+     * event loop of the listener once a request is registered.
+     */
+    public void onRequestRegistered() {
+        try {
+            requestFrameIfRequired();
+        } catch (IllegalAccessException e) {
+            // Ignore as the request is failed when writing to the connection
+        }
+    }
+
     public void setConnectionInfo(WebSocketConnectionInfo connectionInfo) {
+        if (eventLoop == null) {
+            try {
+                eventLoop = connectionInfo.getWebSocketConnection().getChannel().eventLoop();
+            } catch (IllegalAccessException e) {
+                // Ignore as the reads are failed with the connection closure error
+            }
+        }
+        if (eventLoop != null && !eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> setConnectionInfo(connectionInfo));
+            return;
+        }
         this.connectionInfo = connectionInfo;
+        // A new connection does not have a frame requested yet, hence reading ahead starts from the beginning
+        this.frameRequested = false;
+        cancelReadTimeout();
+        this.reconnecting = false;
+        this.receivedCloseMessage = null;
+        this.terminalError = null;
+        try {
+            // The reads waiting while reconnecting are served from the new connection
+            updateReadTimeout(false);
+            requestFrameIfRequired();
+        } catch (IllegalAccessException e) {
+            // Ignore as the read is failed with the connection closure error
+        }
+    }
+
+    /**
+     * Fails the reads waiting for messages as the client could not reconnect to the server.
+     *
+     * @param error - the error of the last reconnect attempt
+     */
+    public void onReconnectFailure(BError error) {
+        EventLoop listenerEventLoop = eventLoop;
+        if (listenerEventLoop != null && !listenerEventLoop.inEventLoop()) {
+            listenerEventLoop.execute(() -> onReconnectFailure(error));
+            return;
+        }
+        reconnecting = false;
+        failPendingReads(error);
+    }
+
+    /**
+     * Reads the next message of the connection. The read is completed immediately if a message is already
+     * buffered and no other read is waiting. This should be called in the event loop of the listener.
+     *
+     * @param callback   - the future to be completed with the message
+     * @param targetType - the type to which the message is bound. The message is returned as it is if `null`
+     */
+    public void readMessage(Future callback, BTypedesc targetType) {
+        ReadRequest request = new ReadRequest(callback, targetType, null, 1);
+        try {
+            InboundMessage message = activeRead() == null ? pollBufferedMessage() : null;
+            if (message != null) {
+                request.offer(bindMessage(message, targetType));
+                requestFrameIfRequired();
+                return;
+            }
+            if (terminalError != null) {
+                request.complete(terminalError);
+                return;
+            }
+            pendingReads.add(request);
+            if (receivedCloseMessage != null) {
+                WebSocketCloseMessage closeMessage = receivedCloseMessage;
+                receivedCloseMessage = null;
+                handleCloseMessage(closeMessage);
+                return;
+            }
+            updateReadTimeout(false);
+            requestFrameIfRequired();
+        } catch (IllegalAccessException e) {
+            pendingReads.remove(request);
+            request.complete(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        }
+    }
+
+    /**
+     * Reads a batch of messages from the connection. The buffered messages are taken first and the batch waits for
+     * the remaining messages until it is full or the timeout elapses. This should be called in the event loop of the
+     * listener.
+     *
+     * @param callback      - the future to be completed with the array of messages
+     * @param targetType    - the type to which each message is bound
+     * @param maxMessages   - the maximum number of messages of the batch
+     * @param timeoutMillis - the time to wait for the batch to be filled. Only the buffered messages are taken if
+     *                      the value is not positive
+     */
+    public void readMessages(Future callback, BTypedesc targetType, int maxMessages, long timeoutMillis) {
+        BArray batch = ValueCreator.createArrayValue(TypeCreator.createArrayType(targetType.getDescribingType()));
+        ReadRequest request = new ReadRequest(callback, targetType, batch, maxMessages);
+        try {
+            InboundMessage message;
+            while (activeRead() == null && !request.isCompleted() && (message = pollBufferedMessage()) != null) {
+                request.offer(bindMessage(message, targetType));
+            }
+            if (request.isCompleted()) {
+                requestFrameIfRequired();
+                return;
+            }
+            if (terminalError != null) {
+                request.fail(terminalError);
+                return;
+            }
+            if (receivedCloseMessage != null) {
+                if (request.hasMessages()) {
+                    // The closure is reported to the next read as the batch already has messages
+                    request.completeBatch();
+                    return;
+                }
+                pendingReads.add(request);
+                WebSocketCloseMessage closeMessage = receivedCloseMessage;
+                receivedCloseMessage = null;
+                handleCloseMessage(closeMessage);
+                return;
+            }
+            if (timeoutMillis <= 0) {
+                request.completeBatch();
+                requestFrameIfRequired();
+                return;
+            }
+            pendingReads.add(request);
+            request.timeoutFuture = eventLoop.schedule(() -> onBatchTimeout(request), timeoutMillis,
+                    TimeUnit.MILLISECONDS);
+            requestFrameIfRequired();
+        } catch (IllegalAccessException e) {
+            pendingReads.remove(request);
+            request.complete(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        }
+    }
+
+    private void onBatchTimeout(ReadRequest request) {
+        // The requested frame is still outstanding and it is served to the next read if it arrives after the timeout
+        pendingReads.remove(request);
+        request.completeBatch();
+    }
+
+    private InboundMessage pollBufferedMessage() {
+        InboundMessage message = prefetchBuffer.poll();
+        if (message != null) {
+            bufferedBytes -= message.size();
+        }
+        return message;
     }
 
     @Override
@@ -74,175 +318,346 @@ public class SyncClientConnectorListener implements WebSocketConnectorListener {
 
     @Override
     public void onMessage(WebSocketTextMessage webSocketTextMessage) {
-        Type targetType = null;
-        if (this.targetType != null) {
-            targetType = TypeUtils.getReferredType(this.targetType.getDescribingType());
+        if (passToEventLoop(webSocketTextMessage.getWebSocketConnection(), () -> onMessage(webSocketTextMessage))) {
+            return;
         }
+        touchReadTimeout();
         try {
             WebSocketConnectionInfo.StringAggregator stringAggregator = connectionInfo
                     .createIfNullAndGetStringAggregator();
-            boolean finalFragment = webSocketTextMessage.isFinalFragment();
-            if (finalFragment) {
-                stringAggregator.appendAggregateString(webSocketTextMessage.getText());
-                Object message;
-                int typeTag = targetType == null ? TypeTags.STRING_TAG : targetType.getTag();
-                switch (typeTag) {
-                    case TypeTags.STRING_TAG:
-                        message = StringUtils.fromString(stringAggregator.getAggregateString());
-                        break;
-                    case TypeTags.XML_TAG:
-                        message = XmlUtils.parse(stringAggregator.getAggregateString());
-                        break;
-                    case TypeTags.RECORD_TYPE_TAG:
-                        message = CloneWithType.convert(targetType, JsonUtils.parse(
-                                stringAggregator.getAggregateString()));
-                        break;
-                    case TypeTags.UNION_TAG:
-                        if (WebSocketUtil.hasStringType(targetType)) {
-                            message = CloneWithType.convert(targetType,
-                                    StringUtils.fromString(stringAggregator.getAggregateString()));
-                            break;
-                        }
-                        // fall through
-                    default:
-                        message = FromJsonStringWithType.fromJsonStringWithType(StringUtils.fromString(
-                                        stringAggregator.getAggregateString()),
-                                ValueCreator.createTypedescValue(targetType));
-                        break;
-                }
+            stringAggregator.appendAggregateString(webSocketTextMessage.getText());
+            if (webSocketTextMessage.isFinalFragment()) {
+                String text = stringAggregator.getAggregateString();
                 stringAggregator.resetAggregateString();
-                if (!futureCompleted.get()) {
-                    if (message instanceof BError) {
-                        callback.complete(WebSocketUtil
-                                .createWebsocketError(String.format("data binding failed: %s", message),
-                                        WebSocketConstants.ErrorCode.Error));
-                    } else if (this.targetType != null) {
-                        boolean validationEnabled = connectionInfo.getWebSocketEndpoint()
-                                .getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG)
-                                .getBooleanValue(ANNOTATION_ATTR_VALIDATION_ENABLED);
-                        validateConstraints(message, validationEnabled);
-                    } else {
-                        callback.complete(message);
-                    }
-                    futureCompleted.set(true);
-                }
-                connectionInfo.getWebSocketConnection().removeReadIdleStateHandler();
+                onMessageReceived(new InboundMessage(text, null));
             } else {
-                stringAggregator.appendAggregateString(webSocketTextMessage.getText());
                 connectionInfo.getWebSocketConnection().readNextFrame();
             }
-        } catch (IllegalAccessException | BError e) {
-            if (e instanceof BError) {
-                callback.complete(WebSocketUtil
-                        .createWebsocketError(String.format("data binding failed: %s", e),
-                                WebSocketConstants.ErrorCode.Error));
+        } catch (IllegalAccessException e) {
+            failPendingReads(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        } catch (MessageTooLargeException e) {
+            onMessageTooLarge(e);
+        }
+    }
+
+    @Override
+    public void onMessage(WebSocketBinaryMessage webSocketBinaryMessage) {
+        if (passToEventLoop(webSocketBinaryMessage.getWebSocketConnection(),
+                () -> onMessage(webSocketBinaryMessage))) {
+            return;
+        }
+        touchReadTimeout();
+        try {
+            WebSocketConnectionInfo.ByteArrAggregator byteArrAggregator = connectionInfo
+                    .createIfNullAndGetByteArrAggregator();
+            byteArrAggregator.appendAggregateArr(webSocketBinaryMessage.getByteArray());
+            if (webSocketBinaryMessage.isFinalFragment()) {
+                byte[] binMsg = byteArrAggregator.getAggregateByteArr();
+                byteArrAggregator.resetAggregateByteArr();
+                onMessageReceived(new InboundMessage(null, binMsg));
             } else {
-                callback.complete(WebSocketUtil
-                        .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+                connectionInfo.getWebSocketConnection().readNextFrame();
             }
-            futureCompleted.set(true);
+        } catch (IllegalAccessException | IOException e) {
+            failPendingReads(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        } catch (MessageTooLargeException e) {
+            onMessageTooLarge(e);
         }
     }
 
-    private void validateConstraints(Object message, boolean validationEnabled) {
-        if (validationEnabled) {
-            Object validationResult = Constraints.validate(message, this.targetType);
-            if (validationResult instanceof BError) {
-                callback.complete(WebSocketUtil.createWebsocketErrorWithCause(
-                        String.format("data validation failed: %s", validationResult),
-                        WebSocketConstants.ErrorCode.PayloadValidationError,
-                        (BError) validationResult));
+    private void onMessageTooLarge(MessageTooLargeException e) {
+        WebSocketUtil.closeForMessageTooLarge(connectionInfo, e);
+        failPendingReads(WebSocketUtil
+                .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.PayloadTooLargeError));
+    }
+
+    private void onMessageReceived(InboundMessage message) throws IllegalAccessException {
+        frameRequested = false;
+        ReplayBuffer replayBuffer = WebSocketUtil.getReplayBuffer(connectionInfo.getWebSocketEndpoint());
+        if (replayBuffer != null && replayBuffer.hasAcknowledger()) {
+            replayBuffer.onMessageReceived(message.toPayload());
+        }
+        if (rpcContext != null && rpcContext.hasPendingRequests()) {
+            // The next frame is requested only after the message is routed, hence the messages stay in order
+            rpcContext.extractCorrelationId(message.toPayload(), correlationId -> {
+                if (eventLoop.inEventLoop()) {
+                    routeMessage(message, correlationId);
+                } else {
+                    eventLoop.execute(() -> routeMessage(message, correlationId));
+                }
+            });
+            return;
+        }
+        deliverMessage(message);
+    }
+
+    private void routeMessage(InboundMessage message, String correlationId) {
+        try {
+            RpcContext.PendingRequest request = rpcContext.remove(correlationId);
+            if (request != null) {
+                request.complete(bindMessage(message, request.getTargetType()));
+                requestFrameIfRequired();
             } else {
-                callback.complete(message);
+                deliverMessage(message);
+            }
+        } catch (IllegalAccessException e) {
+            failPendingReads(WebSocketUtil
+                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        }
+    }
+
+    private void deliverMessage(InboundMessage message) throws IllegalAccessException {
+        ReadRequest request = activeRead();
+        if (request != null) {
+            if (request.offer(bindMessage(message, request.targetType))) {
+                pendingReads.poll();
+                // The next read starts waiting now, hence its read timeout starts over
+                updateReadTimeout(true);
             }
         } else {
-            callback.complete(message);
+            prefetchBuffer.add(message);
+            bufferedBytes += message.size();
         }
+        requestFrameIfRequired();
     }
 
-    @Override
-    public void onMessage(WebSocketBinaryMessage webSocketBinaryMessage) {
+    /**
+     * Requests the next frame from the connection if a read is pending or if the prefetch window has room. At most
+     * one frame is requested at a time.
+     */
+    private void requestFrameIfRequired() throws IllegalAccessException {
+        if (frameRequested || reconnecting || connectionInfo == null || receivedCloseMessage != null ||
+                terminalError != null) {
+            return;
+        }
+        if (activeRead() != null || hasPrefetchCapacity() ||
+                (rpcContext != null && rpcContext.hasPendingRequests())) {
+            frameRequested = true;
+            connectionInfo.getWebSocketConnection().readNextFrame();
+        }
+    }
+
+    private boolean hasPrefetchCapacity() {
+        if (prefetchMessages <= 0 && prefetchBytes <= 0) {
+            return false;
+        }
+        return (prefetchMessages <= 0 || prefetchBuffer.size() < prefetchMessages) &&
+                (prefetchBytes <= 0 || bufferedBytes < prefetchBytes);
+    }
+
+    /**
+     * Gives the read, which is served next. Reads completed by other means, such as a reconnect failure, are dropped.
+     */
+    private ReadRequest activeRead() {
+        ReadRequest request = pendingReads.peek();
+        while (request != null && request.isCompleted()) {
+            pendingReads.poll();
+            request = pendingReads.peek();
+        }
+        return request;
+    }
+
+    // The responses of the requests are lost with the connection, hence the requests are not carried to a new one
+    private void failPendingRequests(BError error) {
+        if (rpcContext != null) {
+            rpcContext.failPendingRequests(error);
+        }
+    }
+
+    /**
+     * Fails the reads waiting for messages. The error is kept, hence the reads made later, including the read after a
+     * batch returned with the messages it already had, do not wait for a connection which is not read anymore.
+     */
+    private void failPendingReads(BError error) {
+        terminalError = error;
+        ReadRequest request;
+        while ((request = pendingReads.poll()) != null) {
+            request.fail(error);
+        }
+    }
+
+    /**
+     * Keeps the read timeout only while a read other than a batch read is waiting. The batch reads are bound by their
+     * own timeouts. The read timeout is tracked by the idle timeout wheel of the event loop, hence restarting it only
+     * records the activity.
+     *
+     * @param restart - whether the idle time should start over
+     */
+    private void updateReadTimeout(boolean restart) throws IllegalAccessException {
+        boolean required = false;
+        for (ReadRequest request : pendingReads) {
+            if (!request.isBatch() && !request.isCompleted()) {
+                required = true;
+                break;
+            }
+        }
+        if (!required) {
+            cancelReadTimeout();
+            return;
+        }
+        if (readTimeout != null) {
+            if (restart) {
+                readTimeout.touch();
+            }
+            return;
+        }
+        @SuppressWarnings(WebSocketConstants.UNCHECKED)
+        long readTimeoutInSeconds = WebSocketUtil.findTimeoutInSeconds(
+                connectionInfo.getWebSocketEndpoint().getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG),
+                WebSocketConstants.ANNOTATION_ATTR_READ_IDLE_TIMEOUT, 0);
+        if (readTimeoutInSeconds > 0) {
+            readTimeout = IdleTimeoutWheel.schedule(eventLoop, readTimeoutInSeconds * 1000, () -> onIdleTimeout(null),
+                    false);
+        }
+    }
+
+    private void touchReadTimeout() {
+        if (readTimeout != null) {
+            readTimeout.touch();
+        }
+    }
+
+    private void cancelReadTimeout() {
+        if (readTimeout != null) {
+            readTimeout.cancel();
+            readTimeout = null;
+        }
+    }
+
+    private Object bindMessage(InboundMessage message, BTypedesc targetTypedesc) {
         Type targetType = null;
-        if (this.targetType != null) {
-            targetType = TypeUtils.getReferredType(this.targetType.getDescribingType());
+        if (targetTypedesc != null) {
+            targetType = TypeUtils.getReferredType(targetTypedesc.getDescribingType());
         }
+        Object boundMessage;
         try {
-            WebSocketConnectionInfo.ByteArrAggregator byteArrAggregator = connectionInfo
-                    .createIfNullAndGetByteArrAggregator();
-            boolean finalFragment = webSocketBinaryMessage.isFinalFragment();
-            if (finalFragment) {
-                byteArrAggregator.appendAggregateArr(webSocketBinaryMessage.getByteArray());
-                byte[] binMsg = byteArrAggregator.getAggregateByteArr();
-                byteArrAggregator.resetAggregateByteArr();
-                Object message;
-                int typeTag = targetType == null || targetType.toString().equals(WebSocketConstants.BYTE_ARRAY) ?
-                        TypeTags.BYTE_TAG : targetType.getTag();
-                switch (typeTag) {
-                    case BYTE_TAG:
-                        message = ValueCreator.createArrayValue(binMsg);
-                        break;
-                    case TypeTags.STRING_TAG:
-                        message = getBString(binMsg);
-                        break;
-                    case TypeTags.XML_TAG:
-                        message = XmlUtils.parse(getBString(binMsg));;
-                        break;
-                    case TypeTags.RECORD_TYPE_TAG:
-                        message = CloneWithType.convert(targetType, JsonUtils.parse(getBString(binMsg)));
-                        break;
-                    case TypeTags.UNION_TAG:
-                        if (WebSocketUtil.hasByteArrayType(targetType)) {
-                            message = CloneWithType.convert(targetType, ValueCreator.createArrayValue(binMsg));
-                            break;
-                        }
-                        // fall through
-                    default:
-                        message = FromJsonStringWithType.fromJsonStringWithType(getBString(binMsg),
-                                ValueCreator.createTypedescValue(targetType));
-                        break;
+            boundMessage = message.isText() ? bindTextMessage(message.text, targetType) :
+                    bindBinaryMessage(message.binary, targetType);
+        } catch (BError e) {
+            boundMessage = e;
+        }
+        if (boundMessage instanceof BError) {
+            return WebSocketUtil.createWebsocketError(String.format("data binding failed: %s", boundMessage),
+                    WebSocketConstants.ErrorCode.Error);
+        }
+        if (targetTypedesc != null) {
+            return validateConstraints(boundMessage, targetTypedesc);
+        }
+        return boundMessage;
+    }
+
+    private static Object bindTextMessage(String text, Type targetType) {
+        int typeTag = targetType == null ? TypeTags.STRING_TAG : targetType.getTag();
+        switch (typeTag) {
+            case TypeTags.STRING_TAG:
+                return StringUtils.fromString(text);
+            case TypeTags.XML_TAG:
+                return XmlUtils.parse(text);
+            case TypeTags.RECORD_TYPE_TAG:
+                return CloneWithType.convert(targetType, JsonUtils.parse(text));
+            case TypeTags.UNION_TAG:
+                if (WebSocketUtil.hasStringType(targetType)) {
+                    return CloneWithType.convert(targetType, StringUtils.fromString(text));
                 }
-                if (message instanceof BError) {
-                    callback.complete(WebSocketUtil
-                            .createWebsocketError(String.format("data binding failed: %s", message),
-                                    WebSocketConstants.ErrorCode.Error));
-                } else if (this.targetType != null) {
-                    boolean validationEnabled = connectionInfo.getWebSocketEndpoint()
-                            .getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG)
-                            .getBooleanValue(ANNOTATION_ATTR_VALIDATION_ENABLED);
-                    validateConstraints(message, validationEnabled);
-                } else {
-                    callback.complete(message);
+                // fall through
+            default:
+                return FromJsonStringWithType.fromJsonStringWithType(StringUtils.fromString(text),
+                        ValueCreator.createTypedescValue(targetType));
+        }
+    }
+
+    private static Object bindBinaryMessage(byte[] binMsg, Type targetType) {
+        int typeTag = targetType == null || targetType.toString().equals(WebSocketConstants.BYTE_ARRAY) ?
+                TypeTags.BYTE_TAG : targetType.getTag();
+        switch (typeTag) {
+            case BYTE_TAG:
+                return ValueCreator.createArrayValue(binMsg);
+            case TypeTags.STRING_TAG:
+                return getBString(binMsg);
+            case TypeTags.XML_TAG:
+                return XmlUtils.parse(getBString(binMsg));
+            case TypeTags.RECORD_TYPE_TAG:
+                return CloneWithType.convert(targetType, JsonUtils.parse(getBString(binMsg)));
+            case TypeTags.UNION_TAG:
+                if (WebSocketUtil.hasByteArrayType(targetType)) {
+                    return CloneWithType.convert(targetType, ValueCreator.createArrayValue(binMsg));
                 }
-                futureCompleted.set(true);
-                connectionInfo.getWebSocketConnection().removeReadIdleStateHandler();
-            } else {
-                byteArrAggregator.appendAggregateArr(webSocketBinaryMessage.getByteArray());
-                connectionInfo.getWebSocketConnection().readNextFrame();
+                // fall through
+            default:
+                return FromJsonStringWithType.fromJsonStringWithType(getBString(binMsg),
+                        ValueCreator.createTypedescValue(targetType));
+        }
+    }
+
+    private Object validateConstraints(Object message, BTypedesc targetType) {
+        boolean validationEnabled = connectionInfo.getWebSocketEndpoint()
+                .getMapValue(WebSocketConstants.CLIENT_ENDPOINT_CONFIG)
+                .getBooleanValue(ANNOTATION_ATTR_VALIDATION_ENABLED);
+        if (validationEnabled) {
+            Object validationResult = Constraints.validate(message, targetType);
+            if (validationResult instanceof BError) {
+                return WebSocketUtil.createWebsocketErrorWithCause(
+                        String.format("data validation failed: %s", validationResult),
+                        WebSocketConstants.ErrorCode.PayloadValidationError,
+                        (BError) validationResult);
             }
-        } catch (IllegalAccessException | IOException e) {
-            callback.complete(WebSocketUtil
-                    .createWebsocketError(e.getMessage(), WebSocketConstants.ErrorCode.ConnectionClosureError));
-            futureCompleted.set(true);
         }
+        return message;
     }
 
     @Override
     public void onMessage(WebSocketControlMessage webSocketControlMessage) {
+        if (passToEventLoop(webSocketControlMessage.getWebSocketConnection(),
+                () -> onMessage(webSocketControlMessage))) {
+            return;
+        }
+        touchReadTimeout();
         WebSocketResourceDispatcher.dispatchOnPingOnPong(connectionInfo, webSocketControlMessage, false);
     }
 
     @Override
     public void onMessage(WebSocketCloseMessage webSocketCloseMessage) {
+        if (passToEventLoop(webSocketCloseMessage.getWebSocketConnection(), () -> onMessage(webSocketCloseMessage))) {
+            return;
+        }
+        frameRequested = false;
+        failPendingRequests(WebSocketUtil.createWebsocketError("Connection closed: Status code: " +
+                webSocketCloseMessage.getCloseCode(), WebSocketConstants.ErrorCode.ConnectionClosureError));
+        ReadRequest request = activeRead();
+        if (request != null && request.hasMessages()) {
+            // The messages of the batch are returned and the closure is reported to the reads waiting behind it
+            pendingReads.poll();
+            request.completeBatch();
+            request = activeRead();
+        }
+        if (request == null) {
+            // The buffered messages are read before the closure is reported to the next read. The closure is
+            // completed right away so that the remote endpoint does not wait for the reader
+            receivedCloseMessage = webSocketCloseMessage;
+            try {
+                WebSocketResourceDispatcher.finishConnectionClosureIfOpen(connectionInfo.getWebSocketConnection(),
+                        webSocketCloseMessage.getCloseCode(), connectionInfo);
+            } catch (IllegalAccessException e) {
+                // Ignore as the closure is reported to the next read
+            }
+            return;
+        }
+        handleCloseMessage(webSocketCloseMessage);
+    }
+
+    private void handleCloseMessage(WebSocketCloseMessage webSocketCloseMessage) {
+        ReadRequest request = activeRead();
         try {
-            if (callback != null && !futureCompleted.get()) {
             int closeCode = webSocketCloseMessage.getCloseCode();
             String closeReason = webSocketCloseMessage.getCloseReason() == null ||
                     webSocketCloseMessage.getCloseReason().equals("") ?
                     "Connection closed: Status code: " + closeCode :
                     webSocketCloseMessage.getCloseReason() + ": Status code: " + closeCode;
             if (WebSocketUtil.hasRetryConfig(connectionInfo.getWebSocketEndpoint())) {
-                if (closeCode == WebSocketConstants.STATUS_CODE_ABNORMAL_CLOSURE &&
-                        WebSocketUtil.reconnect(connectionInfo, callback, futureCompleted)) {
+                if (closeCode == WebSocketConstants.STATUS_CODE_ABNORMAL_CLOSURE && reconnect(request)) {
+                    // The reads stay pending and they are served from the new connection
                     return;
                 } else {
                     if (closeCode != WebSocketConstants.STATUS_CODE_ABNORMAL_CLOSURE) {
@@ -252,53 +667,76 @@ public class SyncClientConnectorListener implements WebSocketConnectorListener {
                     }
                 }
             }
-            if (!futureCompleted.get()) {
-                callback.complete(WebSocketUtil
-                        .createWebsocketError(closeReason, WebSocketConstants.ErrorCode.ConnectionClosureError));
-                futureCompleted.set(true);
-            }
+            failPendingReads(WebSocketUtil
+                    .createWebsocketError(closeReason, WebSocketConstants.ErrorCode.ConnectionClosureError));
             WebSocketConnection wsConnection = connectionInfo.getWebSocketConnection();
-            wsConnection.removeReadIdleStateHandler();
+            cancelReadTimeout();
             WebSocketResourceDispatcher.finishConnectionClosureIfOpen(wsConnection, closeCode, connectionInfo);
-            }
         } catch (IllegalAccessException e) {
-            callback.complete(WebSocketUtil.createWebsocketError("Connection already closed",
+            failPendingReads(WebSocketUtil.createWebsocketError("Connection already closed",
                     WebSocketConstants.ErrorCode.ConnectionClosureError));
         }
     }
 
+    /**
+     * Reconnects on behalf of the given read. The reconnect failure is reported to the read by the handshake listener
+     * and to the rest of the reads through {@link #onReconnectFailure(BError)}.
+     */
+    private boolean reconnect(ReadRequest request) {
+        reconnecting = true;
+        if (WebSocketUtil.reconnect(connectionInfo, request.callback, request.futureCompleted)) {
+            return true;
+        }
+        reconnecting = false;
+        return false;
+    }
+
     @Override
     public void onError(WebSocketConnection webSocketConnection, Throwable throwable) {
-        try {
-            if (callback != null && !futureCompleted.get()) {
-                BObject webSocketClient = connectionInfo.getWebSocketEndpoint();
-                if (WebSocketUtil.hasRetryConfig(webSocketClient) && throwable instanceof IOException &&
-                        WebSocketUtil.reconnect(connectionInfo, callback, futureCompleted)) {
-                    return;
-                }
-                callback.complete(WebSocketUtil
-                        .createWebsocketError(throwable.getMessage(), WebSocketConstants.ErrorCode.Error));
-                futureCompleted.set(true);
-                connectionInfo.getWebSocketConnection().removeReadIdleStateHandler();
-            }
-        } catch (IllegalAccessException e) {
-            connectionInfo.getWebSocketEndpoint().set(WebSocketConstants.LISTENER_IS_OPEN_FIELD, false);
+        if (passToEventLoop(webSocketConnection, () -> onError(webSocketConnection, throwable))) {
+            return;
+        }
+        frameRequested = false;
+        failPendingRequests(WebSocketUtil
+                .createWebsocketError(throwable.getMessage(), WebSocketConstants.ErrorCode.Error));
+        ReadRequest request = activeRead();
+        BObject webSocketClient = connectionInfo.getWebSocketEndpoint();
+        if (request != null && !request.hasMessages() && WebSocketUtil.hasRetryConfig(webSocketClient) &&
+                throwable instanceof IOException && reconnect(request)) {
+            return;
         }
+        // The error is kept for the next read even if no read is waiting at the moment
+        failPendingReads(WebSocketUtil
+                .createWebsocketError(throwable.getMessage(), WebSocketConstants.ErrorCode.Error));
+        cancelReadTimeout();
     }
 
     @Override
     public void onIdleTimeout(WebSocketControlMessage controlMessage) {
-        try {
-            callback.complete(WebSocketUtil
-                    .createWebsocketError("Read timed out", WebSocketConstants.ErrorCode.ReadTimedOutError));
-            connectionInfo.getWebSocketConnection().removeReadIdleStateHandler();
-        } catch (IllegalAccessException e) {
-            // Ignore as it is not possible have an Illegal access
+        if (controlMessage != null &&
+                passToEventLoop(controlMessage.getWebSocketConnection(), () -> onIdleTimeout(controlMessage))) {
+            return;
         }
+        // The requested frame is still outstanding and it is buffered if it arrives after the timeout. The batch
+        // reads are not affected as they are bound by their own timeouts
+        BError error = WebSocketUtil
+                .createWebsocketError("Read timed out", WebSocketConstants.ErrorCode.ReadTimedOutError);
+        Iterator<ReadRequest> iterator = pendingReads.iterator();
+        while (iterator.hasNext()) {
+            ReadRequest request = iterator.next();
+            if (!request.isBatch()) {
+                iterator.remove();
+                request.complete(error);
+            }
+        }
+        cancelReadTimeout();
     }
 
     @Override
     public void onClose(WebSocketConnection webSocketConnection) {
+        if (passToEventLoop(webSocketConnection, () -> onClose(webSocketConnection))) {
+            return;
+        }
         WebSocketObservabilityUtil.observeClose(connectionInfo);
         try {
             WebSocketUtil.setListenerOpenField(connectionInfo);
@@ -307,15 +745,100 @@ public class SyncClientConnectorListener implements WebSocketConnectorListener {
         }
     }
 
-    public void setCallback(Future callback) {
-        this.callback = callback;
-    }
+    /**
+     * A read waiting for messages. A batch read collects up to the maximum number of messages before it is
+     * completed. The completion flag is shared with the reconnect attempts made on behalf of the read.
+     */
+    private static class ReadRequest {
+        private final Future callback;
+        private final BTypedesc targetType;
+        private final BArray batch;
+        private final int maxMessages;
+        private final AtomicBoolean futureCompleted = new AtomicBoolean(false);
+        private ScheduledFuture<?> timeoutFuture;
 
-    public void setTargetType(BTypedesc targetType) {
-        this.targetType = targetType;
+        ReadRequest(Future callback, BTypedesc targetType, BArray batch, int maxMessages) {
+            this.callback = callback;
+            this.targetType = targetType;
+            this.batch = batch;
+            this.maxMessages = maxMessages;
+        }
+
+        boolean isCompleted() {
+            return futureCompleted.get();
+        }
+
+        boolean isBatch() {
+            return batch != null;
+        }
+
+        boolean hasMessages() {
+            return batch != null && batch.size() > 0;
+        }
+
+        /**
+         * Adds a bound message or a binding error to the read.
+         *
+         * @return true if the read is completed
+         */
+        boolean offer(Object message) {
+            if (batch == null || message instanceof BError) {
+                complete(message);
+                return true;
+            }
+            batch.append(message);
+            if (batch.size() >= maxMessages) {
+                complete(batch);
+                return true;
+            }
+            return false;
+        }
+
+        void completeBatch() {
+            if (batch != null) {
+                complete(batch);
+            }
+        }
+
+        // A batch, which already has messages, is returned and the error is left to the next read
+        void fail(BError error) {
+            complete(hasMessages() ? batch : error);
+        }
+
+        void complete(Object result) {
+            if (futureCompleted.compareAndSet(false, true)) {
+                if (timeoutFuture != null) {
+                    timeoutFuture.cancel(false);
+                }
+                callback.complete(result);
+            }
+        }
     }
 
-    public void setFutureCompleted(AtomicBoolean futureCompleted) {
-        this.futureCompleted = futureCompleted;
+    /**
+     * A complete message received from the connection. Messages are kept unbound, since the type is known only when
+     * the message is read.
+     */
+    private static class InboundMessage {
+        private final String text;
+        private final byte[] binary;
+
+        InboundMessage(String text, byte[] binary) {
+            this.text = text;
+            this.binary = binary;
+        }
+
+        boolean isText() {
+            return text != null;
+        }
+
+        // The length of a text message is used as its size to avoid encoding it only for the accounting
+        long size() {
+            return isText() ? text.length() : binary.length;
+        }
+
+        Object toPayload() {
+            return isText() ? StringUtils.fromString(text) : ValueCreator.createArrayValue(binary);
+        }
     }
 }
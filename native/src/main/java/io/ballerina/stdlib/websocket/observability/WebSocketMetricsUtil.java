@@ -23,9 +23,12 @@ import io.ballerina.runtime.observability.ObserveUtils;
 import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
 import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import io.ballerina.runtime.observability.metrics.Tag;
 
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Providing metrics functionality to WebSockets.
@@ -36,6 +39,8 @@ import java.util.Set;
 class WebSocketMetricsUtil {
 
     private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+    private static final StatisticConfig ROUND_TRIP_TIME_STATISTICS = StatisticConfig.builder()
+            .expiry(Duration.ofMinutes(1)).buckets(5).percentiles(0.5, 0.75, 0.95, 0.99).build();
 
     static void reportRequestMetrics(WebSocketObserverContext observerContext) {
         if (!ObserveUtils.isMetricsEnabled()) {
@@ -119,6 +124,17 @@ class WebSocketMetricsUtil {
                 WebSocketObservabilityConstants.METRIC_ERRORS[1]);
     }
 
+    static void reportRoundTripTimeMetrics(WebSocketObserverContext observerContext, long roundTripTime) {
+        if (!ObserveUtils.isMetricsEnabled()) {
+            return;
+        }
+        Set<Tag> tags = observerContext.getAllTags();
+        metricRegistry.gauge(new MetricId(ObservabilityConstants.SERVER_CONNECTOR_WEBSOCKET + "_" +
+                WebSocketObservabilityConstants.METRIC_ROUND_TRIP_TIME[0],
+                WebSocketObservabilityConstants.METRIC_ROUND_TRIP_TIME[1], tags), ROUND_TRIP_TIME_STATISTICS)
+                .setValue((double) roundTripTime / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
     private static void incrementCounterMetric(WebSocketObserverContext observerContext, String name, String desc) {
         Set<Tag> tags = observerContext.getAllTags();
         metricRegistry.counter(new MetricId(ObservabilityConstants.SERVER_CONNECTOR_WEBSOCKET + "_" +
@@ -38,6 +38,7 @@ public class WebSocketObservabilityConstants {
     static final String[] METRIC_MESSAGES_SENT = {"messages_sent", "Number of messages sent"};
     static final String[] METRIC_ERRORS = {"errors", "Number of errors"};
     static final String[] METRIC_RESOURCES_INVOKED = {"resources_invoked", "Number of resources invoked"};
+    static final String[] METRIC_ROUND_TRIP_TIME = {"round_trip_time", "Round trip time of pings in milliseconds"};
 
     static final String CONTEXT_CLIENT = "client";
     public static final String CONTEXT_SERVER = "server";
@@ -77,6 +77,20 @@ public class WebSocketObservabilityUtil {
                 observerContext.getConnectionId(), observerContext.getServicePathOrClientUrl(), type);
     }
 
+    /**
+     * Observes the round trip time of a ping.
+     *
+     * @param roundTripTime  round trip time in nanoseconds.
+     * @param connectionInfo information regarding connection.
+     */
+    public static void observeRoundTripTime(long roundTripTime, WebSocketConnectionInfo connectionInfo) {
+        WebSocketObserverContext observerContext = new WebSocketObserverContext(connectionInfo);
+        WebSocketMetricsUtil.reportRoundTripTimeMetrics(observerContext, roundTripTime);
+
+        LOGGER.debug("WebSocket pong received. connectionID: {}, service/url: {}, round trip time: {}ns",
+                observerContext.getConnectionId(), observerContext.getServicePathOrClientUrl(), roundTripTime);
+    }
+
     /**
      * Observes WebSocket connection closures.
      *
@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits the handshakes of a listener within the limits of the connections of the listener, of each remote address
+ * and of each service. A handshake reserves its connection when it is admitted, so that the handshakes in progress
+ * at the same time are counted against the limits. The reservation is released if the handshake is cancelled or
+ * fails, and once the connection is closed otherwise.
+ *
+ */
+public class AdmissionController {
+
+    private final long maxConnections;
+    private final int maxConnectionsPerAddress;
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final Map<String, Integer> connectionCountsByAddress = new ConcurrentHashMap<>();
+
+    public AdmissionController(long maxConnections, int maxConnectionsPerAddress) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerAddress = maxConnectionsPerAddress;
+    }
+
+    /**
+     * Reserves a connection of the listener for a handshake, if the handshake is within the limits of the listener.
+     *
+     * @param remoteAddress - the remote address of the handshake or `null` if it is not known
+     * @return the reservation or `null` if the handshake is to be rejected
+     */
+    public Reservation admit(SocketAddress remoteAddress) {
+        if (!reserve(connectionCount, maxConnections)) {
+            return null;
+        }
+        String address = maxConnectionsPerAddress > 0 ? getHostAddress(remoteAddress) : null;
+        if (address != null && !reserve(address)) {
+            connectionCount.decrementAndGet();
+            return null;
+        }
+        return new Reservation(address);
+    }
+
+    private static boolean reserve(AtomicLong count, long max) {
+        long current;
+        do {
+            current = count.get();
+            if (max > 0 && current >= max) {
+                return false;
+            }
+        } while (!count.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private boolean reserve(String address) {
+        boolean[] reserved = new boolean[1];
+        connectionCountsByAddress.compute(address, (key, count) -> {
+            int current = count == null ? 0 : count;
+            reserved[0] = current < maxConnectionsPerAddress;
+            return reserved[0] ? current + 1 : count;
+        });
+        return reserved[0];
+    }
+
+    private static String getHostAddress(SocketAddress remoteAddress) {
+        if (remoteAddress instanceof InetSocketAddress &&
+                ((InetSocketAddress) remoteAddress).getAddress() != null) {
+            return ((InetSocketAddress) remoteAddress).getAddress().getHostAddress();
+        }
+        return null;
+    }
+
+    /**
+     * The connection reserved for an admitted handshake. It is released only once, either when the handshake is
+     * cancelled or fails, or when the connection is closed.
+     */
+    public class Reservation {
+        private final String address;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile WebSocketServerService wsService;
+
+        Reservation(String address) {
+            this.address = address;
+        }
+
+        /**
+         * Reserves a connection of the service the handshake is dispatched to, if the handshake is within the limit
+         * of the service.
+         *
+         * @param wsService - the service
+         * @return `true` if the handshake can be dispatched
+         */
+        public boolean admit(WebSocketServerService wsService) {
+            if (!reserve(wsService.getConnectionCount(), wsService.getMaxConnections())) {
+                return false;
+            }
+            this.wsService = wsService;
+            return true;
+        }
+
+        /**
+         * Releases the connection reserved for the handshake.
+         */
+        public void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            connectionCount.decrementAndGet();
+            if (wsService != null) {
+                wsService.getConnectionCount().decrementAndGet();
+            }
+            if (address != null) {
+                // The counter of an address is dropped once the address has no connections
+                connectionCountsByAddress.computeIfPresent(address, (key, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+
+package io.ballerina.stdlib.websocket.server;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Bounds the memory held by the messages, which are being aggregated by the connections of a listener. The frames
+ * appended to the aggregators of the connections are counted against the budget. Once the budget is exhausted, a
+ * connection reading the next frame of a message is paused until the messages of the other connections free the
+ * memory. The paused connections are resumed in the ascending order of the memory held by them when they were
+ * paused, hence the largest consumers are resumed last. The last connection, which is aggregating a message and is
+ * not paused, is never paused so that a message is always completed and its memory is freed.
+ * <p>
+ * The state of the budget is guarded by its own lock. No other lock is taken while it is held, as a connection is
+ * resumed by submitting the read to its event loop, hence the budget can be called while holding any other lock.
+ *
+ */
+public class AggregationBudget {
+
+    private final long maxBytes;
+    private long usedBytes = 0;
+    private int aggregatingConnections = 0;
+    private final PriorityQueue<PausedConnection> pausedConnections = new PriorityQueue<>(
+            Comparator.comparingLong(PausedConnection::getAggregatedBytes));
+
+    public AggregationBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Counts the change of the memory held by a connection.
+     *
+     * @param previousBytes - the bytes held by the connection before the change
+     * @param currentBytes  - the bytes held by the connection after the change
+     */
+    synchronized void onAggregated(long previousBytes, long currentBytes) {
+        usedBytes += currentBytes - previousBytes;
+        if (previousBytes == 0) {
+            aggregatingConnections++;
+        } else if (currentBytes == 0) {
+            aggregatingConnections--;
+        }
+        if (currentBytes < previousBytes) {
+            resume();
+        }
+    }
+
+    /**
+     * Pauses a connection, which is about to read the next frame of a message, if the budget is exhausted.
+     *
+     * @param connectionInfo - the connection
+     * @return `true` if the connection is paused and is read once it is resumed
+     */
+    synchronized boolean pause(WebSocketConnectionInfo connectionInfo) {
+        // The bytes do not change while the connection is paused as it is not read, however they are snapshotted so
+        // that the order of the queue never depends on a value updated outside the lock
+        long aggregatedBytes = connectionInfo.getAggregatedBytes();
+        if (usedBytes <= maxBytes || aggregatedBytes == 0) {
+            return false;
+        }
+        if (aggregatingConnections - pausedConnections.size() <= 1) {
+            return false;
+        }
+        pausedConnections.add(new PausedConnection(connectionInfo, aggregatedBytes));
+        return true;
+    }
+
+    /**
+     * Stops counting a closed connection as paused. This should be called before its messages are discarded.
+     *
+     * @param connectionInfo - the closed connection
+     */
+    synchronized void remove(WebSocketConnectionInfo connectionInfo) {
+        pausedConnections.removeIf(pausedConnection -> pausedConnection.connectionInfo == connectionInfo);
+    }
+
+    // Called while holding the lock of the budget
+    private void resume() {
+        // A connection is resumed even if the budget is still exhausted, once no other connection is completing a
+        // message
+        while (!pausedConnections.isEmpty() && (usedBytes <= maxBytes ||
+                aggregatingConnections <= pausedConnections.size())) {
+            pausedConnections.poll().connectionInfo.resumeReading();
+        }
+    }
+
+    /**
+     * A paused connection with the memory it held when it was paused.
+     */
+    private static class PausedConnection {
+        private final WebSocketConnectionInfo connectionInfo;
+        private final long aggregatedBytes;
+
+        PausedConnection(WebSocketConnectionInfo connectionInfo, long aggregatedBytes) {
+            this.connectionInfo = connectionInfo;
+            this.aggregatedBytes = aggregatedBytes;
+        }
+
+        long getAggregatedBytes() {
+            return aggregatedBytes;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the successful authentications of the handshakes of a service, so that the credentials of a client, which
+ * reconnects, are not verified again. The credentials are keyed by their hash, hence they are not kept in memory. An
+ * authentication expires after the time to live or once the credentials expire, whichever is earlier.
+ *
+ */
+public class AuthCache {
+
+    private final long timeToLiveInMillis;
+    private final int maxEntries;
+    private final Map<String, Long> expiryTimes = new ConcurrentHashMap<>();
+
+    public AuthCache(long timeToLiveInMillis, int maxEntries) {
+        this.timeToLiveInMillis = timeToLiveInMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Checks whether the credentials of a handshake are authenticated already.
+     *
+     * @param authorizationHeader - the authorization header of the handshake
+     * @return `true` if the credentials are authenticated and not expired
+     */
+    public boolean isAuthenticated(String authorizationHeader) {
+        String key = hash(authorizationHeader);
+        Long expiryTime = expiryTimes.get(key);
+        if (expiryTime == null) {
+            return false;
+        }
+        if (expiryTime <= System.currentTimeMillis()) {
+            expiryTimes.remove(key, expiryTime);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Caches the successful authentication of a handshake.
+     *
+     * @param authorizationHeader - the authorization header of the handshake
+     * @param credentialsExpiry   - the expiry time of the credentials in seconds since the epoch or -1 if they do not
+     *                            expire
+     */
+    public void put(String authorizationHeader, long credentialsExpiry) {
+        long now = System.currentTimeMillis();
+        long expiryTime = now + timeToLiveInMillis;
+        if (credentialsExpiry >= 0) {
+            expiryTime = Math.min(expiryTime, TimeUnit.SECONDS.toMillis(credentialsExpiry));
+        }
+        if (expiryTime <= now) {
+            return;
+        }
+        if (expiryTimes.size() >= maxEntries) {
+            expiryTimes.values().removeIf(entryExpiryTime -> entryExpiryTime <= now);
+            if (expiryTimes.size() >= maxEntries) {
+                // The authentications already cached are kept rather than evicting them in the middle of a storm
+                return;
+            }
+        }
+        expiryTimes.put(hash(authorizationHeader), expiryTime);
+    }
+
+    private static String hash(String authorizationHeader) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(
+                    digest.digest(authorizationHeader.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pings the connections of a listener at a fixed interval and terminates the connections, which have missed too many
+ * pongs. The connections of an event loop are pinged together by a single task of the event loop, which runs only
+ * while the event loop has connections. The state of the connections of an event loop is confined to it.
+ *
+ */
+public class HeartbeatManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatManager.class);
+    private static final int STATUS_CODE_GOING_AWAY = 1001;
+    private static final String HEARTBEAT_TIMED_OUT = "Heartbeat timed out";
+
+    private final long intervalInMillis;
+    private final int maxMissedPongs;
+    private final Map<EventLoop, EventLoopHeartbeat> heartbeats = new ConcurrentHashMap<>();
+
+    public HeartbeatManager(long intervalInMillis, int maxMissedPongs) {
+        this.intervalInMillis = intervalInMillis;
+        this.maxMissedPongs = maxMissedPongs;
+    }
+
+    /**
+     * Starts pinging a connection. This should be called in the event loop of the connection.
+     *
+     * @param connectionInfo - the connection
+     */
+    public void register(WebSocketConnectionInfo connectionInfo) {
+        try {
+            EventLoop eventLoop = connectionInfo.getWebSocketConnection().getChannel().eventLoop();
+            heartbeats.computeIfAbsent(eventLoop, EventLoopHeartbeat::new).add(connectionInfo);
+        } catch (IllegalAccessException e) {
+            // Ignore as the connection is not available to be pinged
+        }
+    }
+
+    /**
+     * Stops pinging a connection. This should be called in the event loop of the connection.
+     *
+     * @param connectionInfo - the connection
+     */
+    public void unregister(WebSocketConnectionInfo connectionInfo) {
+        try {
+            EventLoopHeartbeat heartbeat = heartbeats.get(
+                    connectionInfo.getWebSocketConnection().getChannel().eventLoop());
+            if (heartbeat != null) {
+                heartbeat.remove(connectionInfo);
+            }
+        } catch (IllegalAccessException e) {
+            // Ignore as the connection was never pinged
+        }
+    }
+
+    /**
+     * The heartbeat of the connections of an event loop.
+     */
+    private class EventLoopHeartbeat {
+        private final EventLoop eventLoop;
+        private final Set<WebSocketConnectionInfo> connections = new LinkedHashSet<>();
+        private ScheduledFuture<?> task;
+
+        EventLoopHeartbeat(EventLoop eventLoop) {
+            this.eventLoop = eventLoop;
+        }
+
+        void add(WebSocketConnectionInfo connectionInfo) {
+            connections.add(connectionInfo);
+            if (task == null) {
+                task = eventLoop.scheduleAtFixedRate(this::beat, intervalInMillis, intervalInMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void remove(WebSocketConnectionInfo connectionInfo) {
+            connections.remove(connectionInfo);
+            if (connections.isEmpty() && task != null) {
+                task.cancel(false);
+                task = null;
+                heartbeats.remove(eventLoop, this);
+            }
+        }
+
+        private void beat() {
+            // A terminated connection is removed while the connections are being pinged, hence a copy is iterated
+            for (WebSocketConnectionInfo connectionInfo : new ArrayList<>(connections)) {
+                try {
+                    WebSocketConnection webSocketConnection = connectionInfo.getWebSocketConnection();
+                    if (connectionInfo.getMissedPongs() >= maxMissedPongs) {
+                        logger.debug("Terminating the connection {} as it missed {} pongs",
+                                webSocketConnection.getChannelId(), connectionInfo.getMissedPongs());
+                        remove(connectionInfo);
+                        WebSocketUtil.terminateConnection(connectionInfo, webSocketConnection, STATUS_CODE_GOING_AWAY,
+                                HEARTBEAT_TIMED_OUT);
+                        continue;
+                    }
+                    connectionInfo.onHeartbeatSent();
+                    webSocketConnection.ping(ByteBuffer.allocate(0)).addListener(future -> {
+                        if (future.isSuccess()) {
+                            connectionInfo.touchOnWrite();
+                        }
+                    });
+                } catch (IllegalAccessException e) {
+                    remove(connectionInfo);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
+
+/**
+ * Limits the messages received on a connection by their number and size per second. The limits are enforced in the
+ * event loop of the connection before the messages are dispatched. The control frames are not limited.
+ *
+ */
+public class InboundRateLimiter {
+
+    private static final int STATUS_CODE_POLICY_VIOLATION = 1008;
+    private static final String RATE_LIMIT_EXCEEDED = "Rate limit exceeded";
+
+    /**
+     * The action taken on a message exceeding the limits.
+     */
+    public enum Action {
+        DELAY, DROP, CLOSE
+    }
+
+    private final TokenBucket messageBucket;
+    private final TokenBucket byteBucket;
+    private final Action action;
+    // Whether the next frame continues a message of which the first fragment has been received
+    private boolean messageInProgress = false;
+    // Whether the message in progress is dropped as its first fragment was dropped
+    private boolean droppingMessage = false;
+
+    InboundRateLimiter(long messagesPerSecond, long bytesPerSecond, Action action) {
+        this.messageBucket = messagesPerSecond > 0 ? new TokenBucket(messagesPerSecond) : null;
+        this.byteBucket = bytesPerSecond > 0 ? new TokenBucket(bytesPerSecond) : null;
+        this.action = action;
+    }
+
+    /**
+     * Admits a frame of a message received. A rejected frame is either dropped or the connection is closed, hence it
+     * must not be dispatched.
+     *
+     * @param connectionInfo      - the connection
+     * @param webSocketConnection - the transport connection
+     * @param size                - the size of the frame
+     * @param finalFragment       - whether the frame is the final fragment of the message
+     * @return 0 if the frame can be dispatched, the time in nanoseconds the dispatching of the frame is to be delayed
+     * by or -1 if the frame is rejected
+     */
+    public long admit(WebSocketConnectionInfo connectionInfo, WebSocketConnection webSocketConnection, long size,
+                      boolean finalFragment) {
+        long now = System.nanoTime();
+        long messages = finalFragment ? 1 : 0;
+        if (messageBucket != null) {
+            messageBucket.refill(now);
+        }
+        if (byteBucket != null) {
+            byteBucket.refill(now);
+        }
+        if (action == Action.DELAY) {
+            return Math.max(messageBucket != null ? messageBucket.takeAndGetDelay(messages) : 0,
+                    byteBucket != null ? byteBucket.takeAndGetDelay(size) : 0);
+        }
+        if (action == Action.DROP && messageInProgress) {
+            // A message is dropped or dispatched as a whole as per its first fragment, since the fragments already
+            // aggregated or streamed cannot be taken back
+            messageInProgress = !finalFragment;
+            if (droppingMessage) {
+                webSocketConnection.readNextFrame();
+                return -1;
+            }
+            // The buckets may run into debt, which is paid off by the messages that follow
+            take(messages, size);
+            return 0;
+        }
+        messageInProgress = !finalFragment;
+        if ((messageBucket == null || messageBucket.canTake(messages)) &&
+                (byteBucket == null || byteBucket.canTake(size))) {
+            droppingMessage = false;
+            take(messages, size);
+            return 0;
+        }
+        if (action == Action.CLOSE) {
+            WebSocketUtil.terminateConnection(connectionInfo, webSocketConnection, STATUS_CODE_POLICY_VIOLATION,
+                    RATE_LIMIT_EXCEEDED);
+        } else {
+            droppingMessage = true;
+            webSocketConnection.readNextFrame();
+        }
+        return -1;
+    }
+
+    private void take(long messages, long size) {
+        if (messageBucket != null) {
+            messageBucket.take(messages);
+        }
+        if (byteBucket != null) {
+            byteBucket.take(size);
+        }
+    }
+}
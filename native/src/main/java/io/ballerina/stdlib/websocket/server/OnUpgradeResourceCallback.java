@@ -26,6 +26,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.stdlib.http.transport.contract.websocket.ServerHandshakeFuture;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketHandshaker;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketUtil;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.HttpHeaders;
 
@@ -49,14 +50,14 @@ public class OnUpgradeResourceCallback implements Callback {
         if (result instanceof BError) {
             BError error = (BError) result;
             if (error.getType().getName().equals(WebSocketConstants.ErrorCode.AuthnError.errorCode())) {
-                webSocketHandshaker.cancelHandshake(401, error.getErrorMessage().toString());
+                WebSocketUtil.cancelHandshake(webSocketHandshaker, 401, error.getErrorMessage().toString());
                 return;
             }
             if (error.getType().getName().equals(WebSocketConstants.ErrorCode.AuthzError.errorCode())) {
-                webSocketHandshaker.cancelHandshake(403, error.getErrorMessage().toString());
+                WebSocketUtil.cancelHandshake(webSocketHandshaker, 403, error.getErrorMessage().toString());
                 return;
             }
-            webSocketHandshaker.cancelHandshake(400, error.getErrorMessage().toString());
+            WebSocketUtil.cancelHandshake(webSocketHandshaker, 400, error.getErrorMessage().toString());
             return;
         }
         if (!webSocketHandshaker.isCancelled() && !webSocketHandshaker.isHandshakeStarted()) {
@@ -65,10 +66,28 @@ public class OnUpgradeResourceCallback implements Callback {
                 BMap<BString, BString> headersMap = (BMap) ((BObject) result).get(WebSocketConstants.CUSTOM_HEADERS);
                 headers = populateAndGetHttpHeaders(headersMap);
             }
+            String resumeToken = null;
+            SessionStore.DetachedSession session = null;
+            SessionStore sessionStore = wsService.getSessionStore();
+            if (sessionStore != null) {
+                String requestedToken = webSocketHandshaker.getHttpCarbonRequest().getHeaders()
+                        .get(WebSocketConstants.RESUME_TOKEN_HEADER);
+                // The session is taken right away, hence a concurrent handshake with the same token opens a new one
+                session = sessionStore.take(requestedToken);
+                resumeToken = session != null ? requestedToken : SessionStore.createResumeToken();
+                if (headers == null) {
+                    headers = new DefaultHttpHeaders();
+                }
+                headers.set(WebSocketConstants.RESUME_TOKEN_HEADER, resumeToken);
+            }
+            // The idle timeout is tracked by the idle timeout wheel once the connection is upgraded
             ServerHandshakeFuture future = webSocketHandshaker
-                    .handshake(wsService.getNegotiableSubProtocols(), wsService.getIdleTimeoutInSeconds() * 1000,
-                            headers, wsService.getMaxFrameSize());
-            future.setHandshakeListener(new UpgradeListener(wsService, connectionManager, result));
+                    .handshake(wsService.getNegotiableSubProtocols(), 0, headers, wsService.getMaxFrameSize());
+            future.setHandshakeListener(new UpgradeListener(wsService, connectionManager, result, resumeToken,
+                    session, (AdmissionController.Reservation) webSocketHandshaker.getHttpCarbonRequest()
+                            .getProperty(WebSocketConstants.ADMISSION_RESERVATION)));
+        } else if (webSocketHandshaker.isCancelled()) {
+            WebSocketUtil.releaseAdmission(webSocketHandshaker);
         }
     }
 
@@ -77,16 +96,16 @@ public class OnUpgradeResourceCallback implements Callback {
         // These checks are added to release the failure path since there is an authn/authz failure and responded
         // with 401/403 internally.
         if (error.getType().getName().equals(WebSocketConstants.ErrorCode.AuthnError.errorCode())) {
-            webSocketHandshaker.cancelHandshake(401, null);
+            WebSocketUtil.cancelHandshake(webSocketHandshaker, 401, null);
             return;
         }
         if (error.getType().getName().equals(WebSocketConstants.ErrorCode.AuthzError.errorCode())) {
-            webSocketHandshaker.cancelHandshake(403, null);
+            WebSocketUtil.cancelHandshake(webSocketHandshaker, 403, null);
             return;
         }
         // When panicked from the upgrade service.
         error.printStackTrace();
-        webSocketHandshaker.cancelHandshake(500, error.getMessage());
+        WebSocketUtil.cancelHandshake(webSocketHandshaker, 500, error.getMessage());
     }
 
     private static DefaultHttpHeaders populateAndGetHttpHeaders(BMap<BString, BString> headers) {
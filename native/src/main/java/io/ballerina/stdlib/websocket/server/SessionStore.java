@@ -0,0 +1,213 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.WebSocketResourceDispatcher;
+import io.ballerina.stdlib.websocket.client.ReplayBuffer;
+import io.netty.channel.EventLoop;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the sessions of a service, which are resumable, while their connections are lost. A session is issued a
+ * resume token once it is opened and is detached when its connection is lost without a close frame. The `Caller` of
+ * a detached session retains its attributes and buffers the messages written to it until a handshake carrying the
+ * token reattaches the session to a new connection or the grace period of the session expires. The `onClose` remote
+ * function of the service is called once the session expires, as the session ends only then. A session is taken out of
+ * the store by the first handshake carrying its token, hence concurrent handshakes with the same token cannot resume
+ * the same session.
+ *
+ */
+public class SessionStore {
+
+    private static final String SESSION_EXPIRED = "Session expired";
+
+    private final long gracePeriodInMillis;
+    private final int maxMessages;
+    private final long maxBytes;
+    private final Map<String, DetachedSession> sessions = new ConcurrentHashMap<>();
+
+    public SessionStore(long gracePeriodInMillis, int maxMessages, long maxBytes) {
+        this.gracePeriodInMillis = gracePeriodInMillis;
+        this.maxMessages = maxMessages;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Creates the token of a new session.
+     *
+     * @return the resume token
+     */
+    public static String createResumeToken() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Detaches the session of a lost connection. The session is discarded and closed with the abnormal closure
+     * status code once the grace period expires.
+     *
+     * @param connectionInfo     - the lost connection
+     * @param dispatchingService - the service to which the messages of the session are dispatched
+     * @param eventLoop          - the event loop of the lost connection
+     */
+    public void detach(WebSocketConnectionInfo connectionInfo, Object dispatchingService, EventLoop eventLoop) {
+        BObject caller = connectionInfo.getWebSocketEndpoint();
+        String token = (String) caller.getNativeData(WebSocketConstants.RESUME_TOKEN);
+        if (token == null) {
+            return;
+        }
+        DetachedSession session = new DetachedSession(caller, dispatchingService,
+                new ReplayBuffer(maxMessages, maxBytes, null, null), connectionInfo, eventLoop,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(gracePeriodInMillis));
+        caller.addNativeData(WebSocketConstants.DETACHED_SESSION, session);
+        sessions.put(token, session);
+        scheduleExpiry(token, session, gracePeriodInMillis);
+    }
+
+    /**
+     * Takes the detached session of a resume token out of the store so that it can be reattached to a new
+     * connection. Only one handshake takes the session, the others get `null` and open new sessions.
+     *
+     * @param token - the resume token carried by the handshake or `null`
+     * @return the detached session or `null` if there is no such session
+     */
+    public DetachedSession take(String token) {
+        if (token == null) {
+            return null;
+        }
+        DetachedSession session = sessions.remove(token);
+        if (session != null) {
+            session.timeout.cancel();
+        }
+        return session;
+    }
+
+    /**
+     * Puts back a session taken by a handshake, which has failed, so that the session can still be resumed for the
+     * rest of its grace period.
+     *
+     * @param token   - the resume token
+     * @param session - the session
+     */
+    public void restore(String token, DetachedSession session) {
+        sessions.put(token, session);
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(session.expiresAt - System.nanoTime());
+        scheduleExpiry(token, session, Math.max(remainingMillis, 1));
+    }
+
+    private void scheduleExpiry(String token, DetachedSession session, long delayInMillis) {
+        session.timeout = IdleTimeoutWheel.schedule(session.eventLoop, delayInMillis, () -> {
+            if (sessions.remove(token, session)) {
+                session.close();
+                WebSocketResourceDispatcher.dispatchOnClose(session.connectionInfo,
+                        WebSocketConstants.STATUS_CODE_ABNORMAL_CLOSURE, SESSION_EXPIRED, true);
+            }
+        }, false);
+    }
+
+    /**
+     * Ends the session of a connection so that it is not detached once the connection is closed. This is called when
+     * either end initiates the closure of the connection.
+     *
+     * @param caller - the caller of the connection
+     */
+    public static void endSession(BObject caller) {
+        caller.addNativeData(WebSocketConstants.RESUME_TOKEN, null);
+    }
+
+    /**
+     * Buffers a message written to a caller, if its session is detached.
+     *
+     * @param caller - the caller
+     * @param text   - the text message or `null`
+     * @param binary - the binary message or `null`
+     * @return `true` if the message is buffered
+     */
+    public static boolean retainIfDetached(BObject caller, String text, byte[] binary) {
+        DetachedSession session = (DetachedSession) caller.getNativeData(WebSocketConstants.DETACHED_SESSION);
+        return session != null && session.retain(text, binary);
+    }
+
+    /**
+     * A session, of which the connection is lost.
+     */
+    public static class DetachedSession {
+        private final BObject caller;
+        private final Object dispatchingService;
+        private final ReplayBuffer missedMessages;
+        private final WebSocketConnectionInfo connectionInfo;
+        private final EventLoop eventLoop;
+        private final long expiresAt;
+        private boolean detached = true;
+        private volatile IdleTimeoutWheel.Timeout timeout;
+
+        DetachedSession(BObject caller, Object dispatchingService, ReplayBuffer missedMessages,
+                        WebSocketConnectionInfo connectionInfo, EventLoop eventLoop, long expiresAt) {
+            this.caller = caller;
+            this.dispatchingService = dispatchingService;
+            this.missedMessages = missedMessages;
+            this.connectionInfo = connectionInfo;
+            this.eventLoop = eventLoop;
+            this.expiresAt = expiresAt;
+        }
+
+        public BObject getCaller() {
+            return caller;
+        }
+
+        public Object getDispatchingService() {
+            return dispatchingService;
+        }
+
+        private synchronized boolean retain(String text, byte[] binary) {
+            if (!detached) {
+                return false;
+            }
+            if (text != null) {
+                missedMessages.retain(text);
+            } else {
+                missedMessages.retain(binary);
+            }
+            return true;
+        }
+
+        /**
+         * Writes the missed messages to the new connection of the session. This should be called in the event loop
+         * of the new connection once the caller is bound to it, so that the messages are written before the messages
+         * written after the session is reattached.
+         *
+         * @param connectionInfo - the new connection
+         */
+        public void replay(WebSocketConnectionInfo connectionInfo) {
+            close();
+            missedMessages.replay(connectionInfo);
+        }
+
+        private synchronized void close() {
+            detached = false;
+            caller.addNativeData(WebSocketConstants.DETACHED_SESSION, null);
+        }
+    }
+}
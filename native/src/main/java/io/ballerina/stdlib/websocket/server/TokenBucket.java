@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package io.ballerina.stdlib.websocket.server;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket, which is refilled at a fixed rate and holds up to a second's worth of tokens. The bucket is refilled
+ * lazily when tokens are taken, hence it does not allocate nor need a timer. A bucket is used by a single connection
+ * in its event loop.
+ *
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long ratePerSecond;
+    private double tokens;
+    private long lastRefillTime;
+
+    TokenBucket(long ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+        this.tokens = ratePerSecond;
+        this.lastRefillTime = System.nanoTime();
+    }
+
+    void refill(long now) {
+        tokens = Math.min(ratePerSecond, tokens + (double) (now - lastRefillTime) * ratePerSecond / NANOS_PER_SECOND);
+        lastRefillTime = now;
+    }
+
+    /**
+     * Checks whether the tokens can be taken. A full bucket allows any amount, so that a message larger than the rate
+     * is not refused forever.
+     *
+     * @param amount - the number of tokens
+     * @return `true` if the tokens can be taken
+     */
+    boolean canTake(long amount) {
+        return tokens >= Math.min(amount, ratePerSecond);
+    }
+
+    void take(long amount) {
+        tokens -= amount;
+    }
+
+    /**
+     * Takes the tokens even if the bucket runs into debt.
+     *
+     * @param amount - the number of tokens
+     * @return the time in nanoseconds until the debt is paid off
+     */
+    long takeAndGetDelay(long amount) {
+        tokens -= amount;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / ratePerSecond);
+    }
+}
@@ -21,6 +21,7 @@ package io.ballerina.stdlib.websocket.server;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.stdlib.http.transport.contract.websocket.ServerHandshakeListener;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketResourceDispatcher;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
@@ -36,24 +37,77 @@ class UpgradeListener implements ServerHandshakeListener {
     private final WebSocketServerService wsService;
     private final Object dispatchingService;
     private final WebSocketConnectionManager connectionManager;
+    private final String resumeToken;
+    private final SessionStore.DetachedSession session;
+    private final AdmissionController.Reservation reservation;
 
     UpgradeListener(WebSocketServerService wsService, WebSocketConnectionManager connectionManager,
-            Object dispatchingService) {
+            Object dispatchingService, String resumeToken, SessionStore.DetachedSession session,
+            AdmissionController.Reservation reservation) {
         this.wsService = wsService;
         this.connectionManager = connectionManager;
         this.dispatchingService = dispatchingService;
+        this.resumeToken = resumeToken;
+        this.session = session;
+        this.reservation = reservation;
     }
 
     @Override
     public void onSuccess(WebSocketConnection webSocketConnection) {
+        if (session != null) {
+            // The retained caller is bound to the new connection and the session continues without `onOpen`
+            WebSocketConnectionInfo connectionInfo = WebSocketUtil.populateWebSocketCaller(session.getCaller(),
+                    webSocketConnection, wsService, connectionManager);
+            connectionInfo.setAdmissionReservation(reservation);
+            wsService.addWsService(webSocketConnection.getChannelId(), session.getDispatchingService());
+            connectionInfo.setRateLimiter(wsService.createRateLimiter());
+            connectionInfo.setDispatchWindow(wsService.createDispatchWindow(webSocketConnection));
+            connectionInfo.setSerialExecutor(wsService.createSerialExecutor());
+            connectionInfo.setSpillThreshold(wsService.getSpillThreshold());
+            connectionInfo.setMessageBatcher(wsService.createMessageBatcher(connectionInfo, webSocketConnection,
+                    session.getDispatchingService()));
+            scheduleIdleTimeout(webSocketConnection, connectionInfo);
+            session.replay(connectionInfo);
+            webSocketConnection.readNextFrame();
+            return;
+        }
         BObject webSocketCaller = WebSocketUtil.createAndPopulateWebSocketCaller(webSocketConnection, wsService,
                 connectionManager);
+        webSocketCaller.addNativeData(WebSocketConstants.RESUME_TOKEN, resumeToken);
         wsService.addWsService(webSocketConnection.getChannelId(), dispatchingService);
+        WebSocketConnectionInfo connectionInfo = connectionManager.getConnectionInfo(
+                webSocketConnection.getChannelId());
+        connectionInfo.setAdmissionReservation(reservation);
+        connectionInfo.setRateLimiter(wsService.createRateLimiter());
+        connectionInfo.setDispatchWindow(wsService.createDispatchWindow(webSocketConnection));
+        connectionInfo.setSerialExecutor(wsService.createSerialExecutor());
+        connectionInfo.setSpillThreshold(wsService.getSpillThreshold());
+        connectionInfo.setMessageBatcher(wsService.createMessageBatcher(connectionInfo, webSocketConnection,
+                dispatchingService));
+        scheduleIdleTimeout(webSocketConnection, connectionInfo);
         WebSocketResourceDispatcher.dispatchOnOpen(webSocketConnection, webSocketCaller, wsService);
     }
 
+    private void scheduleIdleTimeout(WebSocketConnection webSocketConnection,
+                                     WebSocketConnectionInfo connectionInfo) {
+        int idleTimeoutInSeconds = wsService.getIdleTimeoutInSeconds();
+        if (idleTimeoutInSeconds <= 0) {
+            return;
+        }
+        connectionInfo.setIdleTimeout(IdleTimeoutWheel.schedule(webSocketConnection.getChannel().eventLoop(),
+                idleTimeoutInSeconds * 1000L,
+                () -> WebSocketResourceDispatcher.dispatchOnIdleTimeout(connectionInfo), true), true);
+    }
+
     @Override
     public void onError(Throwable throwable) {
+        if (reservation != null) {
+            reservation.release();
+        }
+        if (session != null) {
+            // The session taken by the handshake can still be resumed by another handshake
+            wsService.getSessionStore().restore(resumeToken, session);
+        }
         String msg = "Unable to complete WebSocket handshake: ";
         logger.error(msg, throwable);
         throw WebSocketUtil.getWebSocketError("", throwable, WebSocketConstants.ErrorCode.Error.
@@ -19,12 +19,34 @@
 package io.ballerina.stdlib.websocket.server;
 
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BRefValue;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.ContentStream;
+import io.ballerina.stdlib.websocket.DispatchWindow;
+import io.ballerina.stdlib.websocket.IdleTimeoutWheel;
+import io.ballerina.stdlib.websocket.MessageBatcher;
+import io.ballerina.stdlib.websocket.SerialExecutor;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketService;
+import io.netty.buffer.ByteBufUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class has WebSocket connection info for both the client and the server. Includes details
@@ -32,11 +54,34 @@ import java.io.IOException;
  */
 public class WebSocketConnectionInfo {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketConnectionInfo.class);
+    private static final String SPILL_FILE_PREFIX = "websocket-message-";
+    // The largest array, which can be allocated by the JVM
+    private static final long MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     private final WebSocketService webSocketService;
     private final BObject webSocketEndpoint;
     private final WebSocketConnection webSocketConnection;
     private StringAggregator stringAggregator = null;
     private ByteArrAggregator byteArrAggregator = null;
+    private Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private IdleTimeoutWheel.Timeout idleTimeout = null;
+    private boolean idleTimeoutCountsWrites = false;
+    private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+    private volatile IdleTimeoutWheel.Timeout writeTimeout = null;
+    private InboundRateLimiter rateLimiter = null;
+    private DispatchWindow dispatchWindow = null;
+    private SerialExecutor serialExecutor = null;
+    private MessageBatcher messageBatcher = null;
+    private ContentStream contentStream = null;
+    private long spillThreshold = 0;
+    private AggregationBudget aggregationBudget = null;
+    private AdmissionController.Reservation admissionReservation = null;
+    private volatile long aggregatedBytes = 0;
+    private volatile int missedPongs = 0;
+    private volatile long pingSentTime = 0;
+    private long smoothedRoundTripTime = -1;
+    private long roundTripTimeVariation = -1;
 
     /**
      * @param webSocketService    can be the WebSocketServerService or WebSocketService
@@ -66,67 +111,498 @@ public class WebSocketConnectionInfo {
         }
     }
 
+    /**
+     * Sets the idle timeout of the connection.
+     *
+     * @param idleTimeout - the idle timeout
+     * @param countWrites - whether the messages written are counted as activities as well as the messages received
+     */
+    public void setIdleTimeout(IdleTimeoutWheel.Timeout idleTimeout, boolean countWrites) {
+        this.idleTimeout = idleTimeout;
+        this.idleTimeoutCountsWrites = countWrites;
+    }
+
+    /**
+     * Records a message received for the idle timeout of the connection.
+     */
+    public void touch() {
+        if (idleTimeout != null) {
+            idleTimeout.touch();
+        }
+    }
+
+    /**
+     * Records a message written for the idle timeout of the connection.
+     */
+    public void touchOnWrite() {
+        if (idleTimeoutCountsWrites) {
+            touch();
+        }
+    }
+
+    public void cancelIdleTimeout() {
+        if (idleTimeout != null) {
+            idleTimeout.cancel();
+        }
+        if (writeTimeout != null) {
+            writeTimeout.cancel();
+        }
+    }
+
+    /**
+     * Starts a write, which times out unless it completes within the write timeout. The writes are not scheduled
+     * in the wheel one by one. A single timeout per connection checks the deadline of the oldest write in progress.
+     *
+     * @param writeTimeoutInMillis - the write timeout of the endpoint
+     * @param onTimeout            - the task run if the write times out
+     * @return the write, which is completed once it is written
+     * @throws IllegalAccessException if the connection is not available
+     */
+    public PendingWrite startWrite(long writeTimeoutInMillis, Runnable onTimeout) throws IllegalAccessException {
+        PendingWrite write = new PendingWrite(System.nanoTime(), onTimeout);
+        pendingWrites.add(write);
+        if (writeTimeout == null) {
+            scheduleWriteTimeout(writeTimeoutInMillis);
+        }
+        return write;
+    }
+
+    private synchronized void scheduleWriteTimeout(long writeTimeoutInMillis) throws IllegalAccessException {
+        if (writeTimeout == null) {
+            long writeTimeoutInNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutInMillis);
+            writeTimeout = IdleTimeoutWheel.schedule(getWebSocketConnection().getChannel().eventLoop(),
+                    writeTimeoutInMillis, () -> expireWrites(writeTimeoutInNanos), true);
+        }
+    }
+
+    // The writes are queued in the order of their deadlines, hence the writes are timed out from the head
+    private void expireWrites(long writeTimeoutInNanos) {
+        long now = System.nanoTime();
+        PendingWrite write;
+        while ((write = pendingWrites.peek()) != null && now - write.startTime >= writeTimeoutInNanos) {
+            if (pendingWrites.remove(write)) {
+                write.onTimeout.run();
+            }
+        }
+        if (write != null) {
+            writeTimeout.touch(write.startTime);
+        } else if (!webSocketConnection.isOpen()) {
+            // Drops the timeout of a client, which is replaced by a reconnection instead of being closed
+            writeTimeout.cancel();
+        }
+    }
+
+    public InboundRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(InboundRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public DispatchWindow getDispatchWindow() {
+        return dispatchWindow;
+    }
+
+    public void setDispatchWindow(DispatchWindow dispatchWindow) {
+        this.dispatchWindow = dispatchWindow;
+    }
+
+    public SerialExecutor getSerialExecutor() {
+        return serialExecutor;
+    }
+
+    public void setSerialExecutor(SerialExecutor serialExecutor) {
+        this.serialExecutor = serialExecutor;
+    }
+
+    public MessageBatcher getMessageBatcher() {
+        return messageBatcher;
+    }
+
+    public void setMessageBatcher(MessageBatcher messageBatcher) {
+        this.messageBatcher = messageBatcher;
+    }
+
+    /**
+     * Gives the stream of the message, which is being received, if the message is handed to a remote function as a
+     * stream.
+     *
+     * @return the stream or `null`
+     */
+    public ContentStream getContentStream() {
+        return contentStream;
+    }
+
+    public void setContentStream(ContentStream contentStream) {
+        this.contentStream = contentStream;
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public void setSpillThreshold(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    public void setAdmissionReservation(AdmissionController.Reservation admissionReservation) {
+        this.admissionReservation = admissionReservation;
+    }
+
+    /**
+     * Releases the connection reserved by the admission of the listener once the connection is closed.
+     */
+    void releaseAdmission() {
+        if (admissionReservation != null) {
+            admissionReservation.release();
+        }
+    }
+
+    public void setAggregationBudget(AggregationBudget aggregationBudget) {
+        this.aggregationBudget = aggregationBudget;
+    }
+
+    /**
+     * Gives the memory held by the messages, which are being aggregated by the connection.
+     *
+     * @return the number of bytes held in the memory
+     */
+    public long getAggregatedBytes() {
+        return aggregatedBytes;
+    }
+
+    /**
+     * Reads the next frame of a message, which is being aggregated. If the aggregation budget of the listener is
+     * exhausted, the connection is not read until the budget is freed by the other connections.
+     *
+     * @throws IllegalAccessException if the connection is not available
+     */
+    public void readNextFragment() throws IllegalAccessException {
+        if (aggregationBudget == null || !aggregationBudget.pause(this)) {
+            getWebSocketConnection().readNextFrame();
+        }
+    }
+
+    /**
+     * Resumes reading a connection paused by the aggregation budget of the listener.
+     */
+    void resumeReading() {
+        try {
+            WebSocketConnection connection = getWebSocketConnection();
+            connection.getChannel().eventLoop().execute(connection::readNextFrame);
+        } catch (IllegalAccessException e) {
+            // Ignore as the connection is already closed
+        }
+    }
+
+    /**
+     * Discards the messages, which are being aggregated, so that their memory is freed and their spill file is
+     * deleted. This is called once the connection is closed.
+     */
+    public void discardAggregates() {
+        if (stringAggregator != null) {
+            stringAggregator.resetAggregateString();
+        }
+        if (byteArrAggregator != null) {
+            byteArrAggregator.resetAggregateByteArr();
+        }
+    }
+
+    // The aggregated bytes are updated by the event loop of the connection
+    private void onAggregated(long bytes) {
+        long previous = aggregatedBytes;
+        aggregatedBytes = previous + bytes;
+        if (aggregationBudget != null && bytes != 0) {
+            aggregationBudget.onAggregated(previous, aggregatedBytes);
+        }
+    }
+
+    /**
+     * Gives the number of heartbeat pings sent since the last pong was received.
+     *
+     * @return the number of missed pongs
+     */
+    public int getMissedPongs() {
+        return missedPongs;
+    }
+
+    /**
+     * Records the time a ping is sent, so that the round trip time is sampled once its pong is received.
+     */
+    public void onPingSent() {
+        pingSentTime = System.nanoTime();
+    }
+
+    public void onHeartbeatSent() {
+        missedPongs++;
+        onPingSent();
+    }
+
+    /**
+     * Records a pong received. The round trip time is sampled if a ping is waiting for the pong.
+     *
+     * @return the round trip time sampled in nanoseconds or -1 if no ping is waiting for the pong
+     */
+    public long onPongReceived() {
+        missedPongs = 0;
+        long sentTime = pingSentTime;
+        if (sentTime == 0) {
+            return -1;
+        }
+        pingSentTime = 0;
+        long roundTripTime = System.nanoTime() - sentTime;
+        updateRoundTripTime(roundTripTime);
+        return roundTripTime;
+    }
+
+    // Smooths the samples as TCP does (RFC 6298), so that a single delayed pong does not skew the round trip time
+    private synchronized void updateRoundTripTime(long roundTripTime) {
+        if (smoothedRoundTripTime < 0) {
+            smoothedRoundTripTime = roundTripTime;
+            roundTripTimeVariation = roundTripTime / 2;
+        } else {
+            roundTripTimeVariation = (3 * roundTripTimeVariation + Math.abs(smoothedRoundTripTime - roundTripTime)) / 4;
+            smoothedRoundTripTime = (7 * smoothedRoundTripTime + roundTripTime) / 8;
+        }
+    }
+
+    /**
+     * Gives the smoothed round trip time and its variation.
+     *
+     * @return the smoothed round trip time and its variation in nanoseconds or `null` if no pong is received yet
+     */
+    public synchronized long[] getRoundTripTime() {
+        if (smoothedRoundTripTime < 0) {
+            return null;
+        }
+        return new long[]{smoothedRoundTripTime, roundTripTimeVariation};
+    }
+
+    /**
+     * Takes over the attributes of the previous connection of the same endpoint, as in a resumed session.
+     *
+     * @param previousConnectionInfo - the previous connection
+     */
+    public void inheritAttributes(WebSocketConnectionInfo previousConnectionInfo) {
+        this.attributes = previousConnectionInfo.attributes;
+    }
+
+    public void setAttribute(String key, Object value) {
+        if (value == null) {
+            attributes.remove(key);
+        } else {
+            attributes.put(key, cloneIfMutable(value));
+        }
+    }
+
+    public Object getAttribute(String key) {
+        Object value = attributes.get(key);
+        return value == null ? null : cloneIfMutable(value);
+    }
+
+    public Object removeAttribute(String key) {
+        // The removed value is not shared anymore, hence it is not cloned
+        return attributes.remove(key);
+    }
+
+    // Values other than reference values are immutable, hence only the mutable reference values need to be cloned
+    private static Object cloneIfMutable(Object value) {
+        if (value instanceof BRefValue && !((BRefValue) value).getType().isReadOnly()) {
+            return ((BRefValue) value).copy(new HashMap<>());
+        }
+        return value;
+    }
+
+    private long getMaxMessageSize() {
+        Object maxMessageSize = webSocketEndpoint.getNativeData(WebSocketConstants.NATIVE_DATA_MAX_MESSAGE_SIZE);
+        return maxMessageSize == null ? 0 : (long) maxMessageSize;
+    }
+
     public StringAggregator createIfNullAndGetStringAggregator() {
         if (stringAggregator == null) {
-            stringAggregator = new StringAggregator();
+            stringAggregator = new StringAggregator(this, getMaxMessageSize());
         }
         return stringAggregator;
     }
 
     public ByteArrAggregator createIfNullAndGetByteArrAggregator() {
         if (byteArrAggregator == null) {
-            byteArrAggregator = new ByteArrAggregator();
+            byteArrAggregator = new ByteArrAggregator(this, spillThreshold, getMaxMessageSize());
         }
         return byteArrAggregator;
     }
 
+    /**
+     * A write in progress, which is timed out by the write timeout of its connection.
+     */
+    public class PendingWrite {
+        private volatile long startTime;
+        private final Runnable onTimeout;
+
+        private PendingWrite(long startTime, Runnable onTimeout) {
+            this.startTime = startTime;
+            this.onTimeout = onTimeout;
+        }
+
+        /**
+         * Records the progress of the write, such as a chunk of a stream written, which starts the write timeout
+         * over. The write is moved to the end of the writes in progress, so that they stay in the order of their
+         * deadlines.
+         */
+        public void touch() {
+            if (pendingWrites.remove(this)) {
+                startTime = System.nanoTime();
+                pendingWrites.add(this);
+            }
+        }
+
+        /**
+         * Completes the write, so that it is not timed out anymore.
+         */
+        public void complete() {
+            pendingWrites.remove(this);
+        }
+    }
+
     /**
      * A string aggregator to handle string aggregation for data binding during onTextMessage resource dispatching. The
      * aggregation is done in the ConnectionInfo class because the strings specific to a particular connection needs to
-     * be aggregated.
+     * be aggregated. The size of a message is checked against the maximum message size as each frame is appended.
      */
     public static class StringAggregator {
-        private StringAggregator() {
-
+        private StringAggregator(WebSocketConnectionInfo connectionInfo, long maxMessageSize) {
+            this.connectionInfo = connectionInfo;
+            this.maxMessageSize = maxMessageSize;
         }
 
+        private final WebSocketConnectionInfo connectionInfo;
+        private final long maxMessageSize;
         private StringBuilder aggregateStrBuilder = new StringBuilder();
+        private long aggregateSize = 0;
 
         public String getAggregateString() {
             return aggregateStrBuilder.toString();
         }
 
-        public void appendAggregateString(String aggregateString) {
+        public void appendAggregateString(String aggregateString) throws MessageTooLargeException {
+            if (maxMessageSize > 0 || connectionInfo.aggregationBudget != null) {
+                int size = ByteBufUtil.utf8Bytes(aggregateString);
+                if (maxMessageSize > 0 && aggregateSize + size > maxMessageSize) {
+                    resetAggregateString();
+                    throw new MessageTooLargeException(maxMessageSize);
+                }
+                aggregateSize += size;
+                connectionInfo.onAggregated(size);
+            }
             aggregateStrBuilder.append(aggregateString);
         }
 
         public void resetAggregateString() {
             aggregateStrBuilder = new StringBuilder();
+            connectionInfo.onAggregated(-aggregateSize);
+            aggregateSize = 0;
         }
     }
 
     /**
      * A byte array aggregator to handle byte array aggregation until the final frame is received. The aggregation
      * is done in the ConnectionInfo class because the byte arrays specific to a particular connection needs to
-     * be aggregated.
+     * be aggregated. Once a message grows beyond the spill threshold, the rest of the message is aggregated in a
+     * temporary file, so that the heap is not held by the partial messages of slow connections.
      */
     public static class ByteArrAggregator {
-        private ByteArrAggregator() {
-
+        private ByteArrAggregator(WebSocketConnectionInfo connectionInfo, long spillThreshold, long maxMessageSize) {
+            this.connectionInfo = connectionInfo;
+            this.spillThreshold = spillThreshold;
+            this.maxMessageSize = maxMessageSize;
         }
 
+        private final WebSocketConnectionInfo connectionInfo;
+        private final long spillThreshold;
+        private final long maxMessageSize;
         private ByteArrayOutputStream aggregateArr = new ByteArrayOutputStream();
+        private long aggregateSize = 0;
+        private Path spillFile = null;
+        private OutputStream spillStream = null;
+
+        public byte[] getAggregateByteArr() throws IOException, MessageTooLargeException {
+            if (spillFile == null) {
+                return aggregateArr.toByteArray();
+            }
+            if (aggregateSize > MAX_ARRAY_SIZE) {
+                // A spilled message cannot be read back into a single array
+                resetAggregateByteArr();
+                throw new MessageTooLargeException(MAX_ARRAY_SIZE);
+            }
+            spillStream.flush();
+            return Files.readAllBytes(spillFile);
+        }
 
-        public byte[] getAggregateByteArr() {
-            return aggregateArr.toByteArray();
+        /**
+         * Takes the aggregated message as an input stream, so that a spilled message is read from its file in chunks
+         * instead of being read back into the memory as a whole. The aggregator is reset and the spill file is owned
+         * by the returned stream, which deletes the file once it is closed.
+         *
+         * @return the stream of the aggregated message
+         * @throws IOException if the spill file cannot be opened
+         */
+        public InputStream takeAggregateStream() throws IOException {
+            if (spillFile == null) {
+                InputStream content = new ByteArrayInputStream(aggregateArr.toByteArray());
+                resetAggregateByteArr();
+                return content;
+            }
+            InputStream content;
+            try {
+                spillStream.close();
+                content = Files.newInputStream(spillFile, StandardOpenOption.DELETE_ON_CLOSE);
+            } catch (IOException e) {
+                resetAggregateByteArr();
+                throw e;
+            }
+            spillFile = null;
+            spillStream = null;
+            resetAggregateByteArr();
+            return content;
         }
 
-        public void appendAggregateArr(byte[] aggregateByteArr) throws IOException {
-            this.aggregateArr.write(aggregateByteArr);
+        public void appendAggregateArr(byte[] aggregateByteArr) throws IOException, MessageTooLargeException {
+            aggregateSize += aggregateByteArr.length;
+            if (maxMessageSize > 0 && aggregateSize > maxMessageSize) {
+                resetAggregateByteArr();
+                throw new MessageTooLargeException(maxMessageSize);
+            }
+            if (spillFile == null && spillThreshold > 0 && aggregateSize > spillThreshold) {
+                spillFile = Files.createTempFile(SPILL_FILE_PREFIX, null);
+                spillStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+                this.aggregateArr.writeTo(spillStream);
+                // The spilled bytes do not hold the memory any longer
+                connectionInfo.onAggregated(-this.aggregateArr.size());
+                this.aggregateArr = new ByteArrayOutputStream();
+            }
+            if (spillStream != null) {
+                spillStream.write(aggregateByteArr);
+            } else {
+                this.aggregateArr.write(aggregateByteArr);
+                connectionInfo.onAggregated(aggregateByteArr.length);
+            }
         }
 
         public void resetAggregateByteArr() {
+            connectionInfo.onAggregated(-this.aggregateArr.size());
             this.aggregateArr = new ByteArrayOutputStream();
+            this.aggregateSize = 0;
+            if (spillFile != null) {
+                try {
+                    spillStream.close();
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete the spill file {}", spillFile, e);
+                }
+                spillFile = null;
+                spillStream = null;
+            }
         }
     }
 }
@@ -18,16 +18,29 @@
 
 package io.ballerina.stdlib.websocket.server;
 
-
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Maintains a map of connectionId and ConnectionInfo objects of a successfully established connection.
+ * Maintains a map of connectionId and ConnectionInfo objects of a successfully established connection. The connections
+ * are registered with the heartbeat manager of the listener, if there is one, and release the connections reserved
+ * for them by the admission of the listener once they are removed. The messages aggregated by the connections are
+ * bounded by the aggregation budget of the listener, if there is one.
  */
 public class WebSocketConnectionManager {
 
     private final Map<String, WebSocketConnectionInfo> wsConnectionsMap = new ConcurrentHashMap<>();
+    private final HeartbeatManager heartbeatManager;
+    private final AggregationBudget aggregationBudget;
+
+    public WebSocketConnectionManager() {
+        this(null, null);
+    }
+
+    public WebSocketConnectionManager(HeartbeatManager heartbeatManager, AggregationBudget aggregationBudget) {
+        this.heartbeatManager = heartbeatManager;
+        this.aggregationBudget = aggregationBudget;
+    }
 
     public WebSocketConnectionInfo getConnectionInfo(String connectionID) {
         return wsConnectionsMap.get(connectionID);
@@ -35,9 +48,23 @@ public class WebSocketConnectionManager {
 
     public void addConnection(String connectionID, WebSocketConnectionInfo wsConnection) {
         wsConnectionsMap.put(connectionID, wsConnection);
+        wsConnection.setAggregationBudget(aggregationBudget);
+        if (heartbeatManager != null) {
+            heartbeatManager.register(wsConnection);
+        }
     }
 
     public WebSocketConnectionInfo removeConnectionInfo(String connectionID) {
-        return wsConnectionsMap.remove(connectionID);
+        WebSocketConnectionInfo wsConnection = wsConnectionsMap.remove(connectionID);
+        if (heartbeatManager != null && wsConnection != null) {
+            heartbeatManager.unregister(wsConnection);
+        }
+        if (wsConnection != null) {
+            wsConnection.releaseAdmission();
+        }
+        if (aggregationBudget != null && wsConnection != null) {
+            aggregationBudget.remove(wsConnection);
+        }
+        return wsConnection;
     }
 }
@@ -21,6 +21,7 @@ package io.ballerina.stdlib.websocket.server;
 import io.ballerina.stdlib.http.api.HttpConstants;
 import io.ballerina.stdlib.http.api.HttpResourceArguments;
 import io.ballerina.stdlib.http.api.HttpUtil;
+import io.ballerina.stdlib.http.transport.contract.Constants;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketBinaryMessage;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketCloseMessage;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
@@ -31,15 +32,20 @@ import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketMessage;
 import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketTextMessage;
 import io.ballerina.stdlib.http.transport.message.HttpCarbonMessage;
 import io.ballerina.stdlib.http.uri.URIUtil;
+import io.ballerina.stdlib.websocket.ContentStream;
+import io.ballerina.stdlib.websocket.MessageBatcher;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketResourceDispatcher;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityConstants;
 import io.ballerina.stdlib.websocket.observability.WebSocketObservabilityUtil;
+import io.netty.buffer.ByteBufUtil;
 
+import java.net.SocketAddress;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.ballerina.stdlib.http.api.HttpDispatcher.getValidatedURI;
 
@@ -52,14 +58,30 @@ public class WebSocketServerListener implements WebSocketConnectorListener {
 
     private final WebSocketServicesRegistry servicesRegistry;
     private final WebSocketConnectionManager connectionManager;
+    private final AdmissionController admissionController;
 
     public WebSocketServerListener(WebSocketServicesRegistry servicesRegistry) {
+        this(servicesRegistry, null, new AdmissionController(0, 0), null);
+    }
+
+    public WebSocketServerListener(WebSocketServicesRegistry servicesRegistry, HeartbeatManager heartbeatManager,
+                                   AdmissionController admissionController, AggregationBudget aggregationBudget) {
         this.servicesRegistry = servicesRegistry;
-        this.connectionManager = new WebSocketConnectionManager();
+        this.admissionController = admissionController;
+        this.connectionManager = new WebSocketConnectionManager(heartbeatManager, aggregationBudget);
     }
 
     @Override
     public void onHandshake(WebSocketHandshaker webSocketHandshaker) {
+        // The handshakes are rejected before any routing or dispatching while the listener is at its capacity. An
+        // admitted handshake holds its connection until it is cancelled or fails, or until the connection is closed
+        AdmissionController.Reservation reservation = admissionController.admit((SocketAddress) webSocketHandshaker
+                .getHttpCarbonRequest().getProperty(Constants.REMOTE_ADDRESS));
+        if (reservation == null) {
+            sendServiceUnavailableError(webSocketHandshaker);
+            return;
+        }
+        webSocketHandshaker.getHttpCarbonRequest().setProperty(WebSocketConstants.ADMISSION_RESERVATION, reservation);
         HttpResourceArguments pathParams = new HttpResourceArguments();
         URI requestUri = createRequestUri(webSocketHandshaker);
         Map<String, Map<String, String>> matrixParams = new HashMap<>();
@@ -79,6 +101,10 @@ public class WebSocketServerListener implements WebSocketConnectorListener {
             sendNotFoundError(webSocketHandshaker, requestUri);
             return;
         }
+        if (!reservation.admit(wsService)) {
+            sendServiceUnavailableError(webSocketHandshaker);
+            return;
+        }
         setCarbonMessageProperties(pathParams, requestUri, validatedUri, webSocketHandshaker.getHttpCarbonRequest(),
                 matchingBasePath);
             WebSocketResourceDispatcher.dispatchUpgrade(webSocketHandshaker, wsService, connectionManager);
@@ -86,12 +112,19 @@ public class WebSocketServerListener implements WebSocketConnectorListener {
 
     private void sendNotFoundError(WebSocketHandshaker webSocketHandshaker, URI requestUri) {
         String errMsg = "No service found to handle the service request";
-        webSocketHandshaker.cancelHandshake(404, errMsg);
+        WebSocketUtil.cancelHandshake(webSocketHandshaker, 404, errMsg);
         WebSocketObservabilityUtil.observeError(WebSocketObservabilityConstants.ERROR_TYPE_CONNECTION,
                 errMsg, requestUri.getPath(),
                 WebSocketObservabilityConstants.CONTEXT_SERVER);
     }
 
+    private void sendServiceUnavailableError(WebSocketHandshaker webSocketHandshaker) {
+        String errMsg = "Connection limit reached";
+        WebSocketUtil.cancelHandshake(webSocketHandshaker, 503, errMsg);
+        WebSocketObservabilityUtil.observeError(WebSocketObservabilityConstants.ERROR_TYPE_CONNECTION,
+                errMsg, webSocketHandshaker.getTarget(), WebSocketObservabilityConstants.CONTEXT_SERVER);
+    }
+
     private URI createRequestUri(WebSocketHandshaker webSocketHandshaker) {
         String serviceUri = webSocketHandshaker.getTarget();
         serviceUri = HttpUtil.sanitizeBasePath(serviceUri);
@@ -113,32 +146,80 @@ public class WebSocketServerListener implements WebSocketConnectorListener {
 
     @Override
     public void onMessage(WebSocketTextMessage webSocketTextMessage) {
-        WebSocketResourceDispatcher.dispatchOnText(getConnectionInfo(webSocketTextMessage), webSocketTextMessage);
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(webSocketTextMessage);
+        touch(connectionInfo);
+        long delay = admit(connectionInfo, webSocketTextMessage, ByteBufUtil.utf8Bytes(webSocketTextMessage.getText()),
+                webSocketTextMessage.isFinalFragment());
+        if (delay == 0) {
+            WebSocketResourceDispatcher.dispatchOnText(connectionInfo, webSocketTextMessage);
+        } else if (delay > 0) {
+            webSocketTextMessage.getWebSocketConnection().getChannel().eventLoop().schedule(
+                    () -> WebSocketResourceDispatcher.dispatchOnText(connectionInfo, webSocketTextMessage), delay,
+                    TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public void onMessage(WebSocketBinaryMessage webSocketBinaryMessage) {
-        WebSocketResourceDispatcher.dispatchOnBinary(getConnectionInfo(webSocketBinaryMessage), webSocketBinaryMessage);
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(webSocketBinaryMessage);
+        touch(connectionInfo);
+        long delay = admit(connectionInfo, webSocketBinaryMessage,
+                webSocketBinaryMessage.getByteBuffer().remaining(), webSocketBinaryMessage.isFinalFragment());
+        if (delay == 0) {
+            WebSocketResourceDispatcher.dispatchOnBinary(connectionInfo, webSocketBinaryMessage);
+        } else if (delay > 0) {
+            webSocketBinaryMessage.getWebSocketConnection().getChannel().eventLoop().schedule(
+                    () -> WebSocketResourceDispatcher.dispatchOnBinary(connectionInfo, webSocketBinaryMessage), delay,
+                    TimeUnit.NANOSECONDS);
+        }
     }
 
     @Override
     public void onMessage(WebSocketControlMessage webSocketControlMessage) {
-        WebSocketResourceDispatcher.dispatchOnPingOnPong(
-                getConnectionInfo(webSocketControlMessage), webSocketControlMessage, true);
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(webSocketControlMessage);
+        touch(connectionInfo);
+        WebSocketResourceDispatcher.dispatchOnPingOnPong(connectionInfo, webSocketControlMessage, true);
     }
 
     @Override
     public void onMessage(WebSocketCloseMessage webSocketCloseMessage) {
-        WebSocketResourceDispatcher.dispatchOnClose(
-                getConnectionInfo(webSocketCloseMessage), webSocketCloseMessage, true);
+        WebSocketConnectionInfo connectionInfo = getConnectionInfo(webSocketCloseMessage);
+        if (connectionInfo != null) {
+            connectionInfo.touch();
+            SessionStore.endSession(connectionInfo.getWebSocketEndpoint());
+            // The messages of a batch, which is not yet full, are dispatched before `onClose`
+            MessageBatcher messageBatcher = connectionInfo.getMessageBatcher();
+            if (messageBatcher != null) {
+                messageBatcher.flush();
+            }
+        }
+        WebSocketResourceDispatcher.dispatchOnClose(connectionInfo, webSocketCloseMessage, true);
     }
 
     @Override
     public void onClose(WebSocketConnection webSocketConnection) {
         WebSocketObservabilityUtil.observeClose(getConnectionInfo(webSocketConnection));
         try {
-            WebSocketUtil.setListenerOpenField(
-                    connectionManager.removeConnectionInfo(webSocketConnection.getChannelId()));
+            WebSocketConnectionInfo connectionInfo =
+                    connectionManager.removeConnectionInfo(webSocketConnection.getChannelId());
+            if (connectionInfo == null) {
+                // The connection is closed before it is registered, hence there is nothing to clean up
+                return;
+            }
+            WebSocketUtil.setListenerOpenField(connectionInfo);
+            connectionInfo.cancelIdleTimeout();
+            connectionInfo.discardAggregates();
+            ContentStream contentStream = connectionInfo.getContentStream();
+            if (contentStream != null) {
+                contentStream.onClose();
+            }
+            // A session of a connection lost without a close frame is kept for the client to resume
+            SessionStore sessionStore = ((WebSocketServerService) connectionInfo.getService()).getSessionStore();
+            if (sessionStore != null) {
+                sessionStore.detach(connectionInfo,
+                        connectionInfo.getService().getWsService(webSocketConnection.getChannelId()),
+                        webSocketConnection.getChannel().eventLoop());
+            }
         } catch (IllegalAccessException e) {
             // Ignore as it is not possible have an Illegal access
         }
@@ -154,6 +235,23 @@ public class WebSocketServerListener implements WebSocketConnectorListener {
         WebSocketResourceDispatcher.dispatchOnIdleTimeout(getConnectionInfo(controlMessage));
     }
 
+    private static void touch(WebSocketConnectionInfo connectionInfo) {
+        if (connectionInfo != null) {
+            connectionInfo.touch();
+        }
+    }
+
+    // As the next frame is read only after a frame is dispatched, a delayed frame holds back the reading from the
+    // connection and the peer is slowed down by the TCP flow control
+    private static long admit(WebSocketConnectionInfo connectionInfo, WebSocketMessage webSocketMessage, long size,
+                              boolean finalFragment) {
+        InboundRateLimiter rateLimiter = connectionInfo == null ? null : connectionInfo.getRateLimiter();
+        if (rateLimiter == null) {
+            return 0;
+        }
+        return rateLimiter.admit(connectionInfo, webSocketMessage.getWebSocketConnection(), size, finalFragment);
+    }
+
     private String getConnectionId(WebSocketMessage webSocketMessage) {
         return webSocketMessage.getWebSocketConnection().getChannelId();
     }
@@ -19,15 +19,24 @@
 package io.ballerina.stdlib.websocket.server;
 
 import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.types.MethodType;
+import io.ballerina.runtime.api.types.ObjectType;
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.stdlib.http.transport.contract.websocket.WebSocketConnection;
+import io.ballerina.stdlib.websocket.DispatchWindow;
+import io.ballerina.stdlib.websocket.MessageBatcher;
 import io.ballerina.stdlib.websocket.ModuleUtils;
+import io.ballerina.stdlib.websocket.SerialExecutor;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketService;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import static io.ballerina.stdlib.websocket.WebSocketConstants.ANNOTATION_ATTR_VALIDATION_ENABLED;
 
 /**
@@ -35,11 +44,35 @@ import static io.ballerina.stdlib.websocket.WebSocketConstants.ANNOTATION_ATTR_V
  */
 public class WebSocketServerService extends WebSocketService {
 
+    private static final BString GRACE_PERIOD = StringUtils.fromString("gracePeriod");
+    private static final BString MAX_MESSAGES = StringUtils.fromString("maxMessages");
+    private static final BString MAX_BYTES = StringUtils.fromString("maxBytes");
+    private static final BString MESSAGES_PER_SECOND = StringUtils.fromString("messagesPerSecond");
+    private static final BString BYTES_PER_SECOND = StringUtils.fromString("bytesPerSecond");
+    private static final BString ACTION = StringUtils.fromString("action");
+    private static final BString TIME_TO_LIVE = StringUtils.fromString("timeToLive");
+    private static final BString MAX_ENTRIES = StringUtils.fromString("maxEntries");
+    private static final String PER_CONNECTION_SERIAL = "PER_CONNECTION_SERIAL";
+    private static final BString LINGER = StringUtils.fromString("linger");
+
     private String[] negotiableSubProtocols = null;
     private String basePath;
     private int maxFrameSize = WebSocketConstants.DEFAULT_MAX_FRAME_SIZE;
     private int idleTimeoutInSeconds = 0;
     private boolean enableValidation = true;
+    private SessionStore sessionStore = null;
+    private long messagesPerSecond = 0;
+    private long bytesPerSecond = 0;
+    private InboundRateLimiter.Action rateLimitAction = null;
+    private long maxConnections = 0;
+    private int dispatchWindowSize = 1;
+    private boolean serialPerConnection = false;
+    private int batchMaxMessages = 64;
+    private long batchMaxBytes = 1048576;
+    private long batchLingerNanos = 0;
+    private long spillThreshold = 0;
+    private long maxMessageSize = 0;
+    private final AtomicLong connectionCount = new AtomicLong();
 
     public WebSocketServerService(BObject service, Runtime runtime, String basePath) {
         super(service, runtime);
@@ -54,6 +87,46 @@ public class WebSocketServerService extends WebSocketService {
                     WebSocketConstants.ANNOTATION_ATTR_IDLE_TIMEOUT, 0);
             maxFrameSize = WebSocketUtil.findMaxFrameSize(configAnnotation);
             enableValidation = configAnnotation.getBooleanValue(ANNOTATION_ATTR_VALIDATION_ENABLED);
+            maxConnections = configAnnotation.getIntValue(WebSocketConstants.ANNOTATION_ATTR_MAX_CONNECTIONS);
+            dispatchWindowSize = Math.toIntExact(
+                    configAnnotation.getIntValue(WebSocketConstants.ANNOTATION_ATTR_DISPATCH_WINDOW));
+            serialPerConnection = PER_CONNECTION_SERIAL.equals(
+                    configAnnotation.getStringValue(WebSocketConstants.ANNOTATION_ATTR_DISPATCH_MODE).getValue());
+            spillThreshold = configAnnotation.getIntValue(WebSocketConstants.ANNOTATION_ATTR_SPILL_THRESHOLD);
+            maxMessageSize = configAnnotation.getIntValue(WebSocketConstants.ANNOTATION_ATTR_MAX_MESSAGE_SIZE);
+            @SuppressWarnings(WebSocketConstants.UNCHECKED)
+            BMap<BString, Object> resumptionConfig = (BMap<BString, Object>) configAnnotation
+                    .getMapValue(WebSocketConstants.ANNOTATION_ATTR_RESUMPTION);
+            if (resumptionConfig != null) {
+                long gracePeriodInMillis = (long) (((BDecimal) resumptionConfig.get(GRACE_PERIOD)).floatValue() * 1000);
+                sessionStore = new SessionStore(gracePeriodInMillis,
+                        Math.toIntExact(resumptionConfig.getIntValue(MAX_MESSAGES)),
+                        resumptionConfig.getIntValue(MAX_BYTES));
+            }
+            @SuppressWarnings(WebSocketConstants.UNCHECKED)
+            BMap<BString, Object> rateLimitConfig = (BMap<BString, Object>) configAnnotation
+                    .getMapValue(WebSocketConstants.ANNOTATION_ATTR_RATE_LIMIT);
+            if (rateLimitConfig != null) {
+                messagesPerSecond = rateLimitConfig.getIntValue(MESSAGES_PER_SECOND);
+                bytesPerSecond = rateLimitConfig.getIntValue(BYTES_PER_SECOND);
+                rateLimitAction = InboundRateLimiter.Action.valueOf(rateLimitConfig.getStringValue(ACTION).getValue());
+            }
+            @SuppressWarnings(WebSocketConstants.UNCHECKED)
+            BMap<BString, Object> batchConfig = (BMap<BString, Object>) configAnnotation
+                    .getMapValue(WebSocketConstants.ANNOTATION_ATTR_BATCH);
+            if (batchConfig != null) {
+                batchMaxMessages = Math.toIntExact(batchConfig.getIntValue(MAX_MESSAGES));
+                batchMaxBytes = batchConfig.getIntValue(MAX_BYTES);
+                batchLingerNanos = (long) (((BDecimal) batchConfig.get(LINGER)).floatValue() * 1_000_000_000L);
+            }
+            @SuppressWarnings(WebSocketConstants.UNCHECKED)
+            BMap<BString, Object> authCacheConfig = (BMap<BString, Object>) configAnnotation
+                    .getMapValue(WebSocketConstants.ANNOTATION_ATTR_AUTH_CACHE);
+            if (authCacheConfig != null) {
+                long timeToLiveInMillis = (long) (((BDecimal) authCacheConfig.get(TIME_TO_LIVE)).floatValue() * 1000);
+                service.addNativeData(WebSocketConstants.AUTH_CACHE, new AuthCache(timeToLiveInMillis,
+                        Math.toIntExact(authCacheConfig.getIntValue(MAX_ENTRIES))));
+            }
         }
         service.addNativeData(WebSocketConstants.ANNOTATION_ATTR_MAX_FRAME_SIZE.toString(), maxFrameSize);
         service.addNativeData(WebSocketConstants.ANNOTATION_ATTR_VALIDATION_ENABLED.toString(), enableValidation);
@@ -81,6 +154,82 @@ public class WebSocketServerService extends WebSocketService {
         return maxFrameSize;
     }
 
+    public long getMaxMessageSize() {
+        return maxMessageSize;
+    }
+
+    /**
+     * Creates the dispatch window of a connection of the service.
+     *
+     * @param webSocketConnection - the connection
+     * @return the dispatch window or `null` if the messages are dispatched one at a time
+     */
+    public DispatchWindow createDispatchWindow(WebSocketConnection webSocketConnection) {
+        if (dispatchWindowSize <= 1) {
+            return null;
+        }
+        return new DispatchWindow(webSocketConnection, dispatchWindowSize);
+    }
+
+    /**
+     * Creates the executor, which runs the remote functions of a connection of the service one at a time.
+     *
+     * @return the executor or `null` if the non-isolated remote functions of all the connections run one at a time
+     */
+    public SerialExecutor createSerialExecutor() {
+        return serialPerConnection ? new SerialExecutor() : null;
+    }
+
+    /**
+     * Creates the batcher of a connection of the service, if the service object of the connection receives the
+     * messages in batches.
+     *
+     * @param connectionInfo      - the connection
+     * @param webSocketConnection - the transport connection
+     * @param dispatchingService  - the service object of the connection
+     * @return the batcher or `null` if the messages are dispatched one by one
+     */
+    public MessageBatcher createMessageBatcher(WebSocketConnectionInfo connectionInfo,
+                                               WebSocketConnection webSocketConnection, Object dispatchingService) {
+        for (MethodType remoteFunc : ((ObjectType) ((BObject) dispatchingService).getType()).getMethods()) {
+            String funcName = remoteFunc.getName();
+            if (funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_TEXT_MESSAGES) ||
+                    funcName.equals(WebSocketConstants.RESOURCE_NAME_ON_BINARY_MESSAGES)) {
+                return new MessageBatcher(connectionInfo, webSocketConnection, batchMaxMessages, batchMaxBytes,
+                        batchLingerNanos);
+            }
+        }
+        return null;
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    public long getMaxConnections() {
+        return maxConnections;
+    }
+
+    public AtomicLong getConnectionCount() {
+        return connectionCount;
+    }
+
+    public SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    /**
+     * Creates the rate limiter of a connection of the service.
+     *
+     * @return the rate limiter or `null` if the messages are not limited
+     */
+    public InboundRateLimiter createRateLimiter() {
+        if (rateLimitAction == null || (messagesPerSecond <= 0 && bytesPerSecond <= 0)) {
+            return null;
+        }
+        return new InboundRateLimiter(messagesPerSecond, bytesPerSecond, rateLimitAction);
+    }
+
     public void setBasePathToServiceObj(String basePath) {
         service.addNativeData(WebSocketConstants.NATIVE_DATA_BASE_PATH, basePath);
         this.basePath = basePath;
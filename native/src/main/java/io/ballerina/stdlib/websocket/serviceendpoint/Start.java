@@ -19,13 +19,19 @@
 package io.ballerina.stdlib.websocket.serviceendpoint;
 
 import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.stdlib.http.api.HttpConstants;
 import io.ballerina.stdlib.http.transport.contract.ServerConnector;
 import io.ballerina.stdlib.http.transport.contract.ServerConnectorFuture;
 import io.ballerina.stdlib.websocket.WebSocketConnectorPortBindingListener;
 import io.ballerina.stdlib.websocket.WebSocketConstants;
 import io.ballerina.stdlib.websocket.WebSocketUtil;
+import io.ballerina.stdlib.websocket.server.AdmissionController;
+import io.ballerina.stdlib.websocket.server.AggregationBudget;
+import io.ballerina.stdlib.websocket.server.HeartbeatManager;
 import io.ballerina.stdlib.websocket.server.WebSocketServerListener;
 
 import static io.ballerina.stdlib.websocket.WebSocketConstants.HTTP_LISTENER;
@@ -35,6 +41,14 @@ import static io.ballerina.stdlib.websocket.WebSocketConstants.HTTP_LISTENER;
  *
  */
 public class Start extends AbstractWebsocketNativeFunction {
+    private static final BString HEARTBEAT = StringUtils.fromString("heartbeat");
+    private static final BString INTERVAL = StringUtils.fromString("interval");
+    private static final BString MAX_MISSED_PONGS = StringUtils.fromString("maxMissedPongs");
+    private static final BString CONNECTION_LIMITS = StringUtils.fromString("connectionLimits");
+    private static final BString MAX_CONNECTIONS = StringUtils.fromString("maxConnections");
+    private static final BString MAX_CONNECTIONS_PER_ADDRESS = StringUtils.fromString("maxConnectionsPerAddress");
+    private static final BString AGGREGATION_BUDGET = StringUtils.fromString("aggregationBudget");
+
     public static Object start(BObject listener) {
         BObject httpListener = (BObject) listener.get(StringUtils.fromString(HTTP_LISTENER));
         if (!isConnectorStarted(listener) && !isConnectorStarted(httpListener)) {
@@ -42,7 +56,9 @@ public class Start extends AbstractWebsocketNativeFunction {
         } else if (httpListener != null) {
             ServerConnectorFuture serverConnectorFuture = (ServerConnectorFuture) ((BObject) listener
                     .get(StringUtils.fromString(HTTP_LISTENER))).getNativeData(HttpConstants.SERVER_CONNECTOR_FUTURE);
-            WebSocketServerListener wsListener = new WebSocketServerListener(getWebSocketServicesRegistry(listener));
+            WebSocketServerListener wsListener = new WebSocketServerListener(getWebSocketServicesRegistry(listener),
+                    createHeartbeatManager(listener), createAdmissionController(listener),
+                    createAggregationBudget(listener));
             serverConnectorFuture.setWebSocketConnectorListener(wsListener);
         }
         return null;
@@ -51,7 +67,9 @@ public class Start extends AbstractWebsocketNativeFunction {
     private static Object startServerConnector(BObject serviceEndpoint) {
         ServerConnector serverConnector = getServerConnector(serviceEndpoint);
         ServerConnectorFuture serverConnectorFuture = serverConnector.start();
-        WebSocketServerListener wsListener = new WebSocketServerListener(getWebSocketServicesRegistry(serviceEndpoint));
+        WebSocketServerListener wsListener = new WebSocketServerListener(
+                getWebSocketServicesRegistry(serviceEndpoint), createHeartbeatManager(serviceEndpoint),
+                createAdmissionController(serviceEndpoint), createAggregationBudget(serviceEndpoint));
         WebSocketConnectorPortBindingListener portBindingListener = new WebSocketConnectorPortBindingListener();
         serverConnectorFuture.setWebSocketConnectorListener(wsListener);
         serverConnectorFuture.setPortBindingEventListener(portBindingListener);
@@ -69,5 +87,35 @@ public class Start extends AbstractWebsocketNativeFunction {
         return null;
     }
 
+    @SuppressWarnings(WebSocketConstants.UNCHECKED)
+    private static HeartbeatManager createHeartbeatManager(BObject listener) {
+        BMap<BString, Object> heartbeatConfig = (BMap<BString, Object>) listener
+                .getMapValue(WebSocketConstants.SERVICE_ENDPOINT_CONFIG).getMapValue(HEARTBEAT);
+        if (heartbeatConfig == null) {
+            return null;
+        }
+        long intervalInMillis = (long) (((BDecimal) heartbeatConfig.get(INTERVAL)).floatValue() * 1000);
+        if (intervalInMillis <= 0) {
+            return null;
+        }
+        return new HeartbeatManager(intervalInMillis, Math.toIntExact(heartbeatConfig.getIntValue(MAX_MISSED_PONGS)));
+    }
+
+    @SuppressWarnings(WebSocketConstants.UNCHECKED)
+    private static AdmissionController createAdmissionController(BObject listener) {
+        BMap<BString, Object> connectionLimits = (BMap<BString, Object>) listener
+                .getMapValue(WebSocketConstants.SERVICE_ENDPOINT_CONFIG).getMapValue(CONNECTION_LIMITS);
+        return new AdmissionController(connectionLimits.getIntValue(MAX_CONNECTIONS),
+                Math.toIntExact(connectionLimits.getIntValue(MAX_CONNECTIONS_PER_ADDRESS)));
+    }
+
+    @SuppressWarnings(WebSocketConstants.UNCHECKED)
+    private static AggregationBudget createAggregationBudget(BObject listener) {
+        BMap<BString, Object> listenerConfig = (BMap<BString, Object>) listener
+                .getMapValue(WebSocketConstants.SERVICE_ENDPOINT_CONFIG);
+        long aggregationBudget = listenerConfig.getIntValue(AGGREGATION_BUDGET);
+        return aggregationBudget > 0 ? new AggregationBudget(aggregationBudget) : null;
+    }
+
     private Start() {}
 }
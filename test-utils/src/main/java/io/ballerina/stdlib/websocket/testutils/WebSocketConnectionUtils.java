@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.stdlib.websocket.testutils;
+
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.stdlib.websocket.WebSocketConstants;
+import io.ballerina.stdlib.websocket.server.WebSocketConnectionInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection utilities for test cases.
+ */
+public final class WebSocketConnectionUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketConnectionUtils.class);
+
+    /**
+     * Closes the connection of a client without a close frame, as if the connection was lost.
+     *
+     * @param wsClient - the client
+     */
+    public static void abort(BObject wsClient) {
+        WebSocketConnectionInfo connectionInfo = (WebSocketConnectionInfo) wsClient
+                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+        try {
+            connectionInfo.getWebSocketConnection().getChannel().close();
+        } catch (IllegalAccessException e) {
+            log.error("Failed to abort the connection");
+        }
+    }
+
+    /**
+     * Checks whether the connections of two clients are served by the same event loop group.
+     *
+     * @param wsClient1 - a client
+     * @param wsClient2 - the other client
+     * @return `true` if the clients share the event loop group
+     */
+    public static boolean shareEventLoopGroup(BObject wsClient1, BObject wsClient2) {
+        try {
+            return getConnectionInfo(wsClient1).getWebSocketConnection().getChannel().eventLoop().parent() ==
+                    getConnectionInfo(wsClient2).getWebSocketConnection().getChannel().eventLoop().parent();
+        } catch (IllegalAccessException e) {
+            log.error("Failed to get the connections of the clients");
+            return false;
+        }
+    }
+
+    private static WebSocketConnectionInfo getConnectionInfo(BObject wsClient) {
+        return (WebSocketConnectionInfo) wsClient
+                .getNativeData(WebSocketConstants.NATIVE_DATA_WEBSOCKET_CONNECTION_INFO);
+    }
+
+    private WebSocketConnectionUtils() {
+    }
+}
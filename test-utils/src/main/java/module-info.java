@@ -25,5 +25,7 @@ module io.ballerina.stdlib.socket.testutils {
     requires io.netty.handler;
     requires io.netty.codec;
     requires io.netty.codec.http;
+    requires io.ballerina.stdlib.http;
+    requires io.ballerina.stdlib.websocket;
     exports io.ballerina.stdlib.websocket.testutils;
 }